@@ -0,0 +1,69 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over {@link UUID} keys.
+ * <p>
+ * Random UUIDs are already uniformly distributed, so the two 64-bit halves are used directly as
+ * the base hashes of the Kirsch-Mitzenmacher double hashing scheme.
+ * </p>
+ */
+class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+  private final int capacity;
+  private final AtomicInteger insertions = new AtomicInteger();
+
+  /**
+   * @param capacity          Expected number of insertions.
+   * @param falsePositiveRate Desired false positive probability at full capacity.
+   */
+  BloomFilter(int capacity, double falsePositiveRate) {
+    this.capacity = Math.max(capacity, 1);
+    long bits = (long) Math.ceil(
+        -this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+    this.bitCount = words.length() * 64L;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+  }
+
+  void put(UUID key) {
+    long h1 = key.getMostSignificantBits();
+    long h2 = key.getLeastSignificantBits();
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+    insertions.incrementAndGet();
+  }
+
+  boolean mightContain(UUID key) {
+    long h1 = key.getMostSignificantBits();
+    long h2 = key.getLeastSignificantBits();
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return {@code true} once more keys were inserted than the filter was sized for, i.e. the
+   * false positive rate is no longer guaranteed.
+   */
+  boolean isSaturated() {
+    return insertions.get() > capacity;
+  }
+}
@@ -0,0 +1,30 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.NoArgsConstructor;
+
+/**
+ * A named lease held by one application node until {@code expires_at}, see
+ * {@link ClusterLeases}.
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "cluster_leases")
+@NoArgsConstructor
+class ClusterLeaseEntity {
+
+  @Id
+  private String name;
+
+  @Column(nullable = false)
+  private String owner;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+}
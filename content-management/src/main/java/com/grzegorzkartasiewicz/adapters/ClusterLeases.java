@@ -0,0 +1,159 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Named leases in the {@code cluster_leases} table, used to coordinate background work when
+ * several application nodes share one database.
+ * <p>
+ * A lease is taken with a single conditional UPDATE (or an INSERT the first time), so exactly one
+ * node wins. It lasts {@code content.cluster.lease-duration}: a node that dies while holding it
+ * blocks the others only until it expires. Expiry is compared against the clocks of the nodes, so
+ * the duration has to be well above their skew. While {@link #runExclusively} runs a task, a
+ * background thread renews the lease every third of its duration, so a task may run longer than
+ * the lease. A renewal only extends an unexpired lease of this node; if the lease was lost anyway
+ * (for example after a long pause of the node), this is logged and the task keeps running.
+ * </p>
+ * <p>
+ * Leases only keep nodes from doing the same work at the same time; none of the guarded tasks
+ * relies on them for correctness. With {@code content.cluster.enabled=false} (a single node) every
+ * lease is granted without touching the database.
+ * </p>
+ */
+@Component
+@Slf4j
+class ClusterLeases {
+
+  private static final String TAKE = """
+      UPDATE cluster_leases SET owner = ?, expires_at = ?
+      WHERE name = ? AND (owner = ? OR expires_at < ?)""";
+  private static final String CREATE =
+      "INSERT INTO cluster_leases (name, owner, expires_at) VALUES (?, ?, ?)";
+  private static final String RENEW = """
+      UPDATE cluster_leases SET expires_at = ?
+      WHERE name = ? AND owner = ? AND expires_at > ?""";
+  private static final String RELEASE =
+      "UPDATE cluster_leases SET expires_at = ? WHERE name = ? AND owner = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final String nodeId;
+  private final Duration leaseDuration;
+  private final Clock clock;
+  private final ScheduledExecutorService renewals;
+
+  @Autowired
+  ClusterLeases(JdbcTemplate jdbcTemplate,
+      @Value("${content.cluster.enabled:false}") boolean enabled,
+      @Value("${content.cluster.node-id:${random.uuid}}") String nodeId,
+      @Value("${content.cluster.lease-duration:PT30S}") Duration leaseDuration) {
+    this(jdbcTemplate, enabled, nodeId, leaseDuration, Clock.systemUTC());
+  }
+
+  ClusterLeases(JdbcTemplate jdbcTemplate, boolean enabled, String nodeId, Duration leaseDuration,
+      Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.nodeId = nodeId;
+    this.leaseDuration = leaseDuration;
+    this.clock = clock;
+    this.renewals = enabled ? Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("lease-renewal").daemon().factory()) : null;
+  }
+
+  /**
+   * Takes or renews a lease for this node.
+   *
+   * @return {@code true} if this node holds the lease now.
+   */
+  boolean tryAcquire(String name) {
+    if (!enabled) {
+      return true;
+    }
+    Instant now = clock.instant();
+    Timestamp expiresAt = Timestamp.from(now.plus(leaseDuration));
+    if (jdbcTemplate.update(TAKE, nodeId, expiresAt, name, nodeId, Timestamp.from(now)) > 0) {
+      return true;
+    }
+    try {
+      return jdbcTemplate.update(CREATE, name, nodeId, expiresAt) > 0;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Gives up a lease held by this node, so another node can take it right away.
+   */
+  void release(String name) {
+    if (enabled) {
+      jdbcTemplate.update(RELEASE, Timestamp.from(clock.instant()), name, nodeId);
+    }
+  }
+
+  /**
+   * Runs a task while holding a lease, renewing it until the task is done, or skips the task if
+   * another node holds the lease.
+   *
+   * @return {@code true} if the task was run.
+   */
+  boolean runExclusively(String name, Runnable task) {
+    if (!tryAcquire(name)) {
+      log.debug("Lease {} is held by another node, skipping", name);
+      return false;
+    }
+    ScheduledFuture<?> renewal = null;
+    if (enabled) {
+      long period = Math.max(1, leaseDuration.toMillis() / 3);
+      renewal = renewals.scheduleAtFixedRate(() -> renew(name), period, period,
+          TimeUnit.MILLISECONDS);
+    }
+    try {
+      task.run();
+      return true;
+    } finally {
+      if (renewal != null) {
+        renewal.cancel(false);
+      }
+      release(name);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (renewals != null) {
+      renewals.shutdownNow();
+    }
+  }
+
+  /**
+   * Extends a lease this node still holds. Never takes the lease back once it was released or
+   * expired, so a renewal racing with {@link #release} is harmless.
+   */
+  private void renew(String name) {
+    try {
+      Instant now = clock.instant();
+      if (jdbcTemplate.update(RENEW, Timestamp.from(now.plus(leaseDuration)), name, nodeId,
+          Timestamp.from(now)) == 0) {
+        log.warn("Lease {} expired while its task was still running", name);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Cannot renew lease {}", name, e);
+    }
+  }
+}
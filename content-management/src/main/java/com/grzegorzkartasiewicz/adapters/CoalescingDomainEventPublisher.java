@@ -0,0 +1,135 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.DomainEvent;
+import com.grzegorzkartasiewicz.domain.DomainEventPublisher;
+import com.grzegorzkartasiewicz.domain.PostChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes domain events through the outbox, holding back like and unlike notifications
+ * ({@link PostChangedEvent}s) in a {@link LikeNotificationCoalescer} so that toggling a like
+ * produces at most one notification.
+ * <p>
+ * Toggles are released once none arrived for {@code content.events.coalesce.window}, but no later
+ * than {@code content.events.coalesce.max-delay} after the first one; at most
+ * {@code content.events.coalesce.max-pending} keys are held, further toggles are published right
+ * away. The events feeding the like counters ({@code PostLiked} etc.) are never held. A toggle is
+ * only offered to the coalescer once the transaction that published it has committed, so a rolled
+ * back like never produces a notification; a toggle that cannot be held then is stored in a
+ * transaction of its own. Released events are stored together in one transaction. On shutdown all
+ * held toggles are released before the {@link OutboxRelay} stops. Held toggles are in memory only,
+ * so a crash loses them; a notification is not worth a write per toggle.
+ * </p>
+ * <p>
+ * Received and released notifications and the number of held keys are exported under
+ * {@code content.events.coalesce}.
+ * </p>
+ */
+@Service
+@Primary
+@Slf4j
+class CoalescingDomainEventPublisher implements DomainEventPublisher, SmartLifecycle {
+
+  private final OutboxDomainEventPublisher outboxPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final LikeNotificationCoalescer coalescer;
+  private final Counter receivedCounter;
+  private final Counter releasedCounter;
+
+  private volatile boolean running;
+
+  CoalescingDomainEventPublisher(OutboxDomainEventPublisher outboxPublisher,
+      TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+      @Value("${content.events.coalesce.window:PT10S}") Duration window,
+      @Value("${content.events.coalesce.max-delay:PT1M}") Duration maxDelay,
+      @Value("${content.events.coalesce.max-pending:100000}") int maxPending) {
+    this.outboxPublisher = outboxPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.coalescer = new LikeNotificationCoalescer(window, maxDelay, maxPending,
+        Clock.systemUTC());
+    this.receivedCounter = Counter.builder("content.events.coalesce.received")
+        .description("Like and unlike notifications held back for coalescing")
+        .register(meterRegistry);
+    this.releasedCounter = Counter.builder("content.events.coalesce.released")
+        .description("Net like and unlike notifications released after coalescing")
+        .register(meterRegistry);
+    Gauge.builder("content.events.coalesce.pending", coalescer,
+            LikeNotificationCoalescer::pendingCount)
+        .description("Keys with like toggles currently held back")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void publish(DomainEvent event) {
+    if (event instanceof PostChangedEvent postChanged
+        && LikeNotificationCoalescer.isToggle(postChanged)) {
+      AfterCommit.run(() -> hold(postChanged));
+      return;
+    }
+    outboxPublisher.publish(event);
+  }
+
+  @Scheduled(fixedDelayString = "${content.events.coalesce.flush-interval-ms:1000}")
+  public void releaseDue() {
+    release(coalescer.drainDue());
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    List<PostChangedEvent> held = coalescer.drainAll();
+    release(held);
+    log.info("Released {} held like notification(s) on shutdown", held.size());
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return LikeBufferDrainer.PHASE + 2;
+  }
+
+  /**
+   * Runs after the publishing transaction committed, so a failure is logged rather than thrown
+   * back at a caller whose write already succeeded.
+   */
+  private void hold(PostChangedEvent event) {
+    if (running && coalescer.offer(event)) {
+      receivedCounter.increment();
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> outboxPublisher.publish(event));
+    } catch (RuntimeException e) {
+      log.error("Cannot publish like notification {}", event, e);
+    }
+  }
+
+  private void release(List<PostChangedEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(status -> events.forEach(outboxPublisher::publish));
+    releasedCounter.increment(events.size());
+  }
+}
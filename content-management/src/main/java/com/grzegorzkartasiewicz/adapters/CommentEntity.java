@@ -5,20 +5,27 @@ import com.grzegorzkartasiewicz.domain.vo.AuthorId;
 import com.grzegorzkartasiewicz.domain.vo.CommentId;
 import com.grzegorzkartasiewicz.domain.vo.Description;
 import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_post_created", columnList = "post_id, created_at, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 class CommentEntity {
@@ -34,14 +41,31 @@ class CommentEntity {
   private AuthorId authorId;
 
   @Convert(converter = LikeCounterConverter.class)
+  @Column(updatable = false)
   private LikeCounter likeCounter;
 
+  /**
+   * Part of the like counter still held in {@link LikeCounterShardEntity shards}.
+   */
+  @Formula(LikeCounterShardEntity.SUM_FOR_ID)
+  private long shardedLikes;
+
   @ManyToOne
   @JoinColumn(name = "post_id")
   private PostEntity post;
 
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private Instant createdAt;
+
   Comment toDomain() {
-    return new Comment(new CommentId(id), description, authorId, likeCounter);
+    return new Comment(new CommentId(id), description, authorId,
+        LikeCounterShardEntity.withShards(likeCounter, shardedLikes));
+  }
+
+  PostReadModel.CommentReadModel toReadModel() {
+    return new PostReadModel.CommentReadModel(id, description, authorId,
+        LikeCounterShardEntity.withShards(likeCounter, shardedLikes));
   }
 
   static CommentEntity fromDomain(Comment comment, PostEntity post) {
@@ -50,7 +74,9 @@ class CommentEntity {
         comment.getDescription(),
         comment.getAuthorId(),
         comment.getLikeCounter(),
-        post
+        0,
+        post,
+        null
     );
   }
 }
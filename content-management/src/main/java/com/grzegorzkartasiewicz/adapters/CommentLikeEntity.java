@@ -1,18 +1,25 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
 @Table(name = "comment_likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"commentId", "likerId"})
+}, indexes = {
+    @Index(name = "idx_comment_likes_comment_created", columnList = "comment_id, created_at, liker_id"),
+    @Index(name = "idx_comment_likes_post", columnList = "post_id")
 })
 @AllArgsConstructor
 @NoArgsConstructor
@@ -28,6 +35,10 @@ class CommentLikeEntity {
 
   private UUID likerId;
 
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private Instant createdAt;
+
   public CommentLikeEntity(UUID postId, UUID commentId, UUID likerId) {
     this.postId = postId;
     this.commentId = commentId;
@@ -1,12 +1,19 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 interface CommentLikeRepository extends JpaRepository<CommentLikeEntity, UUID> {
 
   Optional<CommentLikeEntity> findByCommentIdAndLikerId(UUID commentId, UUID likerId);
+
+  @Query("SELECT l.likerId FROM CommentLikeEntity l WHERE l.commentId = :commentId")
+  List<UUID> findLikerIdsByCommentId(@Param("commentId") UUID commentId, Pageable pageable);
 }
@@ -0,0 +1,34 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks an outbox event as handled by one consumer, see {@link ConsumedEvents}.
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "consumed_events")
+@NoArgsConstructor
+class ConsumedEventEntity {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "consumed_at", nullable = false)
+  private Instant consumedAt;
+
+  @Embeddable
+  record Key(String consumer, @Column(name = "event_id") UUID eventId) implements Serializable {
+
+  }
+}
@@ -0,0 +1,77 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotency keys of consumers of {@link DeliveredEvent}s that are not idempotent by themselves.
+ * <p>
+ * The {@link OutboxRelay} delivers at least once, so a consumer may see an event again after a
+ * crash or a delivery timeout. Such a consumer calls {@link #markConsumed} first and skips the
+ * event when it returns {@code false}; called inside the consumer's transaction, the mark commits
+ * or rolls back together with its effects. The mark is inserted behind a savepoint: on PostgreSQL
+ * a failed statement aborts the whole transaction, so the duplicate key of a concurrent delivery
+ * is rolled back to the savepoint rather than just caught. Marks are kept for
+ * {@code content.events.consumed.retention}, far longer than an event can stay claimed.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ConsumedEvents {
+
+  private static final String INSERT =
+      "INSERT INTO consumed_events (consumer, event_id, consumed_at) VALUES (?, ?, ?)";
+  private static final String DELETE_EXPIRED = "DELETE FROM consumed_events WHERE consumed_at < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration retention;
+
+  ConsumedEvents(JdbcTemplate jdbcTemplate,
+      @Value("${content.events.consumed.retention:PT1H}") Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.retention = retention;
+  }
+
+  /**
+   * Records that a consumer handled an event.
+   *
+   * @return {@code false} if the consumer has already handled it.
+   */
+  public boolean markConsumed(String consumer, UUID eventId) {
+    return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+      Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+      try {
+        jdbcTemplate.update(INSERT, consumer, eventId, Timestamp.from(Instant.now()));
+      } catch (DataIntegrityViolationException e) {
+        if (savepoint != null) {
+          connection.rollback(savepoint);
+        }
+        log.debug("Event {} has already been consumed by {}", eventId, consumer);
+        return false;
+      }
+      if (savepoint != null) {
+        connection.releaseSavepoint(savepoint);
+      }
+      return true;
+    }));
+  }
+
+  @Scheduled(fixedDelayString = "${content.events.consumed.cleanup-interval-ms:600000}")
+  public void forgetExpired() {
+    int forgotten = jdbcTemplate.update(DELETE_EXPIRED,
+        Timestamp.from(Instant.now().minus(retention)));
+    if (forgotten > 0) {
+      log.debug("Forgot {} expired consumed event mark(s)", forgotten);
+    }
+  }
+}
@@ -1,20 +1,66 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import com.grzegorzkartasiewicz.app.FeedService;
+import com.grzegorzkartasiewicz.app.FollowersPort;
+import com.grzegorzkartasiewicz.app.PostQueryPort;
+import com.grzegorzkartasiewicz.app.PostQueryService;
 import com.grzegorzkartasiewicz.app.PostService;
+import com.grzegorzkartasiewicz.app.RecentPostsIndex;
+import com.grzegorzkartasiewicz.app.TimelineStore;
+import com.grzegorzkartasiewicz.app.TrendingService;
+import com.grzegorzkartasiewicz.app.TrendingTagTracker;
+import com.grzegorzkartasiewicz.app.TrendingTracker;
 import com.grzegorzkartasiewicz.domain.DomainEventPublisher;
 import com.grzegorzkartasiewicz.domain.PostRepository;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.MatchAlwaysTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
 
 @Configuration
-@EnableAsync
-@EnableScheduling
 class ContentManagementConfiguration {
 
+  /**
+   * Every call runs in a transaction, so the events of a use case are stored in the outbox together
+   * with its changes (see {@link OutboxDomainEventPublisher}). The service itself stays free of
+   * Spring annotations.
+   */
   @Bean
-  PostService postService(PostRepository postRepository, DomainEventPublisher domainEventPublisher) {
-    return new PostService(postRepository, domainEventPublisher);
+  PostService postService(PostRepository postRepository, DomainEventPublisher domainEventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${content.comments.page.max-size:100}") int maxCommentsLimit) {
+    ProxyFactory proxyFactory = new ProxyFactory(
+        new PostService(postRepository, domainEventPublisher, maxCommentsLimit));
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvice(new TransactionInterceptor(transactionManager,
+        new MatchAlwaysTransactionAttributeSource()));
+    return (PostService) proxyFactory.getProxy();
+  }
+
+  @Bean
+  PostQueryService postQueryService(PostQueryPort postQueryPort,
+      @Value("${content.comments.page.max-size:100}") int maxPageSize,
+      @Value("${content.posts.page.max-size:50}") int maxPostsPageSize,
+      @Value("${content.likes.page.max-size:100}") int maxLikersPageSize) {
+    return new PostQueryService(postQueryPort, maxPageSize, maxPostsPageSize, maxLikersPageSize);
+  }
+
+  @Bean
+  FeedService feedService(FollowersPort followersPort, TimelineStore timelineStore,
+      RecentPostsIndex recentPostsIndex, PostQueryPort postQueryPort,
+      @Value("${content.feed.page.max-size:50}") int maxPageSize,
+      @Value("${content.feed.fan-out.max-followers:10000}") long fanOutThreshold) {
+    return new FeedService(followersPort, timelineStore, recentPostsIndex, postQueryPort,
+        maxPageSize, fanOutThreshold);
+  }
+
+  @Bean
+  TrendingService trendingService(TrendingTracker trendingTracker,
+      TrendingTagTracker trendingTagTracker, PostQueryPort postQueryPort,
+      @Value("${content.trending.max-limit:100}") int maxLimit) {
+    return new TrendingService(trendingTracker, trendingTagTracker, postQueryPort, maxLimit);
   }
 }
@@ -0,0 +1,55 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Count-min sketch over {@link UUID} keys: approximate per-key counts in fixed memory of
+ * {@code depth * width} counters. Estimates never undercount as long as only positive deltas are
+ * added. Sketches of the same dimensions can be subtracted from each other, which is used to slide
+ * time windows. Not thread-safe.
+ */
+class CountMinSketch {
+
+  private final int width;
+  private final int depth;
+  private final long[] counters;
+
+  CountMinSketch(int width, int depth) {
+    this.width = width;
+    this.depth = depth;
+    this.counters = new long[width * depth];
+  }
+
+  void add(UUID key, long delta) {
+    long h1 = key.getMostSignificantBits();
+    long h2 = key.getLeastSignificantBits();
+    for (int row = 0; row < depth; row++) {
+      counters[index(row, h1, h2)] += delta;
+    }
+  }
+
+  long estimate(UUID key) {
+    long h1 = key.getMostSignificantBits();
+    long h2 = key.getLeastSignificantBits();
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, counters[index(row, h1, h2)]);
+    }
+    return estimate;
+  }
+
+  void subtract(CountMinSketch other) {
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] -= other.counters[i];
+    }
+  }
+
+  void clear() {
+    Arrays.fill(counters, 0);
+  }
+
+  private int index(int row, long h1, long h2) {
+    return row * width + (int) Math.floorMod(h1 + row * h2, (long) width);
+  }
+}
@@ -0,0 +1,120 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background removal of soft-deleted posts.
+ * <p>
+ * Deleting a post only sets its {@code deleted_at} column. This component later removes the comment
+ * likes, post likes and comments of such posts, and finally the post row itself, together with the
+ * like counter shards of all of them. Every statement deletes at most
+ * {@code content.posts.purge.batch-size} rows and commits on its own, with a pause of
+ * {@code content.posts.purge.pause} in between, so purging a post with millions of likes never
+ * holds long locks or floods the database. Like deltas still buffered for the removed posts and
+ * comments are dropped from the {@link LikeDeltaBuffer}. Purging runs on a scheduler of its own
+ * (see {@link SchedulingConfiguration}), so the pauses never delay other background jobs.
+ * </p>
+ */
+@Component
+@Slf4j
+class DeletedPostPurger {
+
+  private static final String DELETED_POSTS = """
+      SELECT id FROM posts
+      WHERE deleted_at IS NOT NULL
+      ORDER BY deleted_at
+      LIMIT ?""";
+  private static final String DELETE_COMMENT_LIKES = """
+      DELETE FROM comment_likes
+      WHERE id IN (SELECT id FROM comment_likes WHERE post_id = ? LIMIT ?)""";
+  private static final String DELETE_POST_LIKES = """
+      DELETE FROM post_likes
+      WHERE id IN (SELECT id FROM post_likes WHERE post_id = ? LIMIT ?)""";
+  private static final String COMMENT_IDS = "SELECT id FROM comments WHERE post_id = ? LIMIT ?";
+  private static final String DELETE_COMMENTS = "DELETE FROM comments WHERE id IN (%s)";
+  private static final String DELETE_SHARDS =
+      "DELETE FROM like_counter_shards WHERE target_id IN (%s)";
+  private static final String DELETE_POST =
+      "DELETE FROM posts WHERE id = ? AND deleted_at IS NOT NULL";
+  private static final String PURGE_LEASE = "deleted-post-purge";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final LikeDeltaBuffer likeDeltaBuffer;
+  private final ClusterLeases clusterLeases;
+  private final int batchSize;
+  private final Duration pause;
+
+  DeletedPostPurger(JdbcTemplate jdbcTemplate, LikeDeltaBuffer likeDeltaBuffer,
+      ClusterLeases clusterLeases, @Value("${content.posts.purge.batch-size:500}") int batchSize,
+      @Value("${content.posts.purge.pause:PT0.05S}") Duration pause) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.likeDeltaBuffer = likeDeltaBuffer;
+    this.clusterLeases = clusterLeases;
+    this.batchSize = batchSize;
+    this.pause = pause;
+  }
+
+  /**
+   * Purges the posts deleted so far, oldest deletion first, on one node at a time.
+   */
+  @Scheduled(fixedDelayString = "${content.posts.purge.interval-ms:10000}",
+      scheduler = SchedulingConfiguration.PURGE_SCHEDULER)
+  public void purge() {
+    clusterLeases.runExclusively(PURGE_LEASE, this::purgeDeleted);
+  }
+
+  private void purgeDeleted() {
+    List<UUID> postIds = jdbcTemplate.queryForList(DELETED_POSTS, UUID.class, batchSize);
+    try {
+      for (UUID postId : postIds) {
+        purge(postId);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  void purge(UUID postId) throws InterruptedException {
+    deleteInBatches(DELETE_COMMENT_LIKES, postId);
+    deleteInBatches(DELETE_POST_LIKES, postId);
+    List<UUID> commentIds;
+    do {
+      commentIds = jdbcTemplate.queryForList(COMMENT_IDS, UUID.class, postId, batchSize);
+      if (!commentIds.isEmpty()) {
+        String placeholders = String.join(", ", Collections.nCopies(commentIds.size(), "?"));
+        jdbcTemplate.update(DELETE_COMMENTS.formatted(placeholders), commentIds.toArray());
+        jdbcTemplate.update(DELETE_SHARDS.formatted(placeholders), commentIds.toArray());
+        likeDeltaBuffer.forget(LikeTarget.COMMENT, commentIds);
+        throttle();
+      }
+    } while (commentIds.size() == batchSize);
+    jdbcTemplate.update(DELETE_POST, postId);
+    jdbcTemplate.update(DELETE_SHARDS.formatted("?"), postId);
+    likeDeltaBuffer.forget(LikeTarget.POST, List.of(postId));
+    log.debug("Purged deleted post {}", postId);
+  }
+
+  private void deleteInBatches(String sql, UUID postId) throws InterruptedException {
+    int deleted;
+    do {
+      deleted = jdbcTemplate.update(sql, postId, batchSize);
+      if (deleted > 0) {
+        throttle();
+      }
+    } while (deleted == batchSize);
+  }
+
+  private void throttle() throws InterruptedException {
+    if (!pause.isZero()) {
+      Thread.sleep(pause);
+    }
+  }
+}
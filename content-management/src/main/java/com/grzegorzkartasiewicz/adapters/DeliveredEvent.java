@@ -0,0 +1,24 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.DomainEvent;
+import java.util.UUID;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * A domain event relayed from the outbox. Listeners declare the event type they handle, e.g.
+ * {@code DeliveredEvent<PostLiked>}; listeners of other modules, such as notifications, receive
+ * post changes this way too.
+ *
+ * @param eventId Id the event was stored under; the same on every redelivery, so consumers can use
+ *                it as an idempotency key (see {@link ConsumedEvents}).
+ */
+public record DeliveredEvent<E extends DomainEvent>(UUID eventId, E event) implements
+    ResolvableTypeProvider {
+
+  @Override
+  public ResolvableType getResolvableType() {
+    return ResolvableType.forClassWithGenerics(DeliveredEvent.class,
+        ResolvableType.forInstance(event));
+  }
+}
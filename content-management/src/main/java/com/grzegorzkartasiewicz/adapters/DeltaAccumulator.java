@@ -0,0 +1,254 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent per-key sum of deltas with lossless snapshot-and-reset, built for keys that receive
+ * updates from many threads at once (e.g. the like counter of a viral post).
+ * <p>
+ * Deltas of a key are summed in a {@link LongAdder}, so concurrent updates of one key are spread
+ * over striped cells instead of contending on a single CAS. Updates are collected in a
+ * <em>generation</em>; {@link #drain} seals the current generation, waits until every update that
+ * entered it has completed, and only then reads its sums and starts the next generation. An update
+ * therefore lands either in the drained snapshot or in the next generation, never in neither or
+ * both:
+ * </p>
+ * <ul>
+ *     <li>An updater announces itself in a striped in-progress counter, then checks whether the
+ *     generation is sealed; the drainer seals, then waits for all in-progress counters to reach
+ *     zero. With volatile semantics on both sides, either the updater sees the seal (and retries on
+ *     the next generation) or the drainer sees the updater (and waits for it).</li>
+ *     <li>Updaters arriving while a generation is sealed wait until the next one is published, so
+ *     the drainer can act on the snapshot (e.g. rotate a log) with no update in progress.</li>
+ * </ul>
+ * <p>
+ * A drained snapshot stays {@link #sum visible} as an <em>in-flight</em> {@link Batch} until its
+ * keys are {@link #release released}, e.g. once they are persisted. The next generation and the
+ * new batch are published in one volatile write, so a reader sees a delta either in the sealed
+ * generation or in the batch, never in both or in neither.
+ * </p>
+ * <p>
+ * Updaters never share a lock; only the short drain blocks them. Drains are serialized.
+ * </p>
+ *
+ * @param <K> Key type.
+ */
+class DeltaAccumulator<K> {
+
+  private static final int STRIPE_PADDING = 8;
+
+  private final int stripeMask;
+  private volatile State<K> state;
+
+  DeltaAccumulator() {
+    int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+    this.stripeMask = stripes - 1;
+    this.state = new State<>(new Generation<>(stripes), List.of());
+  }
+
+  /**
+   * Adds a delta to a key.
+   *
+   * @param journal Runs right before the delta is counted, within the same generation. A drain
+   *                sees the delta if and only if it sees the journal entry.
+   */
+  void add(K key, long delta, Runnable journal) {
+    int stripe = (int) Thread.currentThread().threadId() & stripeMask;
+    while (true) {
+      Generation<K> generation = state.current();
+      generation.enter(stripe);
+      try {
+        if (!generation.sealed) {
+          journal.run();
+          generation.sums.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+          return;
+        }
+      } finally {
+        generation.exit(stripe);
+      }
+      generation.awaitSuccessor();
+    }
+  }
+
+  void add(K key, long delta) {
+    add(key, delta, () -> {
+    });
+  }
+
+  /**
+   * @return The sum accumulated for a key and not yet released: the updates since the last drain
+   * plus the key's share of every in-flight batch.
+   */
+  long sum(K key) {
+    State<K> snapshot = state;
+    LongAdder sum = snapshot.current().sums.get(key);
+    long total = sum == null ? 0 : sum.sum();
+    for (Batch<K> batch : snapshot.inFlight()) {
+      total += batch.remaining.getOrDefault(key, 0L);
+    }
+    return total;
+  }
+
+  /**
+   * Takes all sums accumulated since the last drain and resets them. The sums stay visible to
+   * {@link #sum} as an in-flight batch until they are released.
+   *
+   * @param whileQuiescent Receives the drained sums after the last update of the drained generation
+   *                       completed and before any update of the next one starts.
+   * @return The in-flight batch of non-zero sums per key. If {@code whileQuiescent} fails, nothing
+   * is drained and the sums carry over to the next generation.
+   */
+  synchronized Batch<K> drain(Consumer<Map<K, Long>> whileQuiescent) {
+    State<K> drained = state;
+    Generation<K> sealed = drained.current();
+    sealed.sealed = true;
+    sealed.awaitQuiescence();
+    Generation<K> next = new Generation<>(stripeMask + 1);
+    try {
+      Map<K, Long> snapshot = HashMap.newHashMap(sealed.sums.size());
+      sealed.sums.forEach((key, sum) -> {
+        long value = sum.sum();
+        if (value != 0) {
+          snapshot.put(key, value);
+        }
+      });
+      whileQuiescent.accept(snapshot);
+      Batch<K> batch = new Batch<>(snapshot);
+      state = new State<>(next, drained.with(batch));
+      return batch;
+    } catch (RuntimeException e) {
+      next.sums.putAll(sealed.sums);
+      state = new State<>(next, drained.inFlight());
+      throw e;
+    } finally {
+      sealed.successorPublished.countDown();
+    }
+  }
+
+  Batch<K> drain() {
+    return drain(snapshot -> {
+    });
+  }
+
+  /**
+   * Puts sums that were drained elsewhere (e.g. restored from a log) in flight.
+   *
+   * @return The in-flight batch of the non-zero sums.
+   */
+  synchronized Batch<K> hold(Map<K, Long> sums) {
+    Map<K, Long> nonZero = new HashMap<>(sums);
+    nonZero.values().removeIf(sum -> sum == 0);
+    Batch<K> batch = new Batch<>(nonZero);
+    State<K> current = state;
+    state = new State<>(current.current(), current.with(batch));
+    return batch;
+  }
+
+  /**
+   * Removes keys from an in-flight batch, e.g. once their sums are persisted. A batch with no keys
+   * left is dropped.
+   */
+  void release(Batch<K> batch, Collection<K> keys) {
+    keys.forEach(batch.remaining::remove);
+    if (batch.remaining.isEmpty()) {
+      synchronized (this) {
+        State<K> current = state;
+        if (current.inFlight().contains(batch)) {
+          state = new State<>(current.current(), current.without(batch));
+        }
+      }
+    }
+  }
+
+  /**
+   * Sums drained from one generation that have not been released yet.
+   */
+  static final class Batch<K> {
+
+    private final ConcurrentHashMap<K, Long> remaining;
+
+    private Batch(Map<K, Long> sums) {
+      this.remaining = new ConcurrentHashMap<>(sums);
+    }
+
+    /**
+     * @return The sums not released yet, as a live read-only view.
+     */
+    Map<K, Long> deltas() {
+      return Collections.unmodifiableMap(remaining);
+    }
+
+    boolean isReleased() {
+      return remaining.isEmpty();
+    }
+  }
+
+  private record State<K>(Generation<K> current, List<Batch<K>> inFlight) {
+
+    List<Batch<K>> with(Batch<K> batch) {
+      if (batch.isReleased()) {
+        return inFlight;
+      }
+      List<Batch<K>> batches = new ArrayList<>(inFlight);
+      batches.add(batch);
+      return List.copyOf(batches);
+    }
+
+    List<Batch<K>> without(Batch<K> batch) {
+      return inFlight.stream().filter(other -> other != batch).toList();
+    }
+  }
+
+  private static final class Generation<K> {
+
+    private final ConcurrentHashMap<K, LongAdder> sums = new ConcurrentHashMap<>();
+    private final AtomicLongArray inProgress;
+    private final CountDownLatch successorPublished = new CountDownLatch(1);
+    private volatile boolean sealed;
+
+    private Generation(int stripes) {
+      this.inProgress = new AtomicLongArray(stripes * STRIPE_PADDING);
+    }
+
+    void enter(int stripe) {
+      inProgress.incrementAndGet(stripe * STRIPE_PADDING);
+    }
+
+    void exit(int stripe) {
+      inProgress.decrementAndGet(stripe * STRIPE_PADDING);
+    }
+
+    void awaitQuiescence() {
+      for (int i = 0; i < inProgress.length(); i += STRIPE_PADDING) {
+        while (inProgress.get(i) != 0) {
+          Thread.onSpinWait();
+        }
+      }
+    }
+
+    void awaitSuccessor() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          successorPublished.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executor on which the {@link OutboxRelay} runs the domain event listeners (see
+ * {@link PostLikeEventListener}).
+ * <p>
+ * The pool and its queue are bounded. Workers are platform threads or virtual threads
+ * ({@code content.events.executor.threads=platform|virtual}); with virtual threads the pool size
+ * still caps how many handlers hit the database at once. When the queue is full the task is either
+ * run by the relay thread ({@code overflow=caller-runs}, the default, which slows down
+ * delivery) or rejected ({@code overflow=drop}); the relay leaves a rejected event in the outbox
+ * and delivers it again once its claim expires.
+ * </p>
+ * <p>
+ * Queue depth, active workers, queue wait and execution time are exported by
+ * {@link ExecutorServiceMetrics} under the {@code content.events} prefix; rejected tasks are counted
+ * separately.
+ * </p>
+ */
+@Configuration
+@Slf4j
+class EventExecutorConfiguration {
+
+  static final String EVENT_PROCESSING_EXECUTOR = "eventProcessingExecutor";
+
+  @Bean(name = EVENT_PROCESSING_EXECUTOR, destroyMethod = "shutdown")
+  ExecutorService eventProcessingExecutor(MeterRegistry meterRegistry,
+      @Value("${content.events.executor.threads:platform}") String threads,
+      @Value("${content.events.executor.core-size:4}") int coreSize,
+      @Value("${content.events.executor.max-size:16}") int maxSize,
+      @Value("${content.events.executor.queue-capacity:10000}") int queueCapacity,
+      @Value("${content.events.executor.overflow:caller-runs}") String overflow) {
+    Counter rejected = Counter.builder("content.events.executor.rejected")
+        .description("Event handler tasks rejected because the queue was full")
+        .tag("overflow", overflow)
+        .register(meterRegistry);
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(coreSize, Math.max(coreSize, maxSize),
+        60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory(threads),
+        overflowPolicy(overflow, rejected));
+    return ExecutorServiceMetrics.monitor(meterRegistry, executor, EVENT_PROCESSING_EXECUTOR,
+        "content.events", Tags.of("threads", threads));
+  }
+
+  private static ThreadFactory threadFactory(String threads) {
+    if ("virtual".equalsIgnoreCase(threads)) {
+      return Thread.ofVirtual().name("event-virtual-", 0).factory();
+    }
+    return Thread.ofPlatform().name("event-", 0).factory();
+  }
+
+  private static RejectedExecutionHandler overflowPolicy(String overflow, Counter rejected) {
+    if ("drop".equalsIgnoreCase(overflow)) {
+      return (task, executor) -> {
+        rejected.increment();
+        log.warn("Event processing queue is full, rejecting event handler task");
+        throw new RejectedExecutionException("Event processing queue is full");
+      };
+    }
+    RejectedExecutionHandler callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+    return (task, executor) -> {
+      rejected.increment();
+      callerRuns.rejectedExecution(task, executor);
+    };
+  }
+}
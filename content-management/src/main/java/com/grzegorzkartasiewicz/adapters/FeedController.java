@@ -0,0 +1,45 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.FeedPage;
+import com.grzegorzkartasiewicz.app.FeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.security.Principal;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/feed")
+@RequiredArgsConstructor
+@Tag(name = "Feed", description = "Endpoints for reading the home feed")
+class FeedController {
+
+  private final FeedService feedService;
+
+  @Operation(summary = "Get the home feed",
+      description = "Returns one page of posts of the current user's friends, followed users and "
+          + "own posts, newest first. Pass the returned nextCursor as 'after' to fetch the next page.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Feed returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = FeedPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor")
+      })
+  @GetMapping
+  ResponseEntity<FeedPage> getFeed(@RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "20") int limit, Principal principal) {
+    UUID userId = UUID.fromString(principal.getName());
+    try {
+      return ResponseEntity.ok(feedService.getFeed(userId, after, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
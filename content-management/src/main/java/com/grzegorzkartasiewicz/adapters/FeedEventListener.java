@@ -0,0 +1,36 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.FeedService;
+import com.grzegorzkartasiewicz.domain.PostAction;
+import com.grzegorzkartasiewicz.domain.PostChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Distributes newly created posts to home timelines, off the request thread. Appending to a
+ * timeline is not idempotent, so redelivered events are skipped through {@link ConsumedEvents}; a
+ * failed fan-out rolls the mark back and is delivered again.
+ */
+@Component
+@RequiredArgsConstructor
+class FeedEventListener {
+
+  private static final String CONSUMER = "feed-fan-out";
+
+  private final FeedService feedService;
+  private final ConsumedEvents consumedEvents;
+
+  @EventListener
+  @Transactional
+  public void handle(DeliveredEvent<PostChangedEvent> delivery) {
+    PostChangedEvent event = delivery.event();
+    if (event.action() != PostAction.POST_CREATED) {
+      return;
+    }
+    if (consumedEvents.markConsumed(CONSUMER, delivery.eventId())) {
+      feedService.fanOut(event.postId().id(), event.actorId().id());
+    }
+  }
+}
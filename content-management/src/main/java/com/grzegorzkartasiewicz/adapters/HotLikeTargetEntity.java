@@ -0,0 +1,41 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * A post or comment whose like deltas every node adds to
+ * {@link LikeCounterShardEntity shard rows} instead of its {@code like_counter} column.
+ * <p>
+ * The {@link LikeCounterBatchWriter} marks a target hot when one of its flushes reaches the heat
+ * threshold, and refreshes {@code heated_at} every time it does so again. Because the mark is
+ * shared, the other nodes shard the target too, even if their own deltas for it are small. The
+ * {@link LikeCounterShardCompactor} cools targets that have not been heated for a while.
+ * </p>
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "hot_like_targets")
+@NoArgsConstructor
+class HotLikeTargetEntity {
+
+  @Id
+  @Column(name = "target_id")
+  private UUID targetId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private LikeTarget target;
+
+  @Column(name = "heated_at", nullable = false)
+  private Instant heatedAt;
+}
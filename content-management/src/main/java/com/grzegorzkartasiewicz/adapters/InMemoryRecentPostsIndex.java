@@ -0,0 +1,52 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grzegorzkartasiewicz.app.RecentPostsIndex;
+import com.grzegorzkartasiewicz.app.TimelineEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the recent posts of high-follower authors in memory as {@link TimelineBuffer}s of
+ * {@code content.feed.recent-posts.capacity} entries each, for at most
+ * {@code content.feed.recent-posts.max-authors} authors. Like the home timelines, the index is not
+ * persisted, starts empty after a restart and only holds the posts fanned out on this node.
+ */
+@Component
+class InMemoryRecentPostsIndex implements RecentPostsIndex {
+
+  private final int capacity;
+  private final Cache<UUID, TimelineBuffer> recentPosts;
+
+  InMemoryRecentPostsIndex(MeterRegistry meterRegistry,
+      @Value("${content.feed.recent-posts.capacity:200}") int capacity,
+      @Value("${content.feed.recent-posts.max-authors:10000}") long maxAuthors) {
+    this.capacity = capacity;
+    this.recentPosts = Caffeine.newBuilder()
+        .maximumSize(maxAuthors)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, recentPosts, "recent-posts");
+  }
+
+  @Override
+  public void add(UUID authorId, TimelineEntry entry) {
+    recentPosts.get(authorId, id -> new TimelineBuffer(capacity)).add(entry);
+  }
+
+  @Override
+  public List<TimelineEntry> read(UUID authorId, TimelineEntry after, int limit) {
+    TimelineBuffer posts = recentPosts.getIfPresent(authorId);
+    return posts == null ? List.of() : posts.read(after, limit);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return recentPosts.estimatedSize() == 0;
+  }
+}
@@ -0,0 +1,49 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grzegorzkartasiewicz.app.TimelineEntry;
+import com.grzegorzkartasiewicz.app.TimelineStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps home timelines in memory as {@link TimelineBuffer}s of
+ * {@code content.feed.timeline.capacity} entries each. At most
+ * {@code content.feed.timeline.max-users} timelines are kept; the least valuable ones are evicted
+ * and start empty again on the next fan-out. Timelines are not persisted and start empty after a
+ * restart. They are local to this node and only hold the posts fanned out on it.
+ */
+@Component
+class InMemoryTimelineStore implements TimelineStore {
+
+  private final int capacity;
+  private final Cache<UUID, TimelineBuffer> timelines;
+
+  InMemoryTimelineStore(MeterRegistry meterRegistry,
+      @Value("${content.feed.timeline.capacity:200}") int capacity,
+      @Value("${content.feed.timeline.max-users:50000}") long maxUsers) {
+    this.capacity = capacity;
+    this.timelines = Caffeine.newBuilder()
+        .maximumSize(maxUsers)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, timelines, "timelines");
+  }
+
+  @Override
+  public void append(Collection<UUID> userIds, TimelineEntry entry) {
+    userIds.forEach(userId -> timelines.get(userId, id -> new TimelineBuffer(capacity)).add(entry));
+  }
+
+  @Override
+  public List<TimelineEntry> read(UUID userId, TimelineEntry after, int limit) {
+    TimelineBuffer timeline = timelines.getIfPresent(userId);
+    return timeline == null ? List.of() : timeline.read(after, limit);
+  }
+}
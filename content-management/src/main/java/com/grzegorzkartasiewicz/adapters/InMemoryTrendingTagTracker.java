@@ -0,0 +1,60 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grzegorzkartasiewicz.app.TrendingTag;
+import com.grzegorzkartasiewicz.app.TrendingTagTracker;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts how many posts got a hashtag over sliding windows, in process with
+ * {@link TrendingWindows} and the same window settings as the {@link InMemoryTrendingTracker}.
+ * <p>
+ * Tags are counted under name-based UUIDs; the names of recently counted tags are kept in a
+ * bounded cache ({@code content.trending.tags.names-max-size}) to translate the top keys back.
+ * Counts are per node and are not persisted.
+ * </p>
+ */
+@Component
+class InMemoryTrendingTagTracker implements TrendingTagTracker {
+
+  private final TrendingWindows trendingWindows;
+  private final Cache<UUID, String> names;
+
+  InMemoryTrendingTagTracker(
+      @Value("${content.trending.windows:PT5M,PT1H}") List<Duration> windows,
+      @Value("${content.trending.bucket-length:PT1M}") Duration bucketLength,
+      @Value("${content.trending.sketch.width:2048}") int width,
+      @Value("${content.trending.sketch.depth:4}") int depth,
+      @Value("${content.trending.candidates:500}") int candidates,
+      @Value("${content.trending.tags.names-max-size:100000}") long namesMaxSize) {
+    this.trendingWindows = new TrendingWindows(windows, bucketLength, width, depth, candidates);
+    this.names = Caffeine.newBuilder().maximumSize(namesMaxSize).build();
+  }
+
+  /**
+   * Records that a post got the given (normalised) tag.
+   */
+  void record(String tag) {
+    UUID key = UUID.nameUUIDFromBytes(tag.getBytes(StandardCharsets.UTF_8));
+    names.put(key, tag);
+    trendingWindows.record(key, 1, System.currentTimeMillis());
+  }
+
+  @Override
+  public List<TrendingTag> top(Duration window, int limit) {
+    return trendingWindows.top(window, limit, System.currentTimeMillis()).stream()
+        .map(score -> {
+          String tag = names.getIfPresent(score.key());
+          return tag == null ? null : new TrendingTag(tag, score.count());
+        })
+        .filter(Objects::nonNull)
+        .toList();
+  }
+}
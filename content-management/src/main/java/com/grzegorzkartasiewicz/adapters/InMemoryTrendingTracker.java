@@ -0,0 +1,42 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.PostScore;
+import com.grzegorzkartasiewicz.app.TrendingTracker;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks post like rates in process with {@link TrendingWindows}. Counts are per node and are not
+ * persisted, so trending lists start empty after a restart.
+ */
+@Component
+class InMemoryTrendingTracker implements TrendingTracker {
+
+  private final TrendingWindows trendingWindows;
+
+  InMemoryTrendingTracker(
+      @Value("${content.trending.windows:PT5M,PT1H}") List<Duration> windows,
+      @Value("${content.trending.bucket-length:PT1M}") Duration bucketLength,
+      @Value("${content.trending.sketch.width:2048}") int width,
+      @Value("${content.trending.sketch.depth:4}") int depth,
+      @Value("${content.trending.candidates:500}") int candidates) {
+    this.trendingWindows = new TrendingWindows(windows, bucketLength, width, depth, candidates);
+  }
+
+  /**
+   * Records an accepted like ({@code +1}) or unlike ({@code -1}) of a post.
+   */
+  void record(UUID postId, int delta) {
+    trendingWindows.record(postId, delta, System.currentTimeMillis());
+  }
+
+  @Override
+  public List<PostScore> top(Duration window, int limit) {
+    return trendingWindows.top(window, limit, System.currentTimeMillis()).stream()
+        .map(score -> new PostScore(score.key(), score.count()))
+        .toList();
+  }
+}
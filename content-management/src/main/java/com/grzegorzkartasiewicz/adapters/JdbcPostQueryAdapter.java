@@ -0,0 +1,262 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.CommentResponse;
+import com.grzegorzkartasiewicz.app.PageCursor;
+import com.grzegorzkartasiewicz.app.PageItem;
+import com.grzegorzkartasiewicz.app.PostQueryPort;
+import com.grzegorzkartasiewicz.app.PostSummary;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC implementation of the read-side queries, mapping rows straight to response records.
+ * Comment pages are read with keyset pagination over the {@code (post_id, created_at, id)} index,
+ * and likers over the {@code (post_id, created_at, liker_id)} and
+ * {@code (comment_id, created_at, liker_id)} indexes; their cursors carry the position itself, so
+ * paging goes on after the cursor comment or like is deleted. An author's posts are paged the same
+ * way over the {@code (author_id, created_at, id)} index, and posts of a hashtag over the
+ * {@code (tag, created_at, post_id)} index of {@code post_tags}, whose cursor is the position of
+ * the tag row rather than of the post. Either way no offset has to be skipped. Soft-deleted
+ * posts, and everything hanging off them, are filtered out until they are purged. Like counts add
+ * up the {@link LikeCounterShardEntity shards} of hot posts and comments and include the deltas
+ * still waiting in the {@link LikeDeltaBuffer}.
+ */
+@Repository
+@RequiredArgsConstructor
+class JdbcPostQueryAdapter implements PostQueryPort {
+
+  private static final String COMMENT_COLUMNS = """
+      SELECT c.id, c.description, c.author_id, c.created_at,
+        c.like_counter + (SELECT COALESCE(SUM(s.delta), 0) FROM like_counter_shards s
+          WHERE s.target_id = c.id) AS like_counter
+      """;
+  private static final String POST_COLUMNS = """
+      SELECT p.id, p.description, p.author_id, p.created_at,
+        p.like_counter + (SELECT COALESCE(SUM(s.delta), 0) FROM like_counter_shards s
+          WHERE s.target_id = p.id) AS like_counter
+      """;
+  private static final String TAGGED_POST_COLUMNS = """
+      SELECT p.id, p.description, p.author_id, p.created_at, t.created_at AS tagged_at,
+        p.like_counter + (SELECT COALESCE(SUM(s.delta), 0) FROM like_counter_shards s
+          WHERE s.target_id = p.id) AS like_counter
+      """;
+  private static final String POST_EXISTS =
+      "SELECT COUNT(*) FROM posts WHERE id = ? AND deleted_at IS NULL";
+  private static final String FIRST_COMMENTS = COMMENT_COLUMNS + """
+      FROM comments c
+      JOIN posts p ON p.id = c.post_id AND p.deleted_at IS NULL
+      WHERE c.post_id = ?
+      ORDER BY c.created_at, c.id
+      LIMIT ?""";
+  private static final String COMMENTS_AFTER = COMMENT_COLUMNS + """
+      FROM comments c
+      JOIN posts p ON p.id = c.post_id AND p.deleted_at IS NULL
+      WHERE c.post_id = ?
+        AND (c.created_at > ? OR (c.created_at = ? AND c.id > ?))
+      ORDER BY c.created_at, c.id
+      LIMIT ?""";
+  private static final String COMMENT_CURSOR =
+      "SELECT created_at, id FROM comments WHERE id = ? AND post_id = ?";
+  private static final String POST_SUMMARY = POST_COLUMNS + """
+      FROM posts p
+      WHERE p.id = ? AND p.deleted_at IS NULL""";
+  private static final String FIRST_POSTS_BY_AUTHOR = POST_COLUMNS + """
+      FROM posts p
+      WHERE p.author_id = ? AND p.deleted_at IS NULL
+      ORDER BY p.created_at DESC, p.id DESC
+      LIMIT ?""";
+  private static final String POSTS_BY_AUTHOR_AFTER = POST_COLUMNS + """
+      FROM posts p
+      WHERE p.author_id = ? AND p.deleted_at IS NULL
+        AND (p.created_at < ? OR (p.created_at = ? AND p.id < ?))
+      ORDER BY p.created_at DESC, p.id DESC
+      LIMIT ?""";
+  private static final String FIRST_POSTS_BY_TAG = TAGGED_POST_COLUMNS + """
+      FROM post_tags t
+      JOIN posts p ON p.id = t.post_id AND p.deleted_at IS NULL
+      WHERE t.tag = ?
+      ORDER BY t.created_at DESC, t.post_id DESC
+      LIMIT ?""";
+  private static final String POSTS_BY_TAG_AFTER = TAGGED_POST_COLUMNS + """
+      FROM post_tags t
+      JOIN posts p ON p.id = t.post_id AND p.deleted_at IS NULL
+      WHERE t.tag = ?
+        AND (t.created_at < ? OR (t.created_at = ? AND t.post_id < ?))
+      ORDER BY t.created_at DESC, t.post_id DESC
+      LIMIT ?""";
+  private static final String POST_SUMMARIES = POST_COLUMNS + """
+      FROM posts p
+      WHERE p.id IN (%s) AND p.deleted_at IS NULL""";
+  private static final String FIRST_POST_LIKERS = """
+      SELECT l.liker_id, l.created_at
+      FROM post_likes l
+      JOIN posts p ON p.id = l.post_id AND p.deleted_at IS NULL
+      WHERE l.post_id = ?
+      ORDER BY l.created_at DESC, l.liker_id DESC
+      LIMIT ?""";
+  private static final String POST_LIKERS_AFTER = """
+      SELECT l.liker_id, l.created_at
+      FROM post_likes l
+      JOIN posts p ON p.id = l.post_id AND p.deleted_at IS NULL
+      WHERE l.post_id = ?
+        AND (l.created_at < ? OR (l.created_at = ? AND l.liker_id < ?))
+      ORDER BY l.created_at DESC, l.liker_id DESC
+      LIMIT ?""";
+  private static final String FIRST_COMMENT_LIKERS = """
+      SELECT l.liker_id, l.created_at
+      FROM comment_likes l
+      JOIN posts p ON p.id = l.post_id AND p.deleted_at IS NULL
+      WHERE l.comment_id = ? AND l.post_id = ?
+      ORDER BY l.created_at DESC, l.liker_id DESC
+      LIMIT ?""";
+  private static final String COMMENT_LIKERS_AFTER = """
+      SELECT l.liker_id, l.created_at
+      FROM comment_likes l
+      JOIN posts p ON p.id = l.post_id AND p.deleted_at IS NULL
+      WHERE l.comment_id = ? AND l.post_id = ?
+        AND (l.created_at < ? OR (l.created_at = ? AND l.liker_id < ?))
+      ORDER BY l.created_at DESC, l.liker_id DESC
+      LIMIT ?""";
+  private static final String LIKED_POST_IDS = """
+      SELECT l.post_id
+      FROM post_likes l
+      WHERE l.liker_id = ? AND l.post_id IN (%s)""";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final LikeDeltaBuffer likeDeltaBuffer;
+  private final RowMapper<PageItem<CommentResponse>> commentMapper = (rs, rowNum) -> {
+    UUID id = rs.getObject("id", UUID.class);
+    CommentResponse comment = new CommentResponse(id, rs.getString("description"),
+        rs.getObject("author_id", UUID.class), withPendingLikes(LikeTarget.COMMENT, id,
+        rs.getInt("like_counter")));
+    return new PageItem<>(comment, new PageCursor(rs.getTimestamp("created_at").toInstant(), id));
+  };
+  private final RowMapper<PageCursor> commentCursorMapper = (rs, rowNum) ->
+      new PageCursor(rs.getTimestamp("created_at").toInstant(), rs.getObject("id", UUID.class));
+  private final RowMapper<PageItem<UUID>> likerMapper = (rs, rowNum) -> {
+    UUID likerId = rs.getObject("liker_id", UUID.class);
+    return new PageItem<>(likerId,
+        new PageCursor(rs.getTimestamp("created_at").toInstant(), likerId));
+  };
+  private final RowMapper<PostSummary> postSummaryMapper = (rs, rowNum) -> {
+    UUID id = rs.getObject("id", UUID.class);
+    return new PostSummary(id, rs.getString("description"), rs.getObject("author_id", UUID.class),
+        withPendingLikes(LikeTarget.POST, id, rs.getInt("like_counter")),
+        rs.getTimestamp("created_at").toInstant());
+  };
+  private final RowMapper<PageItem<PostSummary>> authorPostMapper = (rs, rowNum) -> {
+    PostSummary post = postSummaryMapper.mapRow(rs, rowNum);
+    return new PageItem<>(post, new PageCursor(post.createdAt(), post.id()));
+  };
+  private final RowMapper<PageItem<PostSummary>> taggedPostMapper = (rs, rowNum) -> {
+    PostSummary post = postSummaryMapper.mapRow(rs, rowNum);
+    return new PageItem<>(post,
+        new PageCursor(rs.getTimestamp("tagged_at").toInstant(), post.id()));
+  };
+
+  @Override
+  public boolean postExists(UUID postId) {
+    Integer count = jdbcTemplate.queryForObject(POST_EXISTS, Integer.class, postId);
+    return count != null && count > 0;
+  }
+
+  @Override
+  public Optional<PostSummary> findPostSummary(UUID postId) {
+    return jdbcTemplate.query(POST_SUMMARY, postSummaryMapper, postId).stream().findFirst();
+  }
+
+  @Override
+  public List<PageItem<PostSummary>> findPostsByAuthor(UUID authorId, PageCursor after,
+      int limit) {
+    if (after == null) {
+      return jdbcTemplate.query(FIRST_POSTS_BY_AUTHOR, authorPostMapper, authorId, limit);
+    }
+    Timestamp createdAt = Timestamp.from(after.createdAt());
+    return jdbcTemplate.query(POSTS_BY_AUTHOR_AFTER, authorPostMapper, authorId, createdAt,
+        createdAt, after.id(), limit);
+  }
+
+  @Override
+  public List<PageItem<PostSummary>> findPostsByTag(String tag, PageCursor after, int limit) {
+    if (after == null) {
+      return jdbcTemplate.query(FIRST_POSTS_BY_TAG, taggedPostMapper, tag, limit);
+    }
+    Timestamp createdAt = Timestamp.from(after.createdAt());
+    return jdbcTemplate.query(POSTS_BY_TAG_AFTER, taggedPostMapper, tag, createdAt, createdAt,
+        after.id(), limit);
+  }
+
+  @Override
+  public List<PageItem<CommentResponse>> findComments(UUID postId, PageCursor after, int limit) {
+    if (after == null) {
+      return jdbcTemplate.query(FIRST_COMMENTS, commentMapper, postId, limit);
+    }
+    Timestamp createdAt = Timestamp.from(after.createdAt());
+    return jdbcTemplate.query(COMMENTS_AFTER, commentMapper, postId, createdAt, createdAt,
+        after.id(), limit);
+  }
+
+  @Override
+  public Optional<PageCursor> findCommentCursor(UUID postId, UUID commentId) {
+    return jdbcTemplate.query(COMMENT_CURSOR, commentCursorMapper, commentId, postId).stream()
+        .findFirst();
+  }
+
+  @Override
+  public List<PostSummary> findPostSummaries(Collection<UUID> postIds) {
+    if (postIds.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(", ", Collections.nCopies(postIds.size(), "?"));
+    return jdbcTemplate.query(POST_SUMMARIES.formatted(placeholders), postSummaryMapper,
+        postIds.toArray());
+  }
+
+  @Override
+  public List<PageItem<UUID>> findPostLikers(UUID postId, PageCursor after, int limit) {
+    if (after == null) {
+      return jdbcTemplate.query(FIRST_POST_LIKERS, likerMapper, postId, limit);
+    }
+    Timestamp createdAt = Timestamp.from(after.createdAt());
+    return jdbcTemplate.query(POST_LIKERS_AFTER, likerMapper, postId, createdAt, createdAt,
+        after.id(), limit);
+  }
+
+  @Override
+  public List<PageItem<UUID>> findCommentLikers(UUID postId, UUID commentId, PageCursor after,
+      int limit) {
+    if (after == null) {
+      return jdbcTemplate.query(FIRST_COMMENT_LIKERS, likerMapper, commentId, postId, limit);
+    }
+    Timestamp createdAt = Timestamp.from(after.createdAt());
+    return jdbcTemplate.query(COMMENT_LIKERS_AFTER, likerMapper, commentId, postId, createdAt,
+        createdAt, after.id(), limit);
+  }
+
+  @Override
+  public Set<UUID> findLikedPostIds(UUID likerId, Collection<UUID> postIds) {
+    if (postIds.isEmpty()) {
+      return Set.of();
+    }
+    String placeholders = String.join(", ", Collections.nCopies(postIds.size(), "?"));
+    Object[] args = new Object[postIds.size() + 1];
+    args[0] = likerId;
+    System.arraycopy(postIds.toArray(), 0, args, 1, postIds.size());
+    return new HashSet<>(jdbcTemplate.query(LIKED_POST_IDS.formatted(placeholders),
+        (rs, rowNum) -> rs.getObject("post_id", UUID.class), args));
+  }
+
+  private int withPendingLikes(LikeTarget target, UUID id, int likeCount) {
+    return Math.max(0, likeCount + likeDeltaBuffer.pendingDelta(target, id));
+  }
+}
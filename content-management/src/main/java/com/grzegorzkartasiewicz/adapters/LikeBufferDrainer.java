@@ -0,0 +1,105 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the like pipeline when the application stops, so buffered likes are not lost on a
+ * redeploy or when a node is taken out of the cluster.
+ * <p>
+ * On stop the event executor stops accepting handler tasks, the handlers already queued or running
+ * get {@code content.likes.drain.timeout} to finish, and a final flush writes the buffered deltas.
+ * Deltas whose chunk fails stay in the {@link LikeDeltaLog} and are replayed on the next start;
+ * handlers that did not finish before the deadline are abandoned. All three numbers are logged.
+ * </p>
+ * <p>
+ * Runs in a phase after Spring Boot's web server lifecycles, so the web server has stopped taking
+ * requests (and finished its graceful shutdown) before the drain starts, and before the
+ * {@code DataSource} and the delta log are closed. The {@link OutboxRelay} stops just before, so
+ * no new handlers are submitted; events it has not delivered stay in the outbox.
+ * </p>
+ */
+@Component
+@Slf4j
+class LikeBufferDrainer implements SmartLifecycle {
+
+  static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private final ExecutorService eventProcessingExecutor;
+  private final PostLikeEventListener postLikeEventListener;
+  private final Duration timeout;
+
+  private volatile boolean running;
+  private volatile DrainReport report;
+
+  LikeBufferDrainer(@Qualifier(EventExecutorConfiguration.EVENT_PROCESSING_EXECUTOR)
+      ExecutorService eventProcessingExecutor, PostLikeEventListener postLikeEventListener,
+      @Value("${content.likes.drain.timeout:PT10S}") Duration timeout) {
+    this.eventProcessingExecutor = eventProcessingExecutor;
+    this.postLikeEventListener = postLikeEventListener;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    int abandoned = awaitHandlers();
+    PostLikeEventListener.FlushResult flushed = postLikeEventListener.flushBuffered();
+    report = new DrainReport(flushed.persisted(), flushed.spilled(), abandoned);
+    log.info("Drained like buffers: {} counters persisted, {} spilled to the delta log, "
+        + "{} event handlers abandoned", report.persisted(), report.spilled(), report.abandoned());
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  /**
+   * @return The outcome of the last drain, or {@code null} if the application has not stopped.
+   */
+  DrainReport report() {
+    return report;
+  }
+
+  /**
+   * @return The number of queued handlers that were abandoned at the deadline.
+   */
+  private int awaitHandlers() {
+    eventProcessingExecutor.shutdown();
+    try {
+      if (eventProcessingExecutor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        return 0;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int abandoned = eventProcessingExecutor.shutdownNow().size();
+    log.warn("Event handlers did not finish within {}, abandoning {} queued handler(s)", timeout,
+        abandoned);
+    return abandoned;
+  }
+
+  /**
+   * Outcome of the drain on stop, in numbers of post and comment counters and handler tasks.
+   */
+  record DrainReport(int persisted, int spilled, int abandoned) {
+
+  }
+}
@@ -0,0 +1,226 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies the aggregated like deltas of one flush cycle to the database.
+ * <p>
+ * Deltas are sorted by id (so concurrent flushes lock rows in the same order) and split into
+ * chunks. Every chunk is sent as a single JDBC batch in its own transaction, so a failing chunk
+ * only rolls back its own rows and is handed back to the caller to be retried. The caller is told
+ * about every chunk right after it commits.
+ * </p>
+ * <p>
+ * Writes are idempotent per {@link LikeDeltaLog} segment: each chunk is recorded as a
+ * {@link LikeFlushChunkEntity} in its own transaction, and ids covered by a recorded chunk of the
+ * same segment are not written again. A segment replayed after a crash therefore only applies the
+ * chunks that had not been committed.
+ * </p>
+ * <p>
+ * A post or comment becomes hot once its delta in one flush reaches
+ * {@code content.likes.shards.heat-threshold}: when several nodes flush it at the same time, they
+ * would all queue on its row lock. The writer records it as a {@link HotLikeTargetEntity}, and
+ * from then on every node adds its deltas, however small, to one of
+ * {@code content.likes.shards.count} randomly chosen {@link LikeCounterShardEntity shard rows}
+ * instead, until the {@link LikeCounterShardCompactor} cools it. Set the threshold to {@code 0} to
+ * disable sharding.
+ * </p>
+ */
+@Component
+@Slf4j
+class LikeCounterBatchWriter {
+
+  private static final String UPDATE_POSTS =
+      "UPDATE posts SET like_counter = like_counter + ? WHERE id = ?";
+  private static final String UPDATE_COMMENTS =
+      "UPDATE comments SET like_counter = like_counter + ? WHERE id = ?";
+  private static final String UPDATE_SHARD =
+      "UPDATE like_counter_shards SET delta = delta + ? WHERE target_id = ? AND shard = ?";
+  private static final String INSERT_SHARD =
+      "INSERT INTO like_counter_shards (target_id, shard, target, delta) VALUES (?, ?, ?, ?)";
+  private static final String HOT_TARGETS =
+      "SELECT target_id FROM hot_like_targets WHERE target_id IN (%s)";
+  private static final String HEAT_TARGET =
+      "UPDATE hot_like_targets SET heated_at = ? WHERE target_id = ?";
+  private static final String INSERT_HOT_TARGET =
+      "INSERT INTO hot_like_targets (target_id, target, heated_at) VALUES (?, ?, ?)";
+  private static final String APPLIED_CHUNKS =
+      "SELECT first_id, last_id FROM like_flush_chunks WHERE segment_id = ? AND target = ?";
+  private static final String INSERT_CHUNK =
+      "INSERT INTO like_flush_chunks (segment_id, target, first_id, last_id) VALUES (?, ?, ?, ?)";
+  private static final String DELETE_CHUNKS = "DELETE FROM like_flush_chunks WHERE segment_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int shardCount;
+  private final int heatThreshold;
+
+  LikeCounterBatchWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+      @Value("${content.likes.flush.chunk-size:500}") int chunkSize,
+      @Value("${content.likes.shards.count:16}") int shardCount,
+      @Value("${content.likes.shards.heat-threshold:100}") int heatThreshold) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException(
+          "content.likes.flush.chunk-size must be positive, was " + chunkSize);
+    }
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException(
+          "content.likes.shards.count must be positive, was " + shardCount);
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.chunkSize = chunkSize;
+    this.shardCount = shardCount;
+    this.heatThreshold = heatThreshold;
+  }
+
+  /**
+   * Writes the given deltas chunk by chunk.
+   *
+   * @param target      The kind of content the deltas belong to.
+   * @param segmentId   The log segment the deltas were drained from.
+   * @param deltas      Net like change per post or comment id.
+   * @param onCommitted Receives the ids of every chunk once it is committed, including ids whose
+   *                    chunk had already been committed before.
+   * @return The deltas of the chunks that could not be written.
+   */
+  Map<UUID, Integer> write(LikeTarget target, UUID segmentId, Map<UUID, Integer> deltas,
+      Consumer<List<UUID>> onCommitted) {
+    if (deltas.isEmpty()) {
+      return Map.of();
+    }
+    String sql = target == LikeTarget.POST ? UPDATE_POSTS : UPDATE_COMMENTS;
+    List<UUID[]> applied = jdbcTemplate.query(APPLIED_CHUNKS,
+        (rs, rowNum) -> new UUID[]{rs.getObject("first_id", UUID.class),
+            rs.getObject("last_id", UUID.class)}, segmentId, target.name());
+    List<UUID> ids = new ArrayList<>();
+    List<UUID> skipped = new ArrayList<>();
+    for (UUID id : deltas.keySet()) {
+      (isApplied(applied, id) ? skipped : ids).add(id);
+    }
+    if (!skipped.isEmpty()) {
+      log.info("Skipping {} {} like deltas of segment {} that were already applied",
+          skipped.size(), target, segmentId);
+      onCommitted.accept(skipped);
+    }
+    ids.sort(null);
+    log.debug("Flushing {} {} like deltas in chunks of {}", ids.size(), target, chunkSize);
+
+    Map<UUID, Integer> failed = new HashMap<>();
+    for (int from = 0; from < ids.size(); from += chunkSize) {
+      List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+      List<Object[]> arguments = new ArrayList<>(chunk.size());
+      List<UUID> hot = new ArrayList<>();
+      List<UUID> heated = new ArrayList<>();
+      try {
+        Set<UUID> marked = hotTargets(chunk);
+        for (UUID id : chunk) {
+          if (isHeating(deltas.get(id))) {
+            heated.add(id);
+            hot.add(id);
+          } else if (marked.contains(id)) {
+            hot.add(id);
+          } else {
+            arguments.add(new Object[]{deltas.get(id), id});
+          }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+          jdbcTemplate.batchUpdate(sql, arguments);
+          heated.forEach(id -> heat(target, id));
+          hot.forEach(id -> addToShard(target, id, deltas.get(id)));
+          jdbcTemplate.update(INSERT_CHUNK, segmentId, target.name(), chunk.getFirst(),
+              chunk.getLast());
+        });
+      } catch (Exception e) {
+        log.error("Failed to flush chunk of {} {} like deltas", chunk.size(), target, e);
+        chunk.forEach(id -> failed.put(id, deltas.get(id)));
+        continue;
+      }
+      onCommitted.accept(chunk);
+    }
+    return failed;
+  }
+
+  /**
+   * Forgets the recorded chunks of a segment. Must only be called once the segment itself is
+   * deleted, otherwise a replay could apply its chunks again. Records that cannot be deleted are
+   * harmless: no other segment has the same id.
+   */
+  void forget(UUID segmentId) {
+    try {
+      jdbcTemplate.update(DELETE_CHUNKS, segmentId);
+    } catch (DataAccessException e) {
+      log.warn("Cannot forget like flush chunks of segment {}", segmentId, e);
+    }
+  }
+
+  /**
+   * Ids are written in chunks of consecutive ids, so an id inside the range of a recorded chunk
+   * was part of that chunk.
+   */
+  private static boolean isApplied(List<UUID[]> applied, UUID id) {
+    for (UUID[] range : applied) {
+      if (id.compareTo(range[0]) >= 0 && id.compareTo(range[1]) <= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isHeating(int delta) {
+    return heatThreshold > 0 && Math.abs(delta) >= heatThreshold;
+  }
+
+  /**
+   * The ids of a chunk that are marked hot, by this or any other node. Nothing is marked while
+   * sharding is disabled.
+   */
+  private Set<UUID> hotTargets(List<UUID> chunk) {
+    if (heatThreshold <= 0) {
+      return Set.of();
+    }
+    String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+    return new HashSet<>(jdbcTemplate.queryForList(HOT_TARGETS.formatted(placeholders),
+        UUID.class, chunk.toArray()));
+  }
+
+  /**
+   * Marks a target hot, or keeps it hot for another cool-down period. A concurrent insert of the
+   * same target by another node fails the chunk, which is then retried with the next flush.
+   */
+  private void heat(LikeTarget target, UUID id) {
+    Timestamp now = Timestamp.from(Instant.now());
+    if (jdbcTemplate.update(HEAT_TARGET, now, id) == 0) {
+      jdbcTemplate.update(INSERT_HOT_TARGET, id, target.name(), now);
+    }
+  }
+
+  /**
+   * Adds a delta to a random shard, creating the shard row if needed. A concurrent insert of the
+   * same shard by another node fails the chunk, which is then retried with the next flush.
+   */
+  private void addToShard(LikeTarget target, UUID id, int delta) {
+    int shard = ThreadLocalRandom.current().nextInt(shardCount);
+    if (jdbcTemplate.update(UPDATE_SHARD, delta, id, shard) == 0) {
+      jdbcTemplate.update(INSERT_SHARD, id, shard, target.name(), delta);
+    }
+  }
+}
@@ -0,0 +1,252 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background job that brings {@code like_counter} columns back in line with the rows in
+ * {@code post_likes} / {@code comment_likes}.
+ * <p>
+ * Every run checks one batch of {@code content.likes.reconcile.batch-size} posts and one of
+ * comments, walking them in id order from a cursor persisted in {@code reconciliation_cursors}.
+ * Counters (including their {@link LikeCounterShardEntity shards}) and like rows are read with one
+ * aggregate query each per batch; neither takes row locks.
+ * </p>
+ * <p>
+ * Likes whose delta is still buffered on some node make a counter look off for a few seconds, so
+ * a drift above {@code content.likes.reconcile.drift-threshold} is only remembered as suspect in
+ * {@code reconciliation_suspects}, written in one transaction with the cursor. It is corrected on
+ * the next run, on whichever node holds the lease then, if it is still there at the same level.
+ * Targets with deltas pending on this node are skipped. The correction is a single-row additive
+ * UPDATE, which does not overwrite concurrent flushes. Checked targets, corrections and the size
+ * of the corrected drift are exported under {@code content.likes.reconcile}.
+ * </p>
+ */
+@Component
+@Slf4j
+class LikeCounterReconciler {
+
+  private static final String LEASE = "like-counter-reconciliation";
+  private static final UUID START = new UUID(0, 0);
+  private static final String READ_CURSOR =
+      "SELECT last_id FROM reconciliation_cursors WHERE name = ?";
+  private static final String UPDATE_CURSOR =
+      "UPDATE reconciliation_cursors SET last_id = ? WHERE name = ?";
+  private static final String INSERT_CURSOR =
+      "INSERT INTO reconciliation_cursors (name, last_id) VALUES (?, ?)";
+  private static final String READ_SUSPECTS =
+      "SELECT target_id, drift FROM reconciliation_suspects WHERE name = ?";
+  private static final String DELETE_SUSPECTS =
+      "DELETE FROM reconciliation_suspects WHERE name = ?";
+  private static final String INSERT_SUSPECT =
+      "INSERT INTO reconciliation_suspects (name, target_id, drift) VALUES (?, ?, ?)";
+  private static final Map<LikeTarget, Queries> QUERIES = new EnumMap<>(Map.of(
+      LikeTarget.POST, new Queries(
+          "SELECT id FROM posts WHERE id > ? AND deleted_at IS NULL ORDER BY id LIMIT ?",
+          """
+              SELECT p.id, p.like_counter + (SELECT COALESCE(SUM(s.delta), 0)
+                FROM like_counter_shards s WHERE s.target_id = p.id) AS counted
+              FROM posts p
+              WHERE p.id IN (%s)""",
+          """
+              SELECT l.post_id AS id, COUNT(*) AS likes
+              FROM post_likes l
+              WHERE l.post_id IN (%s)
+              GROUP BY l.post_id""",
+          "UPDATE posts SET like_counter = like_counter + ? WHERE id = ?"),
+      LikeTarget.COMMENT, new Queries(
+          "SELECT id FROM comments WHERE id > ? ORDER BY id LIMIT ?",
+          """
+              SELECT c.id, c.like_counter + (SELECT COALESCE(SUM(s.delta), 0)
+                FROM like_counter_shards s WHERE s.target_id = c.id) AS counted
+              FROM comments c
+              WHERE c.id IN (%s)""",
+          """
+              SELECT l.comment_id AS id, COUNT(*) AS likes
+              FROM comment_likes l
+              WHERE l.comment_id IN (%s)
+              GROUP BY l.comment_id""",
+          "UPDATE comments SET like_counter = like_counter + ? WHERE id = ?")));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final LikeDeltaBuffer likeDeltaBuffer;
+  private final ClusterLeases clusterLeases;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final MeterRegistry meterRegistry;
+  private final int batchSize;
+  private final long driftThreshold;
+
+  LikeCounterReconciler(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+      LikeDeltaBuffer likeDeltaBuffer, ClusterLeases clusterLeases,
+      ApplicationEventPublisher applicationEventPublisher, MeterRegistry meterRegistry,
+      @Value("${content.likes.reconcile.batch-size:500}") int batchSize,
+      @Value("${content.likes.reconcile.drift-threshold:5}") long driftThreshold) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.likeDeltaBuffer = likeDeltaBuffer;
+    this.clusterLeases = clusterLeases;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.meterRegistry = meterRegistry;
+    this.batchSize = batchSize;
+    this.driftThreshold = driftThreshold;
+  }
+
+  @Scheduled(initialDelayString = "${content.likes.reconcile.interval-ms:30000}",
+      fixedDelayString = "${content.likes.reconcile.interval-ms:30000}")
+  public void reconcile() {
+    clusterLeases.runExclusively(LEASE, () -> {
+      for (LikeTarget target : LikeTarget.values()) {
+        reconcile(target);
+      }
+    });
+  }
+
+  private void reconcile(LikeTarget target) {
+    Queries queries = QUERIES.get(target);
+    String name = target.name();
+    Map<UUID, Long> previous = readSuspects(name);
+    Map<UUID, Long> confirmed = new HashMap<>();
+    measure(target, previous.keySet()).forEach((id, drift) -> {
+      if (exceedsThreshold(drift) && Math.abs(drift - previous.get(id)) <= driftThreshold) {
+        confirmed.put(id, drift);
+      }
+    });
+    correct(target, confirmed);
+
+    UUID cursor = readCursor(name);
+    List<UUID> ids = jdbcTemplate.queryForList(queries.idsAfter(), UUID.class, cursor, batchSize);
+    Map<UUID, Long> found = new HashMap<>();
+    measure(target, ids).forEach((id, drift) -> {
+      if (exceedsThreshold(drift)) {
+        found.put(id, drift);
+      }
+    });
+    UUID next = ids.size() < batchSize ? START : ids.getLast();
+    transactionTemplate.executeWithoutResult(status -> {
+      writeSuspects(name, found);
+      writeCursor(name, next);
+    });
+  }
+
+  /**
+   * @return Non-zero drift (stored likes minus counter) per target; targets with deltas pending on
+   * this node are left out.
+   */
+  private Map<UUID, Long> measure(LikeTarget target, Collection<UUID> ids) {
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    Queries queries = QUERIES.get(target);
+    String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+    Object[] args = ids.toArray();
+    Map<UUID, Long> counted = new HashMap<>();
+    jdbcTemplate.query(queries.counted().formatted(placeholders),
+        rs -> {
+          counted.put(rs.getObject("id", UUID.class), rs.getLong("counted"));
+        }, args);
+    Map<UUID, Long> stored = new HashMap<>();
+    jdbcTemplate.query(queries.stored().formatted(placeholders),
+        rs -> {
+          stored.put(rs.getObject("id", UUID.class), rs.getLong("likes"));
+        }, args);
+    checkedCounter(target).increment(counted.size());
+
+    Map<UUID, Long> drifts = new HashMap<>();
+    counted.forEach((id, value) -> {
+      long drift = stored.getOrDefault(id, 0L) - value;
+      if (drift != 0 && likeDeltaBuffer.pendingDelta(target, id) == 0) {
+        drifts.put(id, drift);
+      }
+    });
+    return drifts;
+  }
+
+  private void correct(LikeTarget target, Map<UUID, Long> drifts) {
+    if (drifts.isEmpty()) {
+      return;
+    }
+    DistributionSummary driftSummary = driftSummary(target);
+    drifts.forEach((id, drift) -> {
+      jdbcTemplate.update(QUERIES.get(target).correct(), drift, id);
+      driftSummary.record(Math.abs(drift));
+    });
+    correctedCounter(target).increment(drifts.size());
+    applicationEventPublisher.publishEvent(new LikeCountersFlushed(target, drifts.keySet()));
+    log.info("Corrected drifted like counters of {} {}(s)", drifts.size(), target);
+  }
+
+  private boolean exceedsThreshold(long drift) {
+    return Math.abs(drift) > driftThreshold;
+  }
+
+  private UUID readCursor(String name) {
+    return jdbcTemplate.queryForList(READ_CURSOR, UUID.class, name).stream()
+        .findFirst()
+        .orElse(START);
+  }
+
+  private Map<UUID, Long> readSuspects(String name) {
+    Map<UUID, Long> suspects = new HashMap<>();
+    jdbcTemplate.query(READ_SUSPECTS,
+        rs -> {
+          suspects.put(rs.getObject("target_id", UUID.class), rs.getLong("drift"));
+        }, name);
+    return suspects;
+  }
+
+  private void writeSuspects(String name, Map<UUID, Long> suspects) {
+    jdbcTemplate.update(DELETE_SUSPECTS, name);
+    if (!suspects.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_SUSPECT, suspects.entrySet().stream()
+          .map(suspect -> new Object[]{name, suspect.getKey(), suspect.getValue()})
+          .toList());
+    }
+  }
+
+  private void writeCursor(String name, UUID lastId) {
+    if (jdbcTemplate.update(UPDATE_CURSOR, lastId, name) == 0) {
+      jdbcTemplate.update(INSERT_CURSOR, name, lastId);
+    }
+  }
+
+  private Counter checkedCounter(LikeTarget target) {
+    return Counter.builder("content.likes.reconcile.checked")
+        .description("Like counters compared with the stored likes")
+        .tag("target", target.name())
+        .register(meterRegistry);
+  }
+
+  private Counter correctedCounter(LikeTarget target) {
+    return Counter.builder("content.likes.reconcile.corrected")
+        .description("Like counters corrected because they drifted from the stored likes")
+        .tag("target", target.name())
+        .register(meterRegistry);
+  }
+
+  private DistributionSummary driftSummary(LikeTarget target) {
+    return DistributionSummary.builder("content.likes.reconcile.drift")
+        .description("Absolute drift of corrected like counters")
+        .tag("target", target.name())
+        .register(meterRegistry);
+  }
+
+  private record Queries(String idsAfter, String counted, String stored, String correct) {
+
+  }
+}
@@ -0,0 +1,112 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically folds the {@link LikeCounterShardEntity shards} of hot posts and comments back into
+ * their {@code like_counter} column.
+ * <p>
+ * Each target is compacted in its own transaction: its shard rows are locked, their sum is added
+ * to the column and the locked rows are deleted. Readers add the shards to the column in the same
+ * statement, so they see the same total before and after. Shards created concurrently by another
+ * node are simply left for the next run. Only one node compacts at a time, see
+ * {@link ClusterLeases}.
+ * </p>
+ * <p>
+ * Afterwards it cools the {@link HotLikeTargetEntity hot targets} that have not reached the heat
+ * threshold for {@code content.likes.shards.cool-down}, so their deltas go to the
+ * {@code like_counter} column again. Shards written by a node that still saw such a target as hot
+ * are compacted by a later run.
+ * </p>
+ */
+@Component
+@Slf4j
+class LikeCounterShardCompactor {
+
+  private static final String SHARDED_TARGETS =
+      "SELECT DISTINCT target_id, target FROM like_counter_shards LIMIT ?";
+  private static final String LOCK_SHARDS =
+      "SELECT shard, delta FROM like_counter_shards WHERE target_id = ? FOR UPDATE";
+  private static final String UPDATE_POSTS =
+      "UPDATE posts SET like_counter = like_counter + ? WHERE id = ?";
+  private static final String UPDATE_COMMENTS =
+      "UPDATE comments SET like_counter = like_counter + ? WHERE id = ?";
+  private static final String DELETE_SHARDS =
+      "DELETE FROM like_counter_shards WHERE target_id = ? AND shard IN (%s)";
+  private static final String COOL_TARGETS = "DELETE FROM hot_like_targets WHERE heated_at < ?";
+  private static final String COMPACTION_LEASE = "like-counter-shard-compaction";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ClusterLeases clusterLeases;
+  private final int batchSize;
+  private final Duration coolDown;
+
+  LikeCounterShardCompactor(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+      ClusterLeases clusterLeases,
+      @Value("${content.likes.shards.compaction-batch-size:500}") int batchSize,
+      @Value("${content.likes.shards.cool-down:PT10M}") Duration coolDown) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.clusterLeases = clusterLeases;
+    this.batchSize = batchSize;
+    this.coolDown = coolDown;
+  }
+
+  @Scheduled(fixedDelayString = "${content.likes.shards.compaction-interval-ms:60000}")
+  public void compact() {
+    clusterLeases.runExclusively(COMPACTION_LEASE, this::compactBatch);
+  }
+
+  private void compactBatch() {
+    List<ShardedTarget> targets = jdbcTemplate.query(SHARDED_TARGETS,
+        (rs, rowNum) -> new ShardedTarget(LikeTarget.valueOf(rs.getString("target")),
+            rs.getObject("target_id", UUID.class)), batchSize);
+    for (ShardedTarget target : targets) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> compact(target));
+      } catch (Exception e) {
+        log.warn("Failed to compact like counter shards of {} {}", target.target(), target.id(), e);
+      }
+    }
+    int cooled = jdbcTemplate.update(COOL_TARGETS, Timestamp.from(Instant.now().minus(coolDown)));
+    if (cooled > 0) {
+      log.debug("Cooled {} hot like targets", cooled);
+    }
+  }
+
+  private void compact(ShardedTarget target) {
+    List<Object> shards = new ArrayList<>();
+    long[] sum = new long[1];
+    jdbcTemplate.query(LOCK_SHARDS, rs -> {
+      shards.add(rs.getInt("shard"));
+      sum[0] += rs.getLong("delta");
+    }, target.id());
+    if (shards.isEmpty()) {
+      return;
+    }
+    if (sum[0] != 0) {
+      jdbcTemplate.update(target.target() == LikeTarget.POST ? UPDATE_POSTS : UPDATE_COMMENTS,
+          sum[0], target.id());
+    }
+    String placeholders = String.join(", ", Collections.nCopies(shards.size(), "?"));
+    shards.addFirst(target.id());
+    jdbcTemplate.update(DELETE_SHARDS.formatted(placeholders), shards.toArray());
+  }
+
+  private record ShardedTarget(LikeTarget target, UUID id) {
+
+  }
+}
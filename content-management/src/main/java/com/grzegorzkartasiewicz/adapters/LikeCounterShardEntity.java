@@ -0,0 +1,62 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of several rows holding a part of the like counter of a hot post or comment.
+ * <p>
+ * The {@link LikeCounterBatchWriter} adds the deltas of hot targets to a random shard instead of
+ * the single {@code like_counter} column, so concurrent flushes of several nodes lock different
+ * rows. Reads add {@link #SUM_FOR_ID the sum of all shards} to the column, and the
+ * {@link LikeCounterShardCompactor} periodically folds the shards back into it.
+ * </p>
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "like_counter_shards")
+@NoArgsConstructor
+class LikeCounterShardEntity {
+
+  /**
+   * Sum of the shards of the row aliased as the current entity, for {@code @Formula} mappings.
+   */
+  static final String SUM_FOR_ID =
+      "(SELECT COALESCE(SUM(s.delta), 0) FROM like_counter_shards s WHERE s.target_id = id)";
+
+  @EmbeddedId
+  private Key key;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private LikeTarget target;
+
+  @Column(nullable = false)
+  private long delta;
+
+  /**
+   * Applies the sharded part of a counter to the value of its {@code like_counter} column.
+   */
+  static LikeCounter withShards(LikeCounter likeCounter, long shardedLikes) {
+    if (shardedLikes == 0 || likeCounter == null) {
+      return likeCounter;
+    }
+    return new LikeCounter((int) Math.max(0, likeCounter.likeCount() + shardedLikes));
+  }
+
+  @Embeddable
+  record Key(@Column(name = "target_id") UUID targetId, int shard) implements Serializable {
+
+  }
+}
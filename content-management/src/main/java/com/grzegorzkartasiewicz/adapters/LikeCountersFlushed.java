@@ -0,0 +1,14 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published after like counter deltas were committed to the database.
+ *
+ * @param target The kind of content whose counters changed.
+ * @param ids    Ids of the posts or comments whose counters changed.
+ */
+record LikeCountersFlushed(LikeTarget target, Set<UUID> ids) {
+
+}
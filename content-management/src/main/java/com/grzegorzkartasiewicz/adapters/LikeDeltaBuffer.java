@@ -0,0 +1,178 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory write-behind buffer of like counter deltas that have been accepted but not yet written
+ * to the {@code like_counter} columns.
+ * <p>
+ * Deltas are kept in two stages: <em>pending</em> deltas wait for the next flush, <em>in-flight</em>
+ * deltas were drained by a flush and are being written. Readers {@link #overlay overlay} both
+ * stages onto the counters loaded from the database, so a like is visible to the next read right
+ * away instead of after the next flush.
+ * </p>
+ * <p>
+ * Pending deltas are summed in a {@link DeltaAccumulator}, so threads liking the same viral post
+ * do not contend on one counter. Every accepted delta is appended to the {@link LikeDeltaLog} as
+ * part of the same accumulator update, and draining rotates the log while no update is in
+ * progress, so the sealed segment holds exactly the drained deltas. The accumulator moves the
+ * drained deltas to the in-flight stage atomically, so a reader never counts a delta twice.
+ * </p>
+ * <p>
+ * Each chunk of a drained batch leaves the in-flight stage as soon as it is committed. Chunks that
+ * fail stay in flight and are retried by the next flush; the sealed segment is only discarded
+ * once the whole batch is written, and segments left over by a crash are restored as batches.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class LikeDeltaBuffer {
+
+  private final LikeDeltaLog likeDeltaLog;
+
+  private final DeltaAccumulator<Key> pending = new DeltaAccumulator<>();
+  private final List<Drained> unfinished = new ArrayList<>();
+
+  /**
+   * Restores the deltas that were still buffered when the previous instance stopped. Every
+   * leftover log segment becomes an in-flight batch of its own, written by the next flush under
+   * the segment's id, so chunks it had already applied are not applied again.
+   */
+  @PostConstruct
+  synchronized void recover() {
+    long replayed = 0;
+    for (LikeDeltaLog.Segment segment : likeDeltaLog.leftovers()) {
+      Map<Key, Long> deltas = new HashMap<>();
+      replayed += likeDeltaLog.read(segment,
+          (target, id, delta) -> deltas.merge(new Key(target, id), (long) delta, Long::sum));
+      unfinished.add(new Drained(segment, pending.hold(deltas)));
+    }
+    if (!unfinished.isEmpty()) {
+      log.info("Replayed {} like deltas from {} log segment(s)", replayed, unfinished.size());
+    }
+  }
+
+  /**
+   * Accepts a delta: logs it and adds it to the pending stage.
+   */
+  void add(LikeTarget target, UUID id, int delta) {
+    pending.add(new Key(target, id), delta, () -> likeDeltaLog.append(target, id, delta));
+  }
+
+  /**
+   * Moves all pending deltas to the in-flight stage and seals the current log segment.
+   *
+   * @return The batches still to be written: those left unfinished by previous flushes, followed
+   * by the one drained now.
+   */
+  synchronized List<Drained> drain() {
+    LikeDeltaLog.Segment[] sealed = new LikeDeltaLog.Segment[1];
+    DeltaAccumulator.Batch<Key> batch = pending.drain(drained -> sealed[0] = likeDeltaLog.rotate());
+    unfinished.add(new Drained(sealed[0], batch));
+    return List.copyOf(unfinished);
+  }
+
+  /**
+   * Takes the deltas of a committed chunk out of the in-flight stage.
+   *
+   * @param target The kind of content the deltas belong to.
+   * @param ids    The posts or comments whose deltas were written.
+   */
+  void settle(Drained drained, LikeTarget target, Collection<UUID> ids) {
+    pending.release(drained.batch(), ids.stream().map(id -> new Key(target, id)).toList());
+  }
+
+  /**
+   * Deletes the log segment of a drained batch once all of its chunks were settled.
+   *
+   * @throws IllegalStateException if some deltas of the batch are still in flight.
+   */
+  synchronized void discard(Drained drained) {
+    if (!drained.isSettled()) {
+      throw new IllegalStateException("Cannot discard a batch with deltas in flight");
+    }
+    unfinished.remove(drained);
+    likeDeltaLog.discard(drained.segment());
+  }
+
+  /**
+   * Drops the deltas of deleted posts or comments. In-flight deltas are cancelled in the sealed
+   * segment of their batch and the pending sum with a compensating delta in the active one, so
+   * replaying the log after a crash nets to zero as well.
+   */
+  synchronized void forget(LikeTarget target, Collection<UUID> ids) {
+    Set<UUID> forgotten = Set.copyOf(ids);
+    List<Key> keys = forgotten.stream().map(id -> new Key(target, id)).toList();
+    for (Drained drained : unfinished) {
+      Map<UUID, Integer> inFlight = drained.deltas(target);
+      inFlight.keySet().retainAll(forgotten);
+      if (!inFlight.isEmpty()) {
+        likeDeltaLog.cancel(drained.segment(), target, inFlight);
+      }
+      pending.release(drained.batch(), keys);
+    }
+    for (Key key : keys) {
+      long pendingSum = pending.sum(key);
+      if (pendingSum != 0) {
+        add(target, key.id(), Math.toIntExact(-pendingSum));
+      }
+    }
+  }
+
+  /**
+   * @return The net delta accepted for a post or comment that is not yet in the database.
+   */
+  int pendingDelta(LikeTarget target, UUID id) {
+    return Math.toIntExact(pending.sum(new Key(target, id)));
+  }
+
+  /**
+   * Applies the not yet persisted delta to a counter read from the database.
+   */
+  LikeCounter overlay(LikeTarget target, UUID id, LikeCounter persisted) {
+    int delta = pendingDelta(target, id);
+    if (delta == 0 || persisted == null) {
+      return persisted;
+    }
+    return new LikeCounter(Math.max(0, persisted.likeCount() + delta));
+  }
+
+  record Key(LikeTarget target, UUID id) {
+
+  }
+
+  /**
+   * Deltas drained by one flush and the log segment that holds them.
+   */
+  record Drained(LikeDeltaLog.Segment segment, DeltaAccumulator.Batch<Key> batch) {
+
+    /**
+     * @return The deltas of a target that are still in flight.
+     */
+    Map<UUID, Integer> deltas(LikeTarget target) {
+      Map<UUID, Integer> deltas = new HashMap<>();
+      batch.deltas().forEach((key, delta) -> {
+        if (key.target() == target) {
+          deltas.put(key.id(), Math.toIntExact(delta));
+        }
+      });
+      return deltas;
+    }
+
+    boolean isSettled() {
+      return batch.isReleased();
+    }
+  }
+}
@@ -0,0 +1,324 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only write-ahead log for the like write-behind buffers.
+ * <p>
+ * Every delta accepted into the in-memory buffers of {@link PostLikeEventListener} is first
+ * appended here as a fixed-size record ({@code target | id | delta}). The log is split into
+ * segments: a flush {@link #rotate() rotates} to a fresh segment while the buffers are drained, so
+ * the sealed segment holds exactly the deltas of that flush and can be {@link #discard(Segment)
+ * discarded} once they are committed. Segments left behind by a crash are {@link #leftovers()
+ * read back} on startup and flushed like any other sealed segment. The only records added to a
+ * sealed segment are those {@link #cancel cancelling} deltas dropped while in flight.
+ * </p>
+ * <p>
+ * Every segment carries a random id in its file name. The {@link LikeCounterBatchWriter} records
+ * the chunks it commits under that id, so flushing a segment again after a crash skips the chunks
+ * that were already applied.
+ * </p>
+ * <p>
+ * Appends are batched off the hot path: an appender only queues its record and, unless another
+ * thread is already writing, becomes the writer and writes everything queued so far with one
+ * call. Appenders therefore never wait for each other's I/O, and under load one write carries
+ * many records. {@link #rotate()} writes what is still queued into the segment it seals.
+ * </p>
+ * <p>
+ * Writes only go to the OS page cache, which already survives a killed process; a scheduled
+ * group commit forces the active segment to disk to also cover host failures. A record whose
+ * write failed stays queued and is retried by the next append, sync or rotation; a rotation that
+ * cannot write it fails, so the drain it belongs to is retried as well.
+ * </p>
+ */
+@Component
+@Slf4j
+class LikeDeltaLog {
+
+  static final int RECORD_SIZE = Byte.BYTES + 2 * Long.BYTES + Integer.BYTES;
+  private static final int RECORDS_PER_WRITE = 1024;
+  private static final String SEGMENT_PREFIX = "likes-";
+  private static final String SEGMENT_SUFFIX = ".wal";
+
+  private final Path directory;
+  private final Queue<Record> queued = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean writing = new AtomicBoolean();
+  private final ByteBuffer batch = ByteBuffer.allocate(RECORD_SIZE * RECORDS_PER_WRITE);
+  private Segment active;
+  private FileChannel channel;
+  private boolean dirty;
+
+  LikeDeltaLog(
+      @Value("${content.likes.wal.directory:${java.io.tmpdir}/content-management/like-wal}") Path directory) {
+    this.directory = directory;
+    try {
+      Files.createDirectories(directory);
+      openSegment(nextSequence());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open like delta log in " + directory, e);
+    }
+  }
+
+  /**
+   * Appends a single delta to the active segment. Returns without waiting when another thread is
+   * already writing; that thread also writes this record.
+   */
+  void append(LikeTarget target, UUID id, int delta) {
+    queued.add(new Record(target, id, delta));
+    do {
+      if (!writing.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        writeQueued();
+      } catch (IOException e) {
+        log.error("Cannot append to like delta log {}, will retry", active.path(), e);
+        return;
+      } finally {
+        writing.set(false);
+      }
+    } while (!queued.isEmpty());
+  }
+
+  /**
+   * Seals the active segment and starts a new one. The caller must guarantee that no append runs
+   * concurrently, so that the sealed segment matches the drained buffers exactly.
+   *
+   * @return The sealed segment, to be discarded once its deltas are persisted.
+   */
+  synchronized Segment rotate() {
+    Segment sealed = active;
+    try {
+      writeQueued();
+      channel.force(false);
+      channel.close();
+      openSegment(sealed.sequence() + 1);
+      dirty = false;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot rotate like delta log " + sealed.path(), e);
+    }
+    return sealed;
+  }
+
+  /**
+   * Appends records cancelling the given deltas to a sealed segment and forces them to disk, so
+   * that replaying the segment no longer applies them.
+   */
+  void cancel(Segment sealed, LikeTarget target, Map<UUID, Integer> deltas) {
+    ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * deltas.size());
+    deltas.forEach((id, delta) -> put(records, new Record(target, id, -delta)));
+    records.flip();
+    try (FileChannel sealedChannel = FileChannel.open(sealed.path(), StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND)) {
+      while (records.hasRemaining()) {
+        sealedChannel.write(records);
+      }
+      sealedChannel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot append to like delta log " + sealed.path(), e);
+    }
+  }
+
+  /**
+   * Deletes a sealed segment whose deltas have been persisted or re-appended.
+   */
+  void discard(Segment sealed) {
+    delete(sealed.path());
+  }
+
+  /**
+   * @return The segments left over from a previous run, oldest first, if called before the first
+   * rotation. They stay on disk until they are {@link #discard discarded}.
+   */
+  List<Segment> leftovers() {
+    return listSegments().stream()
+        .filter(path -> !path.equals(active.path()))
+        .map(path -> new Segment(sequenceOf(path), idOf(path), path))
+        .toList();
+  }
+
+  /**
+   * Reads every complete record of a sealed segment.
+   *
+   * @return The number of records read.
+   */
+  long read(Segment segment, DeltaConsumer consumer) {
+    return readSegment(segment.path(), consumer);
+  }
+
+  /**
+   * Group commit: forces the active segment to disk if anything was appended since the last sync.
+   */
+  @Scheduled(fixedDelayString = "${content.likes.wal.sync-interval-ms:200}")
+  synchronized void sync() {
+    try {
+      writeQueued();
+      if (!dirty) {
+        return;
+      }
+      channel.force(false);
+      dirty = false;
+    } catch (IOException e) {
+      log.error("Cannot sync like delta log {}", active.path(), e);
+    }
+  }
+
+  @PreDestroy
+  synchronized void close() throws IOException {
+    try {
+      writeQueued();
+    } finally {
+      channel.force(false);
+      channel.close();
+    }
+  }
+
+  /**
+   * Writes the queued records to the active segment, up to {@link #RECORDS_PER_WRITE} per call.
+   * Bytes that could not be written stay in the batch buffer for the next attempt.
+   */
+  private synchronized void writeQueued() throws IOException {
+    while (true) {
+      Record next;
+      while (batch.remaining() >= RECORD_SIZE && (next = queued.poll()) != null) {
+        put(batch, next);
+      }
+      if (batch.position() == 0) {
+        return;
+      }
+      batch.flip();
+      try {
+        while (batch.hasRemaining()) {
+          channel.write(batch);
+        }
+        dirty = true;
+      } finally {
+        batch.compact();
+      }
+    }
+  }
+
+  private static void put(ByteBuffer buffer, Record record) {
+    buffer.put((byte) record.target().ordinal())
+        .putLong(record.id().getMostSignificantBits())
+        .putLong(record.id().getLeastSignificantBits())
+        .putInt(record.delta());
+  }
+
+  private long readSegment(Path segment, DeltaConsumer consumer) {
+    LikeTarget[] targets = LikeTarget.values();
+    long count = 0;
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+      while (channel.read(buffer) > 0 || buffer.position() > 0) {
+        buffer.flip();
+        while (buffer.remaining() >= RECORD_SIZE) {
+          int ordinal = buffer.get();
+          UUID id = new UUID(buffer.getLong(), buffer.getLong());
+          int delta = buffer.getInt();
+          if (ordinal < 0 || ordinal >= targets.length) {
+            log.warn("Corrupted record in like delta log {}, skipping rest of segment", segment);
+            return count;
+          }
+          consumer.accept(targets[ordinal], id, delta);
+          count++;
+        }
+        if (buffer.hasRemaining() && channel.position() == channel.size()) {
+          log.warn("Ignoring torn record at the end of like delta log {}", segment);
+          break;
+        }
+        buffer.compact();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot replay like delta log " + segment, e);
+    }
+    return count;
+  }
+
+  private void openSegment(long sequence) throws IOException {
+    UUID id = UUID.randomUUID();
+    Path path = directory.resolve(
+        SEGMENT_PREFIX + String.format("%019d", sequence) + "-" + id + SEGMENT_SUFFIX);
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+    active = new Segment(sequence, id, path);
+  }
+
+  private long nextSequence() {
+    return listSegments().stream()
+        .mapToLong(LikeDeltaLog::sequenceOf)
+        .max()
+        .orElse(0) + 1;
+  }
+
+  private List<Path> listSegments() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+          })
+          .sorted(Comparator.comparingLong(LikeDeltaLog::sequenceOf))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot list like delta log segments in " + directory, e);
+    }
+  }
+
+  private static void delete(Path segment) {
+    try {
+      Files.deleteIfExists(segment);
+    } catch (IOException e) {
+      log.warn("Cannot delete like delta log segment {}", segment, e);
+    }
+  }
+
+  private static long sequenceOf(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.indexOf('-',
+        SEGMENT_PREFIX.length())));
+  }
+
+  private static UUID idOf(Path segment) {
+    String name = segment.getFileName().toString();
+    return UUID.fromString(name.substring(name.indexOf('-', SEGMENT_PREFIX.length()) + 1,
+        name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private record Record(LikeTarget target, UUID id, int delta) {
+
+  }
+
+  /**
+   * A log segment, identified by its position in the log and by an id that is unique across
+   * nodes.
+   */
+  record Segment(long sequence, UUID id, Path path) {
+
+  }
+
+  @FunctionalInterface
+  interface DeltaConsumer {
+
+    void accept(LikeTarget target, UUID id, int delta);
+  }
+}
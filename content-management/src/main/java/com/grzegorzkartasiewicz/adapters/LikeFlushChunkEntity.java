@@ -0,0 +1,44 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * A chunk of like deltas that the {@link LikeCounterBatchWriter} has applied, recorded in the same
+ * transaction as the counter updates.
+ * <p>
+ * A chunk is identified by the {@link LikeDeltaLog} segment it was drained from and by the range
+ * of ids it covered. When a segment is flushed again after a crash, ids inside a recorded range
+ * are skipped instead of being counted twice. The rows of a segment are deleted after the segment
+ * itself.
+ * </p>
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "like_flush_chunks")
+@NoArgsConstructor
+class LikeFlushChunkEntity {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "last_id", nullable = false)
+  private UUID lastId;
+
+  @Embeddable
+  record Key(@Column(name = "segment_id") UUID segmentId,
+             @Enumerated(EnumType.STRING) LikeTarget target,
+             @Column(name = "first_id") UUID firstId) implements Serializable {
+
+  }
+}
@@ -0,0 +1,174 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Probabilistic "has this user already liked this content" check placed in front of the
+ * {@code post_likes} / {@code comment_likes} lookups.
+ * <p>
+ * One {@link BloomFilter} is kept per post or comment and warmed lazily from the database the
+ * first time it is needed. A negative answer is definite, so the caller can skip the SELECT and
+ * insert directly (the unique constraint still guards against races with other nodes). A positive
+ * answer may be false and must be confirmed against the database.
+ * </p>
+ * <p>
+ * Memory is bounded by {@code content.likes.filter.max-targets}; when full, the least recently
+ * used filter is evicted and simply warmed again later. A filter that received more likes than it
+ * was sized for is dropped and rebuilt larger. Warming reads at most
+ * {@code content.likes.filter.max-warm-likers} likers; a target with more likes than that is not
+ * filtered at all and always goes to the database.
+ * </p>
+ * <p>
+ * Filters are local to this node and only learn about likes handled here; nothing is invalidated
+ * across nodes. A like stored by another node can therefore get a negative answer, in which case
+ * the direct insert hits the unique constraint and the like is ignored as a duplicate, as for any
+ * race. Unlikes are not removed from the filters either; they only cause a database lookup.
+ * </p>
+ */
+@Component
+class LikeMembershipFilter {
+
+  private static final int MIN_CAPACITY = 1024;
+
+  private final PostLikeRepository postLikeRepository;
+  private final CommentLikeRepository commentLikeRepository;
+  private final int maxTargets;
+  private final int maxWarmLikers;
+  private final double falsePositiveRate;
+  private final ConcurrentHashMap<UUID, Entry> filters = new ConcurrentHashMap<>();
+
+  private final Counter negatives;
+  private final Counter positives;
+  private final Counter unfiltered;
+  private final Counter falsePositives;
+
+  LikeMembershipFilter(PostLikeRepository postLikeRepository,
+      CommentLikeRepository commentLikeRepository, MeterRegistry meterRegistry,
+      @Value("${content.likes.filter.max-targets:10000}") int maxTargets,
+      @Value("${content.likes.filter.max-warm-likers:100000}") int maxWarmLikers,
+      @Value("${content.likes.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.postLikeRepository = postLikeRepository;
+    this.commentLikeRepository = commentLikeRepository;
+    this.maxTargets = maxTargets;
+    this.maxWarmLikers = maxWarmLikers;
+    this.falsePositiveRate = falsePositiveRate;
+    this.negatives = lookupCounter(meterRegistry, "negative");
+    this.positives = lookupCounter(meterRegistry, "positive");
+    this.unfiltered = lookupCounter(meterRegistry, "unfiltered");
+    this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+  }
+
+  /**
+   * @return {@code false} if the liker has definitely not liked the target yet, {@code true} if
+   * the database has to be asked.
+   */
+  boolean mightHaveLiked(LikeTarget target, UUID targetId, UUID likerId) {
+    BloomFilter filter = entryFor(target, targetId).filter();
+    if (filter == null) {
+      unfiltered.increment();
+      return true;
+    }
+    boolean mightContain = filter.mightContain(likerId);
+    (mightContain ? positives : negatives).increment();
+    return mightContain;
+  }
+
+  /**
+   * Records that a positive answer turned out to be wrong after checking the database.
+   */
+  void recordFalsePositive() {
+    falsePositives.increment();
+  }
+
+  /**
+   * Registers a like that is now stored in the database.
+   */
+  void remember(LikeTarget target, UUID targetId, UUID likerId) {
+    Entry entry = entryFor(target, targetId);
+    if (entry.filter() == null) {
+      return;
+    }
+    entry.filter().put(likerId);
+    if (entry.filter().isSaturated()) {
+      filters.remove(targetId, entry);
+    }
+  }
+
+  private Entry entryFor(LikeTarget target, UUID targetId) {
+    Entry entry = filters.get(targetId);
+    if (entry == null) {
+      evictIfFull();
+      entry = filters.computeIfAbsent(targetId, id -> warm(target, id));
+    }
+    entry.lastUsed = System.nanoTime();
+    return entry;
+  }
+
+  private Entry warm(LikeTarget target, UUID targetId) {
+    Pageable bound = PageRequest.of(0, maxWarmLikers + 1);
+    List<UUID> likers = target == LikeTarget.POST
+        ? postLikeRepository.findLikerIdsByPostId(targetId, bound)
+        : commentLikeRepository.findLikerIdsByCommentId(targetId, bound);
+    if (likers.size() > maxWarmLikers) {
+      return new Entry(null);
+    }
+    BloomFilter filter = new BloomFilter(Math.max(MIN_CAPACITY, likers.size() * 2),
+        falsePositiveRate);
+    likers.forEach(filter::put);
+    return new Entry(filter);
+  }
+
+  /**
+   * Evicts the least recently used filter. The scan is linear in the number of filters, which is
+   * small next to the database query of the warm it precedes.
+   */
+  private void evictIfFull() {
+    while (filters.size() >= maxTargets) {
+      UUID eldest = null;
+      long eldestUse = Long.MAX_VALUE;
+      for (Map.Entry<UUID, Entry> candidate : filters.entrySet()) {
+        if (eldest == null || candidate.getValue().lastUsed - eldestUse < 0) {
+          eldest = candidate.getKey();
+          eldestUse = candidate.getValue().lastUsed;
+        }
+      }
+      if (eldest == null) {
+        return;
+      }
+      filters.remove(eldest);
+    }
+  }
+
+  /**
+   * The filter of one target, or {@code null} if the target has too many likes to be filtered.
+   */
+  private static final class Entry {
+
+    private final BloomFilter filter;
+    private volatile long lastUsed = System.nanoTime();
+
+    private Entry(BloomFilter filter) {
+      this.filter = filter;
+    }
+
+    BloomFilter filter() {
+      return filter;
+    }
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("content.likes.membership.lookups")
+        .description("Like membership filter answers")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,141 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.PostAction;
+import com.grzegorzkartasiewicz.domain.PostChangedEvent;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Folds like and unlike {@link PostChangedEvent}s of the same (post or comment, actor, recipient)
+ * into at most one event.
+ * <p>
+ * A like toggle is held until no further toggle arrived for {@code window}, or at most
+ * {@code maxDelay} after the first one. It is then released as a single event, and only if the
+ * like state changed: the state before the first toggle is the opposite of the first action, the
+ * state after is given by the last one. Liking and unliking any number of times therefore yields
+ * one like, one unlike or nothing. Other actions are not held, and neither are toggles beyond
+ * {@code maxPending} held keys.
+ * </p>
+ */
+class LikeNotificationCoalescer {
+
+  private final Duration window;
+  private final Duration maxDelay;
+  private final int maxPending;
+  private final Clock clock;
+  private final Map<Key, Pending> pending = new HashMap<>();
+
+  LikeNotificationCoalescer(Duration window, Duration maxDelay, int maxPending, Clock clock) {
+    this.window = window;
+    this.maxDelay = maxDelay;
+    this.maxPending = maxPending;
+    this.clock = clock;
+  }
+
+  /**
+   * @return {@code true} if the event is a like toggle, the only kind of event that can be held.
+   */
+  static boolean isToggle(PostChangedEvent event) {
+    return likedAfter(event.action()) != null;
+  }
+
+  /**
+   * @return {@code true} if the event is held and must not be published now.
+   */
+  synchronized boolean offer(PostChangedEvent event) {
+    Boolean liked = likedAfter(event.action());
+    if (liked == null) {
+      return false;
+    }
+    Key key = new Key(event.postId(), event.commentId().orElse(null), event.actorId(),
+        event.recipientId());
+    Instant now = clock.instant();
+    Pending held = pending.get(key);
+    if (held == null) {
+      if (pending.size() >= maxPending) {
+        return false;
+      }
+      pending.put(key, new Pending(!liked, liked, now, now));
+    } else {
+      pending.put(key, new Pending(held.likedBefore(), liked, held.firstSeen(), now));
+    }
+    return true;
+  }
+
+  /**
+   * Releases the keys whose window or maximum delay has elapsed.
+   *
+   * @return The resulting events, without the keys whose toggles cancelled out.
+   */
+  synchronized List<PostChangedEvent> drainDue() {
+    Instant now = clock.instant();
+    return drain(held -> !held.lastSeen().plus(window).isAfter(now)
+        || !held.firstSeen().plus(maxDelay).isAfter(now));
+  }
+
+  /**
+   * Releases all held keys, e.g. on shutdown.
+   */
+  synchronized List<PostChangedEvent> drainAll() {
+    return drain(held -> true);
+  }
+
+  synchronized int pendingCount() {
+    return pending.size();
+  }
+
+  private List<PostChangedEvent> drain(Predicate<Pending> due) {
+    List<PostChangedEvent> events = new ArrayList<>();
+    Iterator<Map.Entry<Key, Pending>> iterator = pending.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Key, Pending> entry = iterator.next();
+      Pending held = entry.getValue();
+      if (!due.test(held)) {
+        continue;
+      }
+      iterator.remove();
+      if (held.likedBefore() != held.likedAfter()) {
+        events.add(entry.getKey().toEvent(held.likedAfter()));
+      }
+    }
+    return events;
+  }
+
+  /**
+   * @return The like state after the action, or {@code null} if the action is not a like toggle.
+   */
+  private static Boolean likedAfter(PostAction action) {
+    return switch (action) {
+      case POST_LIKED, COMMENT_LIKED -> true;
+      case POST_UNLIKED, COMMENT_UNLIKED -> false;
+      default -> null;
+    };
+  }
+
+  private record Key(PostId postId, CommentId commentId, AuthorId actorId, AuthorId recipientId) {
+
+    PostChangedEvent toEvent(boolean liked) {
+      PostAction action = commentId == null
+          ? (liked ? PostAction.POST_LIKED : PostAction.POST_UNLIKED)
+          : (liked ? PostAction.COMMENT_LIKED : PostAction.COMMENT_UNLIKED);
+      return new PostChangedEvent(postId, Optional.ofNullable(commentId), actorId, recipientId,
+          action);
+    }
+  }
+
+  private record Pending(boolean likedBefore, boolean likedAfter, Instant firstSeen,
+                         Instant lastSeen) {
+
+  }
+}
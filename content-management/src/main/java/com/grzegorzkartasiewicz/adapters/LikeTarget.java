@@ -0,0 +1,9 @@
+package com.grzegorzkartasiewicz.adapters;
+
+/**
+ * Kind of content a buffered like delta applies to.
+ */
+enum LikeTarget {
+  POST,
+  COMMENT
+}
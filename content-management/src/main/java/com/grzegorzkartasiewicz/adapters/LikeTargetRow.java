@@ -0,0 +1,18 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.LikeTargetSnapshot;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+
+/**
+ * Author and like counter of a post or comment as read by {@link SqlPostRepository}, with the
+ * counter still split into its column value and the sum of its
+ * {@link LikeCounterShardEntity shards}.
+ */
+record LikeTargetRow(AuthorId authorId, LikeCounter likeCounter, long shardedLikes) {
+
+  LikeTargetSnapshot toSnapshot() {
+    return new LikeTargetSnapshot(authorId,
+        LikeCounterShardEntity.withShards(likeCounter, shardedLikes));
+  }
+}
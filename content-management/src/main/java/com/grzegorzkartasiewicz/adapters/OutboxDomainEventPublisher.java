@@ -0,0 +1,77 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.DomainEvent;
+import com.grzegorzkartasiewicz.domain.DomainEventPublisher;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Publishes domain events through the {@code outbox_events} table (transactional outbox).
+ * <p>
+ * Events published inside a transaction are collected and inserted in one JDBC batch right before
+ * it commits, so they are stored if and only if the changes that produced them are. Outside a
+ * transaction an event is inserted right away. The {@link OutboxRelay} delivers the stored events
+ * to the listeners as {@link DeliveredEvent}s. Services publish through the
+ * {@link CoalescingDomainEventPublisher} in front of it.
+ * </p>
+ */
+@Service
+class OutboxDomainEventPublisher implements DomainEventPublisher {
+
+  private static final String INSERT = """
+      INSERT INTO outbox_events (event_id, event_type, payload, created_at)
+      VALUES (?, ?, ?, ?)""";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  OutboxDomainEventPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void publish(DomainEvent event) {
+    Object[] row = {UUID.randomUUID(), event.getClass().getName(),
+        objectMapper.writeValueAsString(event), Timestamp.from(Instant.now())};
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      jdbcTemplate.update(INSERT, row);
+      return;
+    }
+    pendingRows().add(row);
+  }
+
+  /**
+   * @return Rows to insert before the current transaction commits.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Object[]> pendingRows() {
+    List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+    if (rows != null) {
+      return rows;
+    }
+    List<Object[]> newRows = new ArrayList<>();
+    TransactionSynchronizationManager.bindResource(this, newRows);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        jdbcTemplate.batchUpdate(INSERT, newRows);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(
+            OutboxDomainEventPublisher.this);
+      }
+    });
+    return newRows;
+  }
+}
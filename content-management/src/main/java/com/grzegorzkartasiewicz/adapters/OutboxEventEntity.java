@@ -0,0 +1,47 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * A domain event stored by the {@link OutboxDomainEventPublisher} in the transaction that produced
+ * it, until the {@link OutboxRelay} has delivered it. {@code claimed_by} / {@code claimed_until}
+ * mark the relay run currently delivering the event.
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+class OutboxEventEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "event_id", nullable = false, unique = true)
+  private UUID eventId;
+
+  @Column(name = "event_type", nullable = false)
+  private String eventType;
+
+  @Column(nullable = false, length = 4000)
+  private String payload;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "claimed_by")
+  private UUID claimedBy;
+
+  @Column(name = "claimed_until")
+  private Instant claimedUntil;
+}
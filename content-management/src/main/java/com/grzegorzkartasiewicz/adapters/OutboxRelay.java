@@ -0,0 +1,255 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Delivers the events stored by the {@link OutboxDomainEventPublisher} to the listeners, at least
+ * once.
+ * <p>
+ * Every {@code content.events.outbox.poll-interval-ms} the relay claims up to
+ * {@code content.events.outbox.batch-size} undelivered events, oldest first, with a single UPDATE
+ * that stamps them with a claim id and a deadline of {@code content.events.outbox.claim-duration}.
+ * The UPDATE only takes rows that are unclaimed or whose claim expired, so relays of several nodes
+ * never claim the same row twice, without relying on {@code SKIP LOCKED} support of the database.
+ * While batches come back full the relay keeps claiming, so a backlog is worked off without waiting
+ * for the next poll.
+ * </p>
+ * <p>
+ * Each event of a batch is published as a {@link DeliveredEvent} on the bounded event executor
+ * (see {@link EventExecutorConfiguration}); the relay waits for the batch and deletes the events
+ * whose listeners returned. Events whose listeners threw, that the executor rejected, that are not
+ * handled within half the claim duration, or whose node died, are redelivered once their claim
+ * expires, so listeners must be idempotent or use {@link ConsumedEvents} and must let failures
+ * propagate. Events that cannot be read back are logged and dropped.
+ * </p>
+ * <p>
+ * The relay polls on a scheduler of its own (see {@link SchedulingConfiguration}), so waiting for
+ * a batch never delays other background jobs. It stops in a phase before the
+ * {@link LikeBufferDrainer}, after finishing its current batch. Delivered events and the delay
+ * between storing and delivering them are exported under {@code content.events.outbox}.
+ * </p>
+ */
+@Component
+@Slf4j
+class OutboxRelay implements SmartLifecycle {
+
+  private static final String CLAIM = """
+      UPDATE outbox_events SET claimed_by = ?, claimed_until = ?
+      WHERE id IN (SELECT id FROM outbox_events
+          WHERE claimed_until IS NULL OR claimed_until < ?
+          ORDER BY id LIMIT ?)
+        AND (claimed_until IS NULL OR claimed_until < ?)""";
+  private static final String READ_CLAIMED = """
+      SELECT id, event_id, event_type, payload, created_at FROM outbox_events
+      WHERE claimed_by = ?
+      ORDER BY id""";
+  private static final String DELETE = "DELETE FROM outbox_events WHERE id IN (%s)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final ExecutorService eventProcessingExecutor;
+  private final int batchSize;
+  private final Duration claimDuration;
+  private final Counter deliveredCounter;
+  private final Timer deliveryDelay;
+
+  private final Map<String, Class<? extends DomainEvent>> eventTypes = new ConcurrentHashMap<>();
+  private final ReentrantLock relaying = new ReentrantLock();
+  private volatile boolean running;
+
+  OutboxRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+      ApplicationEventPublisher applicationEventPublisher,
+      @Qualifier(EventExecutorConfiguration.EVENT_PROCESSING_EXECUTOR)
+      ExecutorService eventProcessingExecutor, MeterRegistry meterRegistry,
+      @Value("${content.events.outbox.batch-size:500}") int batchSize,
+      @Value("${content.events.outbox.claim-duration:PT30S}") Duration claimDuration) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.eventProcessingExecutor = eventProcessingExecutor;
+    this.batchSize = batchSize;
+    this.claimDuration = claimDuration;
+    this.deliveredCounter = Counter.builder("content.events.outbox.delivered")
+        .description("Outbox events delivered to the listeners")
+        .register(meterRegistry);
+    this.deliveryDelay = Timer.builder("content.events.outbox.delay")
+        .description("Time between storing an outbox event and delivering it")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${content.events.outbox.poll-interval-ms:50}",
+      scheduler = SchedulingConfiguration.OUTBOX_RELAY_SCHEDULER)
+  public void poll() {
+    if (running) {
+      relay();
+    }
+  }
+
+  /**
+   * Delivers stored events until a claimed batch is not full.
+   *
+   * @return The number of delivered events.
+   */
+  int relay() {
+    relaying.lock();
+    try {
+      int delivered = 0;
+      int claimed;
+      do {
+        Batch batch = relayBatch();
+        claimed = batch.claimed();
+        delivered += batch.delivered();
+      } while (claimed == batchSize && running);
+      return delivered;
+    } finally {
+      relaying.unlock();
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    relaying.lock();
+    relaying.unlock();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return LikeBufferDrainer.PHASE + 1;
+  }
+
+  private Batch relayBatch() {
+    UUID claimId = UUID.randomUUID();
+    Instant now = Instant.now();
+    Timestamp claimableBefore = Timestamp.from(now);
+    int claimed = jdbcTemplate.update(CLAIM, claimId, Timestamp.from(now.plus(claimDuration)),
+        claimableBefore, batchSize, claimableBefore);
+    if (claimed == 0) {
+      return new Batch(0, 0);
+    }
+    List<StoredEvent> events = jdbcTemplate.query(READ_CLAIMED,
+        (rs, rowNum) -> new StoredEvent(rs.getLong("id"), rs.getObject("event_id", UUID.class),
+            rs.getString("event_type"), rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant()),
+        claimId);
+    Map<Long, CompletableFuture<Void>> deliveries = LinkedHashMap.newLinkedHashMap(events.size());
+    for (StoredEvent event : events) {
+      deliveries.put(event.id(), submit(event));
+    }
+    List<Long> delivered = awaitDeliveries(deliveries);
+    if (!delivered.isEmpty()) {
+      jdbcTemplate.update(
+          DELETE.formatted(String.join(", ", Collections.nCopies(delivered.size(), "?"))),
+          delivered.toArray());
+      deliveredCounter.increment(delivered.size());
+    }
+    return new Batch(claimed, delivered.size());
+  }
+
+  /**
+   * Hands the event to the executor. A rejected event fails right away and stays claimed, so it is
+   * redelivered once its claim expires instead of holding up the batch.
+   */
+  private CompletableFuture<Void> submit(StoredEvent event) {
+    try {
+      return CompletableFuture.runAsync(() -> deliver(event), eventProcessingExecutor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void deliver(StoredEvent stored) {
+    DomainEvent event;
+    try {
+      event = objectMapper.readValue(stored.payload(), eventType(stored.type()));
+    } catch (JacksonException | ClassNotFoundException e) {
+      log.error("Dropping outbox event {} of type {} that cannot be read", stored.eventId(),
+          stored.type(), e);
+      return;
+    }
+    applicationEventPublisher.publishEvent(new DeliveredEvent<>(stored.eventId(), event));
+    deliveryDelay.record(Duration.between(stored.createdAt(), Instant.now()));
+  }
+
+  /**
+   * @return Ids of the events whose listeners returned within half the claim duration.
+   */
+  private List<Long> awaitDeliveries(Map<Long, CompletableFuture<Void>> deliveries) {
+    try {
+      CompletableFuture.allOf(deliveries.values().toArray(CompletableFuture[]::new))
+          .get(claimDuration.toMillis() / 2, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      log.warn("Not all outbox events of the batch were delivered, they will be redelivered", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return deliveries.entrySet().stream()
+        .filter(delivery -> delivery.getValue().isDone()
+            && !delivery.getValue().isCompletedExceptionally())
+        .map(Map.Entry::getKey)
+        .toList();
+  }
+
+  private Class<? extends DomainEvent> eventType(String type) throws ClassNotFoundException {
+    Class<? extends DomainEvent> eventType = eventTypes.get(type);
+    if (eventType != null) {
+      return eventType;
+    }
+    Class<?> loaded = Class.forName(type);
+    if (!DomainEvent.class.isAssignableFrom(loaded)) {
+      throw new ClassNotFoundException(type + " is not a domain event");
+    }
+    eventType = loaded.asSubclass(DomainEvent.class);
+    eventTypes.put(type, eventType);
+    return eventType;
+  }
+
+  private record StoredEvent(long id, UUID eventId, String type, String payload,
+                             Instant createdAt) {
+
+  }
+
+  private record Batch(int claimed, int delivered) {
+
+  }
+}
@@ -2,29 +2,42 @@ package com.grzegorzkartasiewicz.adapters;
 
 import com.grzegorzkartasiewicz.app.CommentCreationRequest;
 import com.grzegorzkartasiewicz.app.CommentDeleteRequest;
+import com.grzegorzkartasiewicz.app.CommentPage;
 import com.grzegorzkartasiewicz.app.CommentUpdateRequest;
+import com.grzegorzkartasiewicz.app.LikeAck;
+import com.grzegorzkartasiewicz.app.LikedPostsRequest;
+import com.grzegorzkartasiewicz.app.LikerPage;
+import com.grzegorzkartasiewicz.app.PostBatchGetRequest;
 import com.grzegorzkartasiewicz.app.PostCreationRequest;
 import com.grzegorzkartasiewicz.app.PostDeleteRequest;
+import com.grzegorzkartasiewicz.app.PostPage;
+import com.grzegorzkartasiewicz.app.PostQueryService;
 import com.grzegorzkartasiewicz.app.PostResponse;
 import com.grzegorzkartasiewicz.app.PostService;
 import com.grzegorzkartasiewicz.app.PostUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.net.URI;
 import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -33,7 +46,14 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Posts", description = "Endpoints for managing posts and comments")
 class PostController {
 
+  private static final String COMPACT_VIEW = "view=compact";
+
+  private static final String DEFAULT_COMMENTS_LIMIT = "20";
+  private static final String DEFAULT_POSTS_LIMIT = "20";
+  private static final String DEFAULT_LIKERS_LIMIT = "20";
+
   private final PostService postService;
+  private final PostQueryService postQueryService;
 
   @Operation(summary = "Add a new post",
       description = "Creates a new post based on the provided data.",
@@ -43,9 +63,11 @@ class PostController {
           @ApiResponse(responseCode = "400", description = "Invalid input data")
       })
   @PostMapping
-  ResponseEntity<PostResponse> addPost(@RequestBody PostCreationRequest postCreationRequest) {
+  ResponseEntity<PostResponse> addPost(@RequestBody PostCreationRequest postCreationRequest,
+      @RequestParam(required = false) Integer commentsLimit) {
     PostResponse response = postService.addPost(postCreationRequest);
-    return ResponseEntity.created(URI.create("/posts/" + response.id())).body(response);
+    return ResponseEntity.created(URI.create("/posts/" + response.id()))
+        .body(firstComments(response, commentsLimit));
   }
 
   @Operation(summary = "Update an existing post",
@@ -59,11 +81,13 @@ class PostController {
       })
   @PutMapping("/{postId}")
   ResponseEntity<PostResponse> updatePost(@PathVariable UUID postId,
-      @RequestBody PostUpdateRequest postUpdateRequest) {
+      @RequestBody PostUpdateRequest postUpdateRequest,
+      @RequestParam(required = false) Integer commentsLimit) {
     if (!postId.equals(postUpdateRequest.id())) {
       return ResponseEntity.badRequest().build();
     }
-    return ResponseEntity.ok(postService.updatePost(postUpdateRequest));
+    return ResponseEntity.ok(
+        firstComments(postService.updatePost(postUpdateRequest), commentsLimit));
   }
 
   @Operation(summary = "Delete a post",
@@ -93,11 +117,13 @@ class PostController {
       })
   @PostMapping("/{postId}/comments")
   ResponseEntity<PostResponse> addComment(@PathVariable UUID postId,
-      @RequestBody CommentCreationRequest commentCreationRequest) {
+      @RequestBody CommentCreationRequest commentCreationRequest,
+      @RequestParam(required = false) Integer commentsLimit) {
     if (!postId.equals(commentCreationRequest.postId())) {
       return ResponseEntity.badRequest().build();
     }
-    return ResponseEntity.ok(postService.addComment(commentCreationRequest));
+    return ResponseEntity.ok(
+        firstComments(postService.addComment(commentCreationRequest), commentsLimit));
   }
 
   @Operation(summary = "Edit a comment on a post",
@@ -111,12 +137,14 @@ class PostController {
       })
   @PutMapping("/{postId}/comments/{commentId}")
   ResponseEntity<PostResponse> editComment(@PathVariable UUID postId, @PathVariable UUID commentId,
-      @RequestBody CommentUpdateRequest commentUpdateRequest) {
+      @RequestBody CommentUpdateRequest commentUpdateRequest,
+      @RequestParam(required = false) Integer commentsLimit) {
     if (!postId.equals(commentUpdateRequest.postId()) || !commentId.equals(
         commentUpdateRequest.commentId())) {
       return ResponseEntity.badRequest().build();
     }
-    return ResponseEntity.ok(postService.editComment(commentUpdateRequest));
+    return ResponseEntity.ok(
+        firstComments(postService.editComment(commentUpdateRequest), commentsLimit));
   }
 
   @Operation(summary = "Remove a comment from a post",
@@ -137,32 +165,200 @@ class PostController {
     return ResponseEntity.noContent().build();
   }
 
+  @Operation(summary = "Get a post",
+      description = "Returns a post with its first page of comments. Fetch further comments from "
+          + "/posts/{postId}/comments with the id of the last returned comment as 'after'.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Post returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponse.class))),
+          @ApiResponse(responseCode = "404", description = "Post not found")
+      })
+  @GetMapping("/{postId}")
+  ResponseEntity<PostResponse> getPost(@PathVariable UUID postId,
+      @RequestParam(defaultValue = DEFAULT_COMMENTS_LIMIT) int commentsLimit) {
+    return ResponseEntity.ok(postService.getPost(postId, commentsLimit));
+  }
+
+  @Operation(summary = "Get several posts",
+      description = "Returns the posts with the given ids (at most "
+          + PostService.MAX_BATCH_GET_IDS + ") in request order. Missing posts are skipped.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Posts returned successfully",
+              content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = PostResponse.class)))),
+          @ApiResponse(responseCode = "400", description = "Too many ids")
+      })
+  @PostMapping("/batch-get")
+  ResponseEntity<List<PostResponse>> batchGetPosts(
+      @RequestBody PostBatchGetRequest postBatchGetRequest,
+      @RequestParam(required = false) Integer commentsLimit) {
+    if (postBatchGetRequest.ids() == null
+        || postBatchGetRequest.ids().size() > PostService.MAX_BATCH_GET_IDS) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(postService.getPosts(postBatchGetRequest).stream()
+        .map(response -> firstComments(response, commentsLimit))
+        .toList());
+  }
+
+  @Operation(summary = "Get posts of an author",
+      description = "Returns one page of an author's posts, newest first, without comments. Pass "
+          + "the returned nextCursor as 'after' to fetch the next page.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Posts returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor")
+      })
+  @GetMapping
+  ResponseEntity<PostPage> getPosts(@RequestParam UUID authorId,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = DEFAULT_POSTS_LIMIT) int limit) {
+    try {
+      return ResponseEntity.ok(postQueryService.getPostsByAuthor(authorId, after, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @Operation(summary = "Get comments of a post",
+      description = "Returns one page of comments ordered by creation time. Pass the returned "
+          + "nextCursor, or the id of the last comment returned with the post, as 'after' to "
+          + "fetch the next page.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Comments returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+          @ApiResponse(responseCode = "404", description = "Post not found")
+      })
+  @GetMapping("/{postId}/comments")
+  ResponseEntity<CommentPage> getComments(@PathVariable UUID postId,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = DEFAULT_COMMENTS_LIMIT) int limit) {
+    try {
+      return ResponseEntity.ok(postQueryService.getComments(postId, after, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @Operation(summary = "Get users who liked a post",
+      description = "Returns one page of likers, most recent like first. Pass the returned "
+          + "nextCursor as 'after' to fetch the next page.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Likers returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = LikerPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+          @ApiResponse(responseCode = "404", description = "Post not found")
+      })
+  @GetMapping("/{postId}/likes")
+  ResponseEntity<LikerPage> getPostLikers(@PathVariable UUID postId,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = DEFAULT_LIKERS_LIMIT) int limit) {
+    try {
+      return ResponseEntity.ok(postQueryService.getPostLikers(postId, after, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @Operation(summary = "Get users who liked a comment",
+      description = "Returns one page of likers of a comment, most recent like first. Pass the "
+          + "returned nextCursor as 'after' to fetch the next page.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Likers returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = LikerPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+          @ApiResponse(responseCode = "404", description = "Post not found")
+      })
+  @GetMapping("/{postId}/comments/{commentId}/likes")
+  ResponseEntity<LikerPage> getCommentLikers(@PathVariable UUID postId,
+      @PathVariable UUID commentId, @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = DEFAULT_LIKERS_LIMIT) int limit) {
+    try {
+      return ResponseEntity.ok(
+          postQueryService.getCommentLikers(postId, commentId, after, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @Operation(summary = "Check which posts the current user liked",
+      description = "Returns liked-state for each of the given posts (at most "
+          + PostQueryService.MAX_LIKED_POSTS_IDS + "), checked with a single query.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Liked-state returned successfully"),
+          @ApiResponse(responseCode = "400", description = "Missing, null or too many ids")
+      })
+  @PostMapping("/liked")
+  ResponseEntity<Map<UUID, Boolean>> getLikedPosts(
+      @RequestBody LikedPostsRequest likedPostsRequest, Principal principal) {
+    if (likedPostsRequest.postIds() == null
+        || likedPostsRequest.postIds().size() > PostQueryService.MAX_LIKED_POSTS_IDS
+        || likedPostsRequest.postIds().stream().anyMatch(Objects::isNull)) {
+      return ResponseEntity.badRequest().build();
+    }
+    UUID viewerId = UUID.fromString(principal.getName());
+    return ResponseEntity.ok(postQueryService.getLikedPosts(viewerId, likedPostsRequest));
+  }
+
   @Operation(summary = "Like a post",
-      description = "Increases the like count of a post.",
+      description = "Increases the like count of a post. Pass view=compact to get a compact "
+          + "acknowledgement instead of the whole post.",
       responses = {
           @ApiResponse(responseCode = "200", description = "Post liked successfully",
               content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponse.class))),
           @ApiResponse(responseCode = "404", description = "Post not found")
       })
   @PatchMapping("/{postId}/like")
-  ResponseEntity<PostResponse> likePost(@PathVariable UUID postId, Principal principal) {
-    return ResponseEntity.ok(postService.likePost(postId, UUID.fromString(principal.getName())));
+  ResponseEntity<PostResponse> likePost(@PathVariable UUID postId,
+      @RequestParam(required = false) Integer commentsLimit, Principal principal) {
+    return ResponseEntity.ok(firstComments(
+        postService.likePost(postId, UUID.fromString(principal.getName())), commentsLimit));
+  }
+
+  @Operation(summary = "Like a post (compact)",
+      description = "Increases the like count of a post without loading the post's comments.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Post liked successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = LikeAck.class))),
+          @ApiResponse(responseCode = "404", description = "Post not found")
+      })
+  @PatchMapping(value = "/{postId}/like", params = COMPACT_VIEW)
+  ResponseEntity<LikeAck> likePostCompact(@PathVariable UUID postId, Principal principal) {
+    return ResponseEntity.ok(
+        postService.registerPostLike(postId, UUID.fromString(principal.getName())));
   }
 
   @Operation(summary = "Unlike a post",
-      description = "Decreases the like count of a post.",
+      description = "Decreases the like count of a post. Pass view=compact to get a compact "
+          + "acknowledgement instead of the whole post.",
       responses = {
           @ApiResponse(responseCode = "200", description = "Post unliked successfully",
               content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponse.class))),
           @ApiResponse(responseCode = "404", description = "Post not found")
       })
   @PatchMapping("/{postId}/unlike")
-  ResponseEntity<PostResponse> unlikePost(@PathVariable UUID postId, Principal principal) {
-    return ResponseEntity.ok(postService.unlikePost(postId, UUID.fromString(principal.getName())));
+  ResponseEntity<PostResponse> unlikePost(@PathVariable UUID postId,
+      @RequestParam(required = false) Integer commentsLimit, Principal principal) {
+    return ResponseEntity.ok(firstComments(
+        postService.unlikePost(postId, UUID.fromString(principal.getName())), commentsLimit));
+  }
+
+  @Operation(summary = "Unlike a post (compact)",
+      description = "Decreases the like count of a post without loading the post's comments.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Post unliked successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = LikeAck.class))),
+          @ApiResponse(responseCode = "404", description = "Post not found")
+      })
+  @PatchMapping(value = "/{postId}/unlike", params = COMPACT_VIEW)
+  ResponseEntity<LikeAck> unlikePostCompact(@PathVariable UUID postId, Principal principal) {
+    return ResponseEntity.ok(
+        postService.registerPostUnlike(postId, UUID.fromString(principal.getName())));
   }
 
   @Operation(summary = "Like a comment",
-      description = "Increases the like count of a comment on a post.",
+      description = "Increases the like count of a comment on a post. Pass view=compact to get a "
+          + "compact acknowledgement instead of the whole post.",
       responses = {
           @ApiResponse(responseCode = "200", description = "Comment liked successfully",
               content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponse.class))),
@@ -170,13 +366,30 @@ class PostController {
       })
   @PatchMapping("/{postId}/comments/{commentId}/like")
   ResponseEntity<PostResponse> likeComment(@PathVariable UUID postId,
+      @PathVariable UUID commentId, @RequestParam(required = false) Integer commentsLimit,
+      Principal principal) {
+    return ResponseEntity.ok(firstComments(
+        postService.likeComment(postId, commentId, UUID.fromString(principal.getName())),
+        commentsLimit));
+  }
+
+  @Operation(summary = "Like a comment (compact)",
+      description = "Increases the like count of a comment without loading the post's comments.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Comment liked successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = LikeAck.class))),
+          @ApiResponse(responseCode = "404", description = "Post or comment not found")
+      })
+  @PatchMapping(value = "/{postId}/comments/{commentId}/like", params = COMPACT_VIEW)
+  ResponseEntity<LikeAck> likeCommentCompact(@PathVariable UUID postId,
       @PathVariable UUID commentId, Principal principal) {
-    return ResponseEntity.ok(
-        postService.likeComment(postId, commentId, UUID.fromString(principal.getName())));
+    return ResponseEntity.ok(postService.registerCommentLike(postId, commentId,
+        UUID.fromString(principal.getName())));
   }
 
   @Operation(summary = "Unlike a comment",
-      description = "Decreases the like count of a comment on a post.",
+      description = "Decreases the like count of a comment on a post. Pass view=compact to get a "
+          + "compact acknowledgement instead of the whole post.",
       responses = {
           @ApiResponse(responseCode = "200", description = "Comment unliked successfully",
               content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponse.class))),
@@ -184,8 +397,32 @@ class PostController {
       })
   @PatchMapping("/{postId}/comments/{commentId}/unlike")
   ResponseEntity<PostResponse> unlikeComment(@PathVariable UUID postId,
+      @PathVariable UUID commentId, @RequestParam(required = false) Integer commentsLimit,
+      Principal principal) {
+    return ResponseEntity.ok(firstComments(
+        postService.unlikeComment(postId, commentId, UUID.fromString(principal.getName())),
+        commentsLimit));
+  }
+
+  @Operation(summary = "Unlike a comment (compact)",
+      description = "Decreases the like count of a comment without loading the post's comments.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Comment unliked successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = LikeAck.class))),
+          @ApiResponse(responseCode = "404", description = "Post or comment not found")
+      })
+  @PatchMapping(value = "/{postId}/comments/{commentId}/unlike", params = COMPACT_VIEW)
+  ResponseEntity<LikeAck> unlikeCommentCompact(@PathVariable UUID postId,
       @PathVariable UUID commentId, Principal principal) {
-    return ResponseEntity.ok(
-        postService.unlikeComment(postId, commentId, UUID.fromString(principal.getName())));
+    return ResponseEntity.ok(postService.registerCommentUnlike(postId, commentId,
+        UUID.fromString(principal.getName())));
+  }
+
+  /**
+   * Trims the comments of a post response to the first page when the client asked for it. Further
+   * pages are read from {@code GET /posts/{postId}/comments}.
+   */
+  private static PostResponse firstComments(PostResponse response, Integer commentsLimit) {
+    return commentsLimit == null ? response : response.withFirstComments(commentsLimit);
   }
 }
@@ -6,26 +6,40 @@ import com.grzegorzkartasiewicz.domain.vo.Description;
 import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
 import com.grzegorzkartasiewicz.domain.vo.PostId;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_author_created", columnList = "author_id, created_at, id"),
+    @Index(name = "idx_posts_deleted", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at IS NULL")
 @AllArgsConstructor
 @NoArgsConstructor
 class PostEntity {
 
+  static final int COMMENT_BATCH_SIZE = 100;
+
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
@@ -36,10 +50,39 @@ class PostEntity {
   @Convert(converter = AuthorIdConverter.class)
   private AuthorId authorId;
 
+  /**
+   * Written only on insert; afterwards the counter is maintained by {@link LikeCounterBatchWriter}
+   * so that saving a post never overwrites buffered like deltas.
+   */
   @Convert(converter = LikeCounterConverter.class)
+  @Column(updatable = false)
   private LikeCounter likeCounter;
 
+  /**
+   * Part of the like counter still held in {@link LikeCounterShardEntity shards}.
+   */
+  @Formula(LikeCounterShardEntity.SUM_FOR_ID)
+  private long shardedLikes;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private Instant createdAt;
+
+  /**
+   * Set when the post is deleted. Deleted posts are hidden from all reads; the row, its comments
+   * and its likes are removed in the background by the {@link DeletedPostPurger}.
+   */
+  @Column(name = "deleted_at")
+  private Instant deletedAt;
+
+  /**
+   * Loaded lazily; when several posts are read together, the comments of up to
+   * {@value #COMMENT_BATCH_SIZE} posts are fetched with one {@code IN} query instead of one query
+   * per post or a join multiplying post rows.
+   */
   @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+  @OrderBy("createdAt ASC, id ASC")
+  @BatchSize(size = COMMENT_BATCH_SIZE)
   private List<CommentEntity> comments = new ArrayList<>();
 
   Post toDomain() {
@@ -47,11 +90,17 @@ class PostEntity {
         new PostId(id),
         description,
         authorId,
-        likeCounter,
+        LikeCounterShardEntity.withShards(likeCounter, shardedLikes),
         comments.stream().map(CommentEntity::toDomain).collect(Collectors.toList())
     );
   }
 
+  PostReadModel toReadModel() {
+    return new PostReadModel(id, description, authorId,
+        LikeCounterShardEntity.withShards(likeCounter, shardedLikes),
+        comments.stream().map(CommentEntity::toReadModel).toList());
+  }
+
   static PostEntity fromDomain(Post post) {
     PostEntity entity = new PostEntity();
     entity.id = post.getId() == null ? null : post.getId().id();
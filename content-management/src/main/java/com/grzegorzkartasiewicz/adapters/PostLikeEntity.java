@@ -1,18 +1,24 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
 @Table(name = "post_likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"postId", "likerId"})
+}, indexes = {
+    @Index(name = "idx_post_likes_post_created", columnList = "post_id, created_at, liker_id")
 })
 @AllArgsConstructor
 @NoArgsConstructor
@@ -26,6 +32,10 @@ class PostLikeEntity {
 
   private UUID likerId;
 
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private Instant createdAt;
+
   public PostLikeEntity(UUID postId, UUID likerId) {
     this.postId = postId;
     this.likerId = likerId;
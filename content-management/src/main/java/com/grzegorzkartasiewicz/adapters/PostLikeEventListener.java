@@ -4,15 +4,16 @@ import com.grzegorzkartasiewicz.domain.CommentLiked;
 import com.grzegorzkartasiewicz.domain.CommentUnliked;
 import com.grzegorzkartasiewicz.domain.PostLiked;
 import com.grzegorzkartasiewicz.domain.PostUnliked;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,13 +28,27 @@ import org.springframework.transaction.annotation.Transactional;
  * </p>
  * <h3>Key Mechanisms:</h3>
  * <ul>
- *     <li><strong>Asynchronous Processing:</strong> Events are handled asynchronously via {@link Async}, returning control to the caller immediately.</li>
+ *     <li><strong>Asynchronous Processing:</strong> Events are stored in the outbox with the request and delivered by the {@link OutboxRelay},
+ *     which runs the handlers on the bounded executor defined in {@link EventExecutorConfiguration}.
+ *     Delivery is at least once: repeated likes are ignored thanks to the uniqueness check, and unlikes use {@link ConsumedEvents}
+ *     so a redelivered unlike cannot remove a newer like. Failures other than a duplicate like are not caught, so the
+ *     relay keeps the event and delivers it again.</li>
  *     <li><strong>Uniqueness Check:</strong> Before buffering a counter change, it verifies uniqueness by attempting to save
- *     a {@link PostLikeEntity} or {@link CommentLikeEntity}. This ensures a user cannot like the same content multiple times.</li>
- *     <li><strong>In-Memory Buffering:</strong> Valid changes are aggregated in {@link ConcurrentHashMap} buffers (one for posts, one for comments).
- *     The value is an {@link AtomicInteger} representing the net change (delta) since the last flush (e.g., +10, -2).</li>
+ *     a {@link PostLikeEntity} or {@link CommentLikeEntity}. This ensures a user cannot like the same content multiple times.
+ *     A {@link LikeMembershipFilter} lets first-time likes skip the lookup and rely on the unique constraint instead.</li>
+ *     <li><strong>In-Memory Buffering:</strong> Valid changes are aggregated in the {@link LikeDeltaBuffer} as the net change
+ *     (delta) per post or comment since the last flush (e.g., +10, -2). Reads overlay these deltas, so accepted likes are visible immediately.</li>
+ *     <li><strong>Write-Ahead Log:</strong> Every buffered delta is also appended to the {@link LikeDeltaLog},
+ *     which is replayed on startup, so deltas accepted before a crash or redeploy are not lost.</li>
+ *     <li><strong>Trending:</strong> Accepted post likes and unlikes are also recorded in the
+ *     {@link InMemoryTrendingTracker}, which keeps sliding-window like rates in fixed memory.</li>
  *     <li><strong>Scheduled Flush:</strong> A scheduled task runs periodically (e.g., every 5 seconds) to "flush" the buffers.
- *     It executes a single native SQL UPDATE per active post/comment to apply the aggregated delta.</li>
+ *     The aggregated deltas are applied by the {@link LikeCounterBatchWriter} in chunked JDBC batches.</li>
+ *     <li><strong>Multiple Nodes:</strong> Every node flushes its own buffer. The updates are additive, rows are
+ *     locked in id order, and hot posts and comments are spread over shard rows, so concurrent flushes of several
+ *     nodes neither conflict nor queue on one row lock.</li>
+ *     <li><strong>Graceful Drain:</strong> On shutdown the {@link LikeBufferDrainer} lets queued handlers finish and
+ *     runs a final flush.</li>
  * </ul>
  * <p>
  * This approach drastically reduces database load and lock contention during viral traffic spikes.
@@ -44,149 +59,190 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 class PostLikeEventListener {
 
+  private static final String CONSUMER = "like-counters";
+
   private final PostLikeRepository postLikeRepository;
-  private final SqlPostRepository sqlPostRepository;
   private final CommentLikeRepository commentLikeRepository;
-  private final SqlCommentRepository sqlCommentRepository;
-
-  private final ConcurrentHashMap<UUID, AtomicInteger> postLikeBuffer = new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<UUID, AtomicInteger> commentLikeBuffer = new ConcurrentHashMap<>();
+  private final LikeDeltaBuffer likeDeltaBuffer;
+  private final LikeCounterBatchWriter likeCounterBatchWriter;
+  private final LikeMembershipFilter likeMembershipFilter;
+  private final InMemoryTrendingTracker trendingTracker;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final ConsumedEvents consumedEvents;
 
   /**
    * Handles the {@link PostLiked} event. Checks for duplicate likes and buffers an increment for
    * the post's like counter.
+   * <p>
+   * When the {@link LikeMembershipFilter} rules out an existing like, the lookup is skipped and the
+   * like is inserted directly; the unique constraint rejects the rare concurrent duplicate.
+   * </p>
    *
-   * @param event The event data.
+   * @param delivery The event data.
    */
-  @Async
   @EventListener
-  @Transactional
-  public void handle(PostLiked event) {
-    try {
-      if (postLikeRepository.findByPostIdAndLikerId(event.postId().id(), event.likerId().id())
-          .isEmpty()) {
-        postLikeRepository.save(new PostLikeEntity(event.postId().id(), event.likerId().id()));
-        postLikeBuffer.computeIfAbsent(event.postId().id(), k -> new AtomicInteger(0))
-            .incrementAndGet();
-      }
-    } catch (Exception e) {
-      log.error("Error processing like for post {}", event.postId().id(), e);
+  public void handlePostLiked(DeliveredEvent<PostLiked> delivery) {
+    PostLiked event = delivery.event();
+    UUID postId = event.postId().id();
+    UUID likerId = event.likerId().id();
+    if (isAlreadyLiked(LikeTarget.POST, postId, likerId,
+        () -> postLikeRepository.findByPostIdAndLikerId(postId, likerId).isPresent())) {
+      return;
+    }
+    if (insertLike(() -> postLikeRepository.saveAndFlush(new PostLikeEntity(postId, likerId)))) {
+      likeDeltaBuffer.add(LikeTarget.POST, postId, 1);
+      trendingTracker.record(postId, 1);
     }
+    likeMembershipFilter.remember(LikeTarget.POST, postId, likerId);
   }
 
   /**
    * Handles the {@link PostUnliked} event. Verifies the like exists, removes it, and buffers a
-   * decrement for the post's like counter.
+   * decrement for the post's like counter once the removal has committed.
    *
-   * @param event The event data.
+   * @param delivery The event data.
    */
-  @Async
   @EventListener
   @Transactional
-  public void handle(PostUnliked event) {
-    try {
-      var like = postLikeRepository.findByPostIdAndLikerId(event.postId().id(),
-          event.likerId().id());
-      if (like.isPresent()) {
-        postLikeRepository.delete(like.get());
-        postLikeBuffer.computeIfAbsent(event.postId().id(), k -> new AtomicInteger(0))
-            .decrementAndGet();
-      }
-    } catch (Exception e) {
-      log.error("Error processing unlike for post {}", event.postId().id(), e);
+  public void handlePostUnliked(DeliveredEvent<PostUnliked> delivery) {
+    if (!consumedEvents.markConsumed(CONSUMER, delivery.eventId())) {
+      return;
+    }
+    UUID postId = delivery.event().postId().id();
+    var like = postLikeRepository.findByPostIdAndLikerId(postId,
+        delivery.event().likerId().id());
+    if (like.isPresent()) {
+      postLikeRepository.delete(like.get());
+      AfterCommit.run(() -> {
+        likeDeltaBuffer.add(LikeTarget.POST, postId, -1);
+        trendingTracker.record(postId, -1);
+      });
     }
   }
 
   /**
    * Handles the {@link CommentLiked} event. Checks for duplicate likes and buffers an increment for
-   * the comment's like counter.
+   * the comment's like counter. Uses the {@link LikeMembershipFilter} like
+   * {@link #handlePostLiked(DeliveredEvent)}.
    *
-   * @param event The event data.
+   * @param delivery The event data.
    */
-  @Async
   @EventListener
-  @Transactional
-  public void handle(CommentLiked event) {
-    try {
-      if (commentLikeRepository.findByCommentIdAndLikerId(event.commentId().id(),
-          event.likerId().id()).isEmpty()) {
-        commentLikeRepository.save(
-            new CommentLikeEntity(event.postId().id(), event.commentId().id(),
-                event.likerId().id()));
-        commentLikeBuffer.computeIfAbsent(event.commentId().id(), k -> new AtomicInteger(0))
-            .incrementAndGet();
-      }
-    } catch (Exception e) {
-      log.error("Error processing like for comment {}", event.commentId().id(), e);
+  public void handleCommentLiked(DeliveredEvent<CommentLiked> delivery) {
+    CommentLiked event = delivery.event();
+    UUID commentId = event.commentId().id();
+    UUID likerId = event.likerId().id();
+    if (isAlreadyLiked(LikeTarget.COMMENT, commentId, likerId,
+        () -> commentLikeRepository.findByCommentIdAndLikerId(commentId, likerId).isPresent())) {
+      return;
     }
+    if (insertLike(() -> commentLikeRepository.saveAndFlush(
+        new CommentLikeEntity(event.postId().id(), commentId, likerId)))) {
+      likeDeltaBuffer.add(LikeTarget.COMMENT, commentId, 1);
+    }
+    likeMembershipFilter.remember(LikeTarget.COMMENT, commentId, likerId);
   }
 
   /**
    * Handles the {@link CommentUnliked} event. Verifies the like exists, removes it, and buffers a
-   * decrement for the comment's like counter.
+   * decrement for the comment's like counter once the removal has committed.
    *
-   * @param event The event data.
+   * @param delivery The event data.
    */
-  @Async
   @EventListener
   @Transactional
-  public void handle(CommentUnliked event) {
-    try {
-      var like = commentLikeRepository.findByCommentIdAndLikerId(event.commentId().id(),
-          event.likerId().id());
-      if (like.isPresent()) {
-        commentLikeRepository.delete(like.get());
-        commentLikeBuffer.computeIfAbsent(event.commentId().id(), k -> new AtomicInteger(0))
-            .decrementAndGet();
-      }
-    } catch (Exception e) {
-      log.error("Error processing unlike for comment {}", event.commentId().id(), e);
+  public void handleCommentUnliked(DeliveredEvent<CommentUnliked> delivery) {
+    if (!consumedEvents.markConsumed(CONSUMER, delivery.eventId())) {
+      return;
+    }
+    UUID commentId = delivery.event().commentId().id();
+    var like = commentLikeRepository.findByCommentIdAndLikerId(commentId,
+        delivery.event().likerId().id());
+    if (like.isPresent()) {
+      commentLikeRepository.delete(like.get());
+      AfterCommit.run(() -> likeDeltaBuffer.add(LikeTarget.COMMENT, commentId, -1));
     }
   }
 
   /**
    * Scheduled task to flush aggregated like counts to the database. Runs periodically (configured
    * via fixedDelay) to minimize database write operations.
+   * <p>
+   * Drained deltas stay visible to readers as in-flight until their chunk is committed; chunks
+   * that could not be persisted stay in flight and are retried by the next flush, together with
+   * the newly buffered deltas. The sealed log segment of a batch is discarded once all of its
+   * chunks are written; only then are its chunk records dropped, so a batch flushed again after a
+   * crash skips the chunks it had already applied. A {@link LikeCountersFlushed} event is
+   * published for the written counters.
+   * </p>
+   * <p>
+   * No {@link ClusterLeases lease} is taken: a node cannot flush the deltas buffered by another
+   * one, so holding its flush back would only delay its counters.
+   * </p>
    */
   @Scheduled(fixedDelay = 5000)
-  @Transactional
   public void flush() {
-    flushBuffer(postLikeBuffer, sqlPostRepository::updateLikeCount, "post");
-    flushBuffer(commentLikeBuffer, sqlCommentRepository::updateLikeCount, "comment");
+    flushBuffered();
   }
 
-  private void flushBuffer(ConcurrentHashMap<UUID, AtomicInteger> buffer, UpdateAction updater,
-      String type) {
-    if (buffer.isEmpty()) {
-      return;
-    }
-    log.debug("Flushing {} like buffer. Entries: {}", type, buffer.size());
-
-    Iterator<Map.Entry<UUID, AtomicInteger>> iterator = buffer.entrySet().iterator();
-    while (iterator.hasNext()) {
-      Map.Entry<UUID, AtomicInteger> entry = iterator.next();
-      UUID id = entry.getKey();
-      AtomicInteger atomicDelta = entry.getValue();
-
-      int delta = atomicDelta.getAndSet(0);
-
-      if (delta != 0) {
-        try {
-          updater.update(id, delta);
-        } catch (Exception e) {
-          log.error("Failed to flush like count for {} {}. Delta: {}", type, id, delta, e);
-          atomicDelta.addAndGet(delta);
+  /**
+   * Flushes right away.
+   *
+   * @return How many counters were written and how many stayed in flight (and logged) because
+   * their chunk failed.
+   */
+  FlushResult flushBuffered() {
+    int persisted = 0;
+    int spilled = 0;
+    for (LikeDeltaBuffer.Drained drained : likeDeltaBuffer.drain()) {
+      for (LikeTarget target : LikeTarget.values()) {
+        Map<UUID, Integer> deltas = drained.deltas(target);
+        Set<UUID> written = new HashSet<>();
+        Map<UUID, Integer> failed = likeCounterBatchWriter.write(target, drained.segment().id(),
+            deltas, chunk -> {
+              likeDeltaBuffer.settle(drained, target, chunk);
+              written.addAll(chunk);
+            });
+        if (!written.isEmpty()) {
+          applicationEventPublisher.publishEvent(new LikeCountersFlushed(target, written));
         }
+        persisted += written.size();
+        spilled += failed.size();
       }
-      if (atomicDelta.get() == 0) {
-        iterator.remove();
+      if (drained.isSettled()) {
+        likeDeltaBuffer.discard(drained);
+        likeCounterBatchWriter.forget(drained.segment().id());
       }
     }
+    return new FlushResult(persisted, spilled);
   }
 
-  @FunctionalInterface
-  interface UpdateAction {
+  private boolean isAlreadyLiked(LikeTarget target, UUID targetId, UUID likerId,
+      BooleanSupplier databaseLookup) {
+    if (!likeMembershipFilter.mightHaveLiked(target, targetId, likerId)) {
+      return false;
+    }
+    if (databaseLookup.getAsBoolean()) {
+      return true;
+    }
+    likeMembershipFilter.recordFalsePositive();
+    return false;
+  }
+
+  private boolean insertLike(Runnable insert) {
+    try {
+      insert.run();
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Like already stored, ignoring duplicate", e);
+      return false;
+    }
+  }
+
+  /**
+   * Outcome of one flush, in numbers of post and comment counters.
+   */
+  record FlushResult(int persisted, int spilled) {
 
-    void update(UUID id, int delta);
   }
 }
@@ -1,12 +1,19 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 interface PostLikeRepository extends JpaRepository<PostLikeEntity, UUID> {
     Optional<PostLikeEntity> findByPostIdAndLikerId(UUID postId, UUID likerId);
     void deleteByPostIdAndLikerId(UUID postId, UUID likerId);
+
+    @Query("SELECT l.likerId FROM PostLikeEntity l WHERE l.postId = :postId")
+    List<UUID> findLikerIdsByPostId(@Param("postId") UUID postId, Pageable pageable);
 }
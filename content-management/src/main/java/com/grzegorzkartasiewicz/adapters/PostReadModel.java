@@ -0,0 +1,45 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.Comment;
+import com.grzegorzkartasiewicz.domain.Post;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
+import com.grzegorzkartasiewicz.domain.vo.Description;
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of a persisted post and its comments, as held by the {@link PostReadModelCache}.
+ * Like counters are the persisted values; pending deltas are applied when mapping to the domain.
+ */
+record PostReadModel(UUID id, Description description, AuthorId authorId,
+                     LikeCounter likeCounter, List<CommentReadModel> comments) {
+
+  /**
+   * Creates a fresh, mutable {@link Post} aggregate with the like deltas that are not yet
+   * persisted applied to the post and comment counters.
+   */
+  Post toDomain(LikeDeltaBuffer pendingLikes) {
+    return new Post(
+        new PostId(id),
+        description,
+        authorId,
+        pendingLikes.overlay(LikeTarget.POST, id, likeCounter),
+        comments.stream()
+            .map(comment -> comment.toDomain(pendingLikes))
+            .collect(Collectors.toList())
+    );
+  }
+
+  record CommentReadModel(UUID id, Description description, AuthorId authorId,
+                          LikeCounter likeCounter) {
+
+    Comment toDomain(LikeDeltaBuffer pendingLikes) {
+      return new Comment(new CommentId(id), description, authorId,
+          pendingLikes.overlay(LikeTarget.COMMENT, id, likeCounter));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size-bounded cache of {@link PostReadModel}s in front of {@link SqlPostRepository}, serving
+ * single and batch reads; posts loaded to be changed always come from the database.
+ * <p>
+ * Entries expire after {@code content.posts.cache.ttl} and are evicted by Caffeine's W-TinyLFU
+ * policy beyond {@code content.posts.cache.max-size}. Loading is single-flight: concurrent misses
+ * for the same post wait for one database query. Entries are invalidated after the commit of a
+ * transaction that saved or deleted the post or flushed like counters of the post or of one of its
+ * comments.
+ * </p>
+ * <p>
+ * The cache is local to this node and is not invalidated across nodes: writes and flushes on
+ * other nodes are only picked up after the TTL, which therefore bounds how stale a read can be in
+ * a cluster. This never loses a write, since posts are loaded from the database to be
+ * changed.
+ * </p>
+ * <p>
+ * Hit, miss, eviction and load time metrics are exported under the {@code posts} cache name.
+ * </p>
+ */
+@Component
+class PostReadModelCache {
+
+  private static final String COMMENT_OWNERS = "SELECT DISTINCT post_id FROM comments WHERE id IN (%s)";
+  private static final int COMMENT_OWNERS_CHUNK = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Cache<UUID, PostReadModel> cache;
+
+  PostReadModelCache(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+      @Value("${content.posts.cache.max-size:10000}") long maxSize,
+      @Value("${content.posts.cache.ttl:PT5M}") Duration ttl) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts");
+  }
+
+  /**
+   * Returns the cached post or loads it with the loader; concurrent misses share one load. A post
+   * the loader does not find ({@code null}) is not cached.
+   */
+  PostReadModel get(UUID postId, Function<UUID, PostReadModel> loader) {
+    return cache.get(postId, loader);
+  }
+
+  /**
+   * Returns the cached posts and loads all missing ones with a single call of the loader. Posts the
+   * loader does not return are left out of the result and not cached.
+   */
+  Map<UUID, PostReadModel> getAll(Collection<UUID> postIds,
+      Function<Set<UUID>, Map<UUID, PostReadModel>> loader) {
+    return cache.getAll(postIds, missing -> loader.apply(Set.copyOf(missing)));
+  }
+
+  void invalidate(UUID postId) {
+    cache.invalidate(postId);
+  }
+
+  @EventListener
+  void on(LikeCountersFlushed event) {
+    AfterCommit.run(() -> invalidate(event));
+  }
+
+  private void invalidate(LikeCountersFlushed event) {
+    if (cache.estimatedSize() == 0 || event.ids().isEmpty()) {
+      return;
+    }
+    if (event.target() == LikeTarget.POST) {
+      cache.invalidateAll(event.ids());
+    } else {
+      cache.invalidateAll(postsOwningComments(new ArrayList<>(event.ids())));
+    }
+  }
+
+  private List<UUID> postsOwningComments(List<UUID> commentIds) {
+    List<UUID> postIds = new ArrayList<>();
+    for (int from = 0; from < commentIds.size(); from += COMMENT_OWNERS_CHUNK) {
+      List<UUID> chunk = commentIds.subList(from,
+          Math.min(from + COMMENT_OWNERS_CHUNK, commentIds.size()));
+      String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+      postIds.addAll(jdbcTemplate.queryForList(COMMENT_OWNERS.formatted(placeholders), UUID.class,
+          chunk.toArray()));
+    }
+    return postIds;
+  }
+}
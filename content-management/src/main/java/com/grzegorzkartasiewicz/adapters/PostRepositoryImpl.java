@@ -1,30 +1,203 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import com.grzegorzkartasiewicz.domain.Comment;
+import com.grzegorzkartasiewicz.domain.LikeTargetSnapshot;
 import com.grzegorzkartasiewicz.domain.Post;
+import com.grzegorzkartasiewicz.domain.PostChanges;
 import com.grzegorzkartasiewicz.domain.PostRepository;
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
+import com.grzegorzkartasiewicz.domain.vo.Hashtag;
 import com.grzegorzkartasiewicz.domain.vo.PostId;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Repository
 class PostRepositoryImpl implements PostRepository {
 
   private final SqlPostRepository repository;
+  private final SqlCommentRepository commentRepository;
+  private final LikeDeltaBuffer likeDeltaBuffer;
+  private final PostReadModelCache postReadModelCache;
+  private final PostTagIndex postTagIndex;
+  private final EntityManager entityManager;
 
+  /**
+   * Inserts a new post with its comments. For an already persisted post only the recorded
+   * {@link PostChanges} are written, so e.g. adding a comment is a single INSERT regardless of how
+   * many comments the post has. The {@link PostTagIndex} is updated when the description is new
+   * or changed.
+   */
   @Override
+  @Transactional
   public Post save(Post post) {
-    return repository.save(PostEntity.fromDomain(post)).toDomain();
+    Post saved = isNew(post) ? insert(post) : saveChanges(post);
+    invalidateAfterCommit(saved.getId().id());
+    return saved;
   }
 
+  /**
+   * Reads the post from the database, bypassing the {@link PostReadModelCache}: a change made on
+   * top of a cached copy could overwrite a newer state written on another instance.
+   */
   @Override
   public Optional<Post> findPostById(PostId id) {
-    return Optional.ofNullable(repository.findPostById(id.id())).map(PostEntity::toDomain);
+    return Optional.ofNullable(load(id.id()))
+        .map(readModel -> readModel.toDomain(likeDeltaBuffer));
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Optional<Post> findPostToRead(PostId id) {
+    return Optional.ofNullable(postReadModelCache.get(id.id(), this::load))
+        .map(readModel -> readModel.toDomain(likeDeltaBuffer));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Post> findAllByIds(Collection<PostId> ids) {
+    List<UUID> postIds = ids.stream().map(PostId::id).distinct().toList();
+    Map<UUID, PostReadModel> readModels = postReadModelCache.getAll(postIds, this::loadAll);
+    return postIds.stream()
+        .map(readModels::get)
+        .filter(Objects::nonNull)
+        .map(readModel -> readModel.toDomain(likeDeltaBuffer))
+        .toList();
+  }
+
+  /**
+   * Soft-deletes the post and drops it from the {@link PostTagIndex}. Its comments and likes are
+   * purged later by the {@link DeletedPostPurger}, so deleting a post with many of them stays a
+   * single UPDATE.
+   */
+  @Override
+  @Transactional
   public void delete(Post postToDelete) {
-    repository.deleteById(postToDelete.getId().id());
+    repository.markDeleted(postToDelete.getId().id(), Instant.now());
+    postTagIndex.remove(postToDelete.getId().id());
+    invalidateAfterCommit(postToDelete.getId().id());
+  }
+
+  @Override
+  public boolean existsById(PostId id) {
+    return repository.existsById(id.id());
+  }
+
+  @Override
+  public Optional<LikeTargetSnapshot> findPostLikeTarget(PostId id) {
+    return repository.findLikeTargetById(id.id())
+        .map(LikeTargetRow::toSnapshot)
+        .map(target -> withPendingLikes(target, LikeTarget.POST, id.id()));
+  }
+
+  @Override
+  public Optional<LikeTargetSnapshot> findCommentLikeTarget(PostId postId, CommentId commentId) {
+    return repository.findCommentLikeTarget(postId.id(), commentId.id())
+        .map(LikeTargetRow::toSnapshot)
+        .map(target -> withPendingLikes(target, LikeTarget.COMMENT, commentId.id()));
+  }
+
+  private Post insert(Post post) {
+    Set<Hashtag> hashtags = post.getDescription().hashtags();
+    if (hashtags.isEmpty()) {
+      return repository.save(PostEntity.fromDomain(post)).toDomain();
+    }
+    Post inserted = repository.saveAndFlush(PostEntity.fromDomain(post)).toDomain();
+    postTagIndex.index(inserted.getId().id(), hashtags);
+    return inserted;
+  }
+
+  private Post saveChanges(Post post) {
+    UUID postId = post.getId().id();
+    PostChanges changes = post.getChanges();
+    if (changes.isEmpty()) {
+      return post;
+    }
+    if (changes.isDescriptionChanged()) {
+      repository.updateDescription(postId, post.getDescription());
+      postTagIndex.index(postId, post.getDescription().hashtags());
+    }
+    changes.getEditedComments().forEach(comment ->
+        commentRepository.updateDescription(comment.getId().id(), comment.getDescription()));
+    if (!changes.getRemovedCommentIds().isEmpty()) {
+      commentRepository.deleteAllByIds(
+          changes.getRemovedCommentIds().stream().map(CommentId::id).toList());
+    }
+    Post saved = post;
+    if (!changes.getAddedComments().isEmpty()) {
+      PostEntity postReference = repository.getReferenceById(postId);
+      Map<Comment, Comment> inserted = new IdentityHashMap<>();
+      for (Comment comment : changes.getAddedComments()) {
+        inserted.put(comment, commentRepository.save(
+            CommentEntity.fromDomain(comment, postReference)).toDomain());
+      }
+      saved = withInsertedComments(post, inserted);
+    }
+    clearPersistenceContext();
+    return saved;
+  }
+
+  /**
+   * The changes bypass the persistence context, so a post entity loaded earlier in the same
+   * transaction would still show the old description and comments. The context is flushed and
+   * cleared, so the next read of the post within the transaction sees the changes.
+   */
+  private void clearPersistenceContext() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Replaces the added comments with their persisted counterparts carrying generated ids.
+   */
+  private static Post withInsertedComments(Post post, Map<Comment, Comment> inserted) {
+    List<Comment> comments = post.getComments().stream()
+        .map(comment -> inserted.getOrDefault(comment, comment))
+        .collect(Collectors.toList());
+    return new Post(post.getId(), post.getDescription(), post.getAuthorId(),
+        post.getLikeCounter(), comments);
+  }
+
+  /**
+   * Evicts the post once the write is visible. Evicting earlier would let a concurrent read cache
+   * the pre-commit state again until the TTL.
+   */
+  private void invalidateAfterCommit(UUID postId) {
+    AfterCommit.run(() -> postReadModelCache.invalidate(postId));
+  }
+
+  private static boolean isNew(Post post) {
+    return post.getId() == null || post.getId().id() == null;
+  }
+
+  private Map<UUID, PostReadModel> loadAll(Set<UUID> ids) {
+    Map<UUID, PostReadModel> readModels = HashMap.newHashMap(ids.size());
+    repository.findAllByIdIn(ids).stream()
+        .map(PostEntity::toReadModel)
+        .forEach(readModel -> readModels.put(readModel.id(), readModel));
+    return readModels;
+  }
+
+  private PostReadModel load(UUID id) {
+    PostEntity entity = repository.findPostById(id);
+    return entity == null ? null : entity.toReadModel();
+  }
+
+  private LikeTargetSnapshot withPendingLikes(LikeTargetSnapshot target, LikeTarget kind, UUID id) {
+    return new LikeTargetSnapshot(target.authorId(),
+        likeDeltaBuffer.overlay(kind, id, target.likeCounter()));
   }
 }
@@ -0,0 +1,40 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * A hashtag of a post, maintained by the {@link PostTagIndex}. {@code created_at} is copied from
+ * the post, so a tag's posts are paged newest first over the {@code (tag, created_at, post_id)}
+ * index without touching {@code posts}.
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "post_tags", indexes = {
+    @Index(name = "idx_post_tags_tag_created", columnList = "tag, created_at, post_id"),
+    @Index(name = "idx_post_tags_post", columnList = "post_id")
+})
+@NoArgsConstructor
+class PostTagEntity {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Embeddable
+  record Key(String tag, @Column(name = "post_id") UUID postId) implements Serializable {
+
+  }
+}
@@ -0,0 +1,64 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.domain.vo.Hashtag;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@code post_tags} in line with the hashtags of post descriptions. An edit only inserts
+ * and deletes the tags that changed; tags newly given to a post are also counted by the
+ * {@link InMemoryTrendingTagTracker} once the transaction that writes the post has committed.
+ */
+@Component
+@RequiredArgsConstructor
+class PostTagIndex {
+
+  private static final String INSERT = """
+      INSERT INTO post_tags (tag, created_at, post_id)
+      SELECT ?, p.created_at, p.id FROM posts p WHERE p.id = ?""";
+  private static final String TAGS = "SELECT tag FROM post_tags WHERE post_id = ?";
+  private static final String DELETE = "DELETE FROM post_tags WHERE post_id = ? AND tag IN (%s)";
+  private static final String DELETE_ALL = "DELETE FROM post_tags WHERE post_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final InMemoryTrendingTagTracker trendingTagTracker;
+
+  /**
+   * Indexes the tags of a post, replacing the ones it had so far. The post row must already be
+   * written, since the tags take its creation time.
+   */
+  void index(UUID postId, Set<Hashtag> hashtags) {
+    Set<String> tags = new HashSet<>();
+    hashtags.forEach(hashtag -> tags.add(hashtag.name()));
+    Set<String> indexed = new HashSet<>(jdbcTemplate.queryForList(TAGS, String.class, postId));
+
+    List<String> removed = indexed.stream().filter(tag -> !tags.contains(tag)).toList();
+    if (!removed.isEmpty()) {
+      Object[] args = new Object[removed.size() + 1];
+      args[0] = postId;
+      for (int i = 0; i < removed.size(); i++) {
+        args[i + 1] = removed.get(i);
+      }
+      jdbcTemplate.update(
+          DELETE.formatted(String.join(", ", Collections.nCopies(removed.size(), "?"))), args);
+    }
+    List<Object[]> added = tags.stream()
+        .filter(tag -> !indexed.contains(tag))
+        .map(tag -> new Object[]{tag, postId})
+        .toList();
+    if (!added.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT, added);
+      AfterCommit.run(() -> added.forEach(row -> trendingTagTracker.record((String) row[0])));
+    }
+  }
+
+  void remove(UUID postId) {
+    jdbcTemplate.update(DELETE_ALL, postId);
+  }
+}
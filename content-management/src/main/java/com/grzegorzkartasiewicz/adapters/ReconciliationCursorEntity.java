@@ -0,0 +1,27 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position of the {@link LikeCounterReconciler} in its walk over posts or comments, so a restart
+ * resumes where the previous node stopped.
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "reconciliation_cursors")
+@NoArgsConstructor
+class ReconciliationCursorEntity {
+
+  @Id
+  private String name;
+
+  @Column(name = "last_id", nullable = false)
+  private UUID lastId;
+}
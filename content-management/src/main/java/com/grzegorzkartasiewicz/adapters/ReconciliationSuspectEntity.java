@@ -0,0 +1,35 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.NoArgsConstructor;
+
+/**
+ * A like counter the {@link LikeCounterReconciler} found drifted and will correct on its next run
+ * if the drift is still there. Written in the same transaction as the
+ * {@link ReconciliationCursorEntity cursor} of the walk, so whichever node runs next confirms it.
+ * <p>
+ * Written and read with plain SQL only; the mapping exists so the table is part of the schema.
+ * </p>
+ */
+@Entity
+@Table(name = "reconciliation_suspects")
+@NoArgsConstructor
+class ReconciliationSuspectEntity {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(nullable = false)
+  private long drift;
+
+  @Embeddable
+  record Key(String name, @Column(name = "target_id") UUID targetId) implements Serializable {
+
+  }
+}
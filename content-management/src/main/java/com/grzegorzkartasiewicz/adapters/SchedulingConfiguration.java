@@ -0,0 +1,53 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Schedulers of the {@code @Scheduled} background jobs.
+ * <p>
+ * The {@link OutboxRelay} keeps its thread while batches come back full and while it waits for
+ * their handlers, which may even run on that thread once the event queue is full (see
+ * {@link EventExecutorConfiguration}). It therefore gets a scheduler of its own, so it can never
+ * hold back the like flush, the log sync or the coalescer. The {@link DeletedPostPurger} pauses
+ * between its delete batches and gets a scheduler of its own for the same reason. All other jobs
+ * share the default scheduler, whose {@code content.scheduling.pool-size} threads default to one
+ * per job, so none of them waits for another.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+class SchedulingConfiguration {
+
+  static final String OUTBOX_RELAY_SCHEDULER = "outboxRelayScheduler";
+  static final String PURGE_SCHEDULER = "purgeScheduler";
+
+  /**
+   * Picked by {@code @Scheduled} jobs that do not name a scheduler.
+   */
+  @Bean
+  ThreadPoolTaskScheduler taskScheduler(
+      @Value("${content.scheduling.pool-size:6}") int poolSize) {
+    return scheduler("scheduling-", poolSize);
+  }
+
+  @Bean(OUTBOX_RELAY_SCHEDULER)
+  ThreadPoolTaskScheduler outboxRelayScheduler() {
+    return scheduler("outbox-relay-", 1);
+  }
+
+  @Bean(PURGE_SCHEDULER)
+  ThreadPoolTaskScheduler purgeScheduler() {
+    return scheduler("purge-", 1);
+  }
+
+  private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(poolSize);
+    scheduler.setThreadNamePrefix(threadNamePrefix);
+    return scheduler;
+  }
+}
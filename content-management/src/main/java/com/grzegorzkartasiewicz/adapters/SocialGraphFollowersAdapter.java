@@ -0,0 +1,38 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.FollowersPort;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+class SocialGraphFollowersAdapter implements FollowersPort {
+
+  private final SocialFacade socialFacade;
+
+  @Override
+  public Set<UUID> getFriendsAndFollowers(UUID authorId) {
+    try {
+      return socialFacade.getFriendsAndFollowers(authorId);
+    } catch (NoSuchElementException e) {
+      return Set.of();
+    }
+  }
+
+  @Override
+  public long countFriendsAndFollowers(UUID authorId) {
+    return socialFacade.countFriendsAndFollowers(authorId);
+  }
+
+  @Override
+  public Set<UUID> getFriendsAndFollowed(UUID readerId) {
+    try {
+      return socialFacade.getFriendsAndFollowed(readerId);
+    } catch (NoSuchElementException e) {
+      return Set.of();
+    }
+  }
+}
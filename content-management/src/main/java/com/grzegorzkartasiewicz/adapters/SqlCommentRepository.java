@@ -1,14 +1,26 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import com.grzegorzkartasiewicz.domain.vo.Description;
+import java.util.Collection;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.query.Param;
 
+/**
+ * Row-level access to comments, used to persist changes of a post without merging the whole
+ * {@link PostEntity} graph.
+ */
 interface SqlCommentRepository extends Repository<CommentEntity, UUID> {
 
+  CommentEntity save(CommentEntity comment);
+
+  @Modifying
+  @Query("UPDATE CommentEntity c SET c.description = :description WHERE c.id = :id")
+  int updateDescription(@Param("id") UUID id, @Param("description") Description description);
+
   @Modifying
-  @Query(value = "UPDATE comments SET like_counter = like_counter + :delta WHERE id = :id", nativeQuery = true)
-  void updateLikeCount(@Param("id") UUID id, @Param("delta") int delta);
+  @Query("DELETE FROM CommentEntity c WHERE c.id IN :ids")
+  int deleteAllByIds(@Param("ids") Collection<UUID> ids);
 }
@@ -1,5 +1,10 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import com.grzegorzkartasiewicz.domain.vo.Description;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,11 +15,31 @@ interface SqlPostRepository extends Repository<PostEntity, UUID> {
 
   PostEntity save(PostEntity post);
 
+  PostEntity saveAndFlush(PostEntity post);
+
   PostEntity findPostById(UUID id);
 
-  void deleteById(UUID id);
+  List<PostEntity> findAllByIdIn(Collection<UUID> ids);
+
+  PostEntity getReferenceById(UUID id);
+
+  @Modifying
+  @Query("UPDATE PostEntity p SET p.description = :description WHERE p.id = :id")
+  int updateDescription(@Param("id") UUID id, @Param("description") Description description);
 
   @Modifying
-  @Query(value = "UPDATE posts SET like_counter = like_counter + :delta WHERE id = :id", nativeQuery = true)
-  void updateLikeCount(@Param("id") UUID id, @Param("delta") int delta);
+  @Query("UPDATE PostEntity p SET p.deletedAt = :deletedAt WHERE p.id = :id")
+  int markDeleted(@Param("id") UUID id, @Param("deletedAt") Instant deletedAt);
+
+  boolean existsById(UUID id);
+
+  @Query("SELECT new com.grzegorzkartasiewicz.adapters.LikeTargetRow("
+      + "p.authorId, p.likeCounter, p.shardedLikes) FROM PostEntity p WHERE p.id = :id")
+  Optional<LikeTargetRow> findLikeTargetById(@Param("id") UUID id);
+
+  @Query("SELECT new com.grzegorzkartasiewicz.adapters.LikeTargetRow("
+      + "c.authorId, c.likeCounter, c.shardedLikes) FROM CommentEntity c JOIN c.post p "
+      + "WHERE c.id = :commentId AND p.id = :postId AND p.deletedAt IS NULL")
+  Optional<LikeTargetRow> findCommentLikeTarget(@Param("postId") UUID postId,
+      @Param("commentId") UUID commentId);
 }
@@ -0,0 +1,70 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.PostPage;
+import com.grzegorzkartasiewicz.app.PostQueryService;
+import com.grzegorzkartasiewicz.app.TrendingService;
+import com.grzegorzkartasiewicz.app.TrendingTag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/tags")
+@RequiredArgsConstructor
+@Tag(name = "Tags", description = "Endpoints for browsing posts by hashtag")
+class TagController {
+
+  private static final String DEFAULT_POSTS_LIMIT = "20";
+
+  private final PostQueryService postQueryService;
+  private final TrendingService trendingService;
+
+  @Operation(summary = "Get posts with a hashtag",
+      description = "Returns one page of the posts whose description contains the hashtag, newest "
+          + "first, without comments. The tag may be given with or without '#' and in any case. "
+          + "Pass the returned nextCursor as 'after' to fetch the next page.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Posts returned successfully",
+              content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor")
+      })
+  @GetMapping("/{tag}/posts")
+  ResponseEntity<PostPage> getPosts(@PathVariable String tag,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = DEFAULT_POSTS_LIMIT) int limit) {
+    try {
+      return ResponseEntity.ok(postQueryService.getPostsByTag(tag, after, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @Operation(summary = "Get trending hashtags",
+      description = "Returns the hashtags given to the most new or edited posts within the given "
+          + "window (e.g. 5m or 1h), most used first. Post counts within the window are estimates.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Trending hashtags returned successfully",
+              content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TrendingTag.class)))),
+          @ApiResponse(responseCode = "400", description = "Invalid or untracked window")
+      })
+  @GetMapping("/trending")
+  ResponseEntity<List<TrendingTag>> getTrending(@RequestParam(defaultValue = "1h") String window,
+      @RequestParam(defaultValue = "50") int limit) {
+    try {
+      return ResponseEntity.ok(trendingService.getTrendingTags(window, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
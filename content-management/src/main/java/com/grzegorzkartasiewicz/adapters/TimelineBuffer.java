@@ -0,0 +1,55 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.TimelineEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fixed-size ring buffer of {@link TimelineEntry timeline entries}. Entries are stored as primitive
+ * arrays rather than objects to keep a timeline at 24 bytes per entry. When the buffer is full,
+ * the oldest added entry is overwritten.
+ */
+class TimelineBuffer {
+
+  private final long[] mostSignificantBits;
+  private final long[] leastSignificantBits;
+  private final long[] createdAt;
+  private int head;
+  private int size;
+
+  TimelineBuffer(int capacity) {
+    this.mostSignificantBits = new long[capacity];
+    this.leastSignificantBits = new long[capacity];
+    this.createdAt = new long[capacity];
+  }
+
+  synchronized void add(TimelineEntry entry) {
+    mostSignificantBits[head] = entry.postId().getMostSignificantBits();
+    leastSignificantBits[head] = entry.postId().getLeastSignificantBits();
+    createdAt[head] = entry.createdAt();
+    head = (head + 1) % mostSignificantBits.length;
+    size = Math.min(size + 1, mostSignificantBits.length);
+  }
+
+  /**
+   * Reads entries newest first. Entries added out of order (e.g. by concurrent fan-outs) are
+   * returned in creation order.
+   *
+   * @param after Entry to start after, or {@code null} to start at the newest one. The entry does
+   *              not have to be in the buffer anymore.
+   * @param limit Maximum number of entries to return.
+   */
+  synchronized List<TimelineEntry> read(TimelineEntry after, int limit) {
+    List<TimelineEntry> entries = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      TimelineEntry entry = new TimelineEntry(
+          new UUID(mostSignificantBits[index], leastSignificantBits[index]), createdAt[index]);
+      if (after == null || entry.isOlderThan(after)) {
+        entries.add(entry);
+      }
+    }
+    entries.sort(TimelineEntry.NEWEST_FIRST);
+    return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+  }
+}
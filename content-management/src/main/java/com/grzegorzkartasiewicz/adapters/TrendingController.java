@@ -0,0 +1,44 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.TrendingPost;
+import com.grzegorzkartasiewicz.app.TrendingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/posts/trending")
+@RequiredArgsConstructor
+@Tag(name = "Posts", description = "Endpoints for managing posts and comments")
+class TrendingController {
+
+  private final TrendingService trendingService;
+
+  @Operation(summary = "Get trending posts",
+      description = "Returns the posts with the most likes within the given window (e.g. 5m or "
+          + "1h), most liked first. Like counts within the window are estimates.",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Trending posts returned successfully",
+              content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TrendingPost.class)))),
+          @ApiResponse(responseCode = "400", description = "Invalid or untracked window")
+      })
+  @GetMapping
+  ResponseEntity<List<TrendingPost>> getTrending(@RequestParam(defaultValue = "1h") String window,
+      @RequestParam(defaultValue = "50") int limit) {
+    try {
+      return ResponseEntity.ok(trendingService.getTrending(window, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
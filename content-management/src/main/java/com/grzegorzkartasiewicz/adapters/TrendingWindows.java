@@ -0,0 +1,212 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Sliding-window counts per key in bounded memory. The {@link InMemoryTrendingTracker} counts post
+ * likes with it, the {@link InMemoryTrendingTagTracker} tagged posts under name-based UUIDs.
+ * <p>
+ * Time is split into buckets of {@code bucketLength}, each holding a {@link CountMinSketch} of the
+ * counts recorded in it. Every window keeps the sum of the sketches of its buckets; when a bucket
+ * slides out of a window its sketch is subtracted, so estimating a key's count in a window costs
+ * {@code depth} reads. Each window also keeps at most {@code candidates} heavy hitters, the keys
+ * with the highest estimates seen so far, ordered by estimate so the weakest is evicted in
+ * logarithmic time and the top keys are answered without sorting.
+ * </p>
+ * <p>
+ * Memory is {@code (buckets + windows) * width * depth} counters plus the candidates, independent
+ * of the number of distinct keys. Callers pass the current time; the class is thread-safe.
+ * </p>
+ */
+class TrendingWindows {
+
+  private final long bucketMillis;
+  private final CountMinSketch[] buckets;
+  private final long[] bucketIds;
+  private final List<Window> windows;
+  private long currentBucket = Long.MIN_VALUE;
+
+  /**
+   * @param windowLengths Tracked windows; each must be a multiple of {@code bucketLength}.
+   */
+  TrendingWindows(List<Duration> windowLengths, Duration bucketLength, int width, int depth,
+      int candidates) {
+    this.bucketMillis = bucketLength.toMillis();
+    this.windows = windowLengths.stream()
+        .map(length -> new Window(length, bucketCount(length), width, depth, candidates))
+        .toList();
+    int ringSize = windows.stream().mapToInt(Window::bucketCount).max().orElse(1);
+    this.buckets = new CountMinSketch[ringSize];
+    this.bucketIds = new long[ringSize];
+    for (int i = 0; i < ringSize; i++) {
+      buckets[i] = new CountMinSketch(width, depth);
+    }
+    Arrays.fill(bucketIds, Long.MIN_VALUE);
+  }
+
+  synchronized void record(UUID key, int delta, long nowMillis) {
+    advance(nowMillis);
+    buckets[slot(currentBucket)].add(key, delta);
+    for (Window window : windows) {
+      window.sketch.add(key, delta);
+      window.offer(key);
+    }
+  }
+
+  /**
+   * @throws IllegalArgumentException if the window is not tracked.
+   */
+  synchronized List<Score> top(Duration windowLength, int limit, long nowMillis) {
+    Window window = windows.stream()
+        .filter(candidate -> candidate.length.equals(windowLength))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Unsupported trending window: " + windowLength));
+    advance(nowMillis);
+    return window.top(limit);
+  }
+
+  private void advance(long nowMillis) {
+    long bucket = Math.floorDiv(nowMillis, bucketMillis);
+    if (bucket <= currentBucket) {
+      return;
+    }
+    if (currentBucket == Long.MIN_VALUE || bucket - currentBucket >= buckets.length) {
+      clear();
+    } else {
+      for (long next = currentBucket + 1; next <= bucket; next++) {
+        for (Window window : windows) {
+          expire(window, next - window.bucketCount);
+        }
+        buckets[slot(next)].clear();
+        bucketIds[slot(next)] = next;
+      }
+      windows.forEach(Window::refreshCandidates);
+    }
+    currentBucket = bucket;
+    bucketIds[slot(bucket)] = bucket;
+  }
+
+  private void expire(Window window, long bucket) {
+    if (bucketIds[slot(bucket)] == bucket) {
+      window.sketch.subtract(buckets[slot(bucket)]);
+    }
+  }
+
+  private void clear() {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i].clear();
+      bucketIds[i] = Long.MIN_VALUE;
+    }
+    windows.forEach(Window::clear);
+  }
+
+  private int slot(long bucket) {
+    return (int) Math.floorMod(bucket, (long) buckets.length);
+  }
+
+  private int bucketCount(Duration windowLength) {
+    long millis = windowLength.toMillis();
+    if (millis < bucketMillis || millis % bucketMillis != 0) {
+      throw new IllegalArgumentException(
+          "Trending window " + windowLength + " is not a multiple of the bucket length");
+    }
+    return (int) (millis / bucketMillis);
+  }
+
+  private static final class Window {
+
+    /**
+     * Weakest first: lowest estimate, and of equal estimates the highest key, so the descending
+     * view lists the top keys in answer order.
+     */
+    private static final Comparator<Score> WEAKEST_FIRST =
+        Comparator.comparingLong(Score::count).thenComparing(Score::key, Comparator.reverseOrder());
+
+    private final Duration length;
+    private final int bucketCount;
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<UUID, Long> candidates = new HashMap<>();
+    private final TreeSet<Score> ranking = new TreeSet<>(WEAKEST_FIRST);
+
+    private Window(Duration length, int bucketCount, int width, int depth, int capacity) {
+      this.length = length;
+      this.bucketCount = bucketCount;
+      this.sketch = new CountMinSketch(width, depth);
+      this.capacity = capacity;
+    }
+
+    int bucketCount() {
+      return bucketCount;
+    }
+
+    /**
+     * Keeps the key as a candidate if it is one already, if there is room, or if its estimate
+     * beats the weakest candidate, which is then evicted. Costs {@code O(log candidates)}.
+     */
+    void offer(UUID key) {
+      long estimate = sketch.estimate(key);
+      Long previous = candidates.get(key);
+      if (previous != null) {
+        if (previous != estimate) {
+          ranking.remove(new Score(key, previous));
+          put(key, estimate);
+        }
+      } else if (candidates.size() < capacity) {
+        put(key, estimate);
+      } else if (capacity > 0 && estimate > ranking.first().count()) {
+        candidates.remove(ranking.pollFirst().key());
+        put(key, estimate);
+      }
+    }
+
+    /**
+     * Re-estimates the candidates after buckets slid out of the window and drops those without
+     * likes left in it.
+     */
+    void refreshCandidates() {
+      ranking.clear();
+      candidates.replaceAll((key, estimate) -> sketch.estimate(key));
+      candidates.values().removeIf(estimate -> estimate <= 0);
+      candidates.forEach((key, estimate) -> ranking.add(new Score(key, estimate)));
+    }
+
+    List<Score> top(int limit) {
+      List<Score> scores = new ArrayList<>(Math.min(limit, ranking.size()));
+      for (Score score : ranking.descendingSet()) {
+        if (score.count() <= 0 || scores.size() == limit) {
+          break;
+        }
+        scores.add(score);
+      }
+      return scores;
+    }
+
+    void clear() {
+      sketch.clear();
+      candidates.clear();
+      ranking.clear();
+    }
+
+    private void put(UUID key, long estimate) {
+      candidates.put(key, estimate);
+      ranking.add(new Score(key, estimate));
+    }
+  }
+
+  /**
+   * Estimated count of a key within a window.
+   */
+  record Score(UUID key, long count) {
+
+  }
+}
@@ -0,0 +1,11 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.List;
+
+/**
+ * One page of comments. {@code nextCursor} is an opaque {@link PageCursor} passed as {@code after}
+ * to fetch the next page and is {@code null} on the last page.
+ */
+public record CommentPage(List<CommentResponse> comments, String nextCursor) {
+
+}
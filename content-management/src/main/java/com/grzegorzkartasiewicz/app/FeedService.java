@@ -0,0 +1,143 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service assembling home feeds with a hybrid push/pull strategy.
+ * <p>
+ * Posts of regular authors are pushed to the timelines of the author's friends and followers when
+ * they are created (fan-out-on-write). Authors with at least {@code fanOutThreshold} friends and
+ * followers are not fanned out; their posts are kept in the {@link RecentPostsIndex} instead and
+ * merged into the reader's timeline by recency when the feed is read (fan-out-on-read). Either way,
+ * a feed page is hydrated with one batched query for the posts.
+ * </p>
+ * <p>
+ * The in-memory {@link TimelineStore} and {@link RecentPostsIndex} adapters are node-local, while
+ * the creation event of a post is delivered to one node only. With several nodes, a feed read
+ * therefore only sees the posts fanned out on the node serving it; such deployments need both
+ * ports backed by a store shared by all nodes.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class FeedService {
+
+  private final FollowersPort followersPort;
+  private final TimelineStore timelineStore;
+  private final RecentPostsIndex recentPostsIndex;
+  private final PostQueryPort postQueryPort;
+  private final int maxPageSize;
+  private final long fanOutThreshold;
+
+  /**
+   * Distributes a newly created post. It always lands on the author's own timeline; it is pushed to
+   * the author's friends and followers only if there are fewer of them than the fan-out threshold,
+   * otherwise it is recorded in the author's recent posts. Entries are ordered by the post's
+   * creation time, so a delayed or redelivered fan-out does not move the post ahead of newer ones.
+   * A post deleted before its fan-out is skipped.
+   */
+  public void fanOut(UUID postId, UUID authorId) {
+    Optional<PostSummary> post = postQueryPort.findPostSummary(postId);
+    if (post.isEmpty()) {
+      log.debug("Post {} was deleted before its fan-out, skipping", postId);
+      return;
+    }
+    TimelineEntry entry = new TimelineEntry(postId, post.get().createdAt().toEpochMilli());
+    if (followersPort.countFriendsAndFollowers(authorId) >= fanOutThreshold) {
+      recentPostsIndex.add(authorId, entry);
+      timelineStore.append(Set.of(authorId), entry);
+      log.debug("Indexed post {} of high-follower author {}", postId, authorId);
+      return;
+    }
+    Set<UUID> recipients = new HashSet<>(followersPort.getFriendsAndFollowers(authorId));
+    recipients.add(authorId);
+    timelineStore.append(recipients, entry);
+    log.debug("Fanned out post {} to {} timelines", postId, recipients.size());
+  }
+
+  /**
+   * Reads one page of a user's home feed.
+   *
+   * @param userId The reader.
+   * @param after  The {@link FeedPage#nextCursor()} of the previous page, or {@code null}.
+   * @param limit  Requested page size, capped at the configured maximum.
+   * @return The page of posts, newest first. Posts deleted since the fan-out are skipped.
+   * @throws IllegalArgumentException if {@code after} is not a cursor returned by this service.
+   */
+  public FeedPage getFeed(UUID userId, String after, int limit) {
+    int pageSize = Math.clamp(limit, 1, maxPageSize);
+    TimelineEntry cursor = after == null ? null : TimelineEntry.fromCursor(after);
+
+    List<List<TimelineEntry>> sources = new ArrayList<>();
+    sources.add(timelineStore.read(userId, cursor, pageSize + 1));
+    if (!recentPostsIndex.isEmpty()) {
+      for (UUID authorId : followersPort.getFriendsAndFollowed(userId)) {
+        List<TimelineEntry> recentPosts = recentPostsIndex.read(authorId, cursor, pageSize + 1);
+        if (!recentPosts.isEmpty()) {
+          sources.add(recentPosts);
+        }
+      }
+    }
+    List<TimelineEntry> entries = mergeNewestFirst(sources, pageSize + 1);
+    boolean hasMore = entries.size() > pageSize;
+    List<TimelineEntry> pageEntries = hasMore ? entries.subList(0, pageSize) : entries;
+    List<UUID> pageIds = pageEntries.stream().map(TimelineEntry::postId).toList();
+
+    Map<UUID, PostSummary> posts = postQueryPort.findPostSummaries(pageIds).stream()
+        .collect(Collectors.toMap(PostSummary::id, Function.identity()));
+    List<PostSummary> page = pageIds.stream()
+        .map(posts::get)
+        .filter(Objects::nonNull)
+        .toList();
+    return new FeedPage(page, hasMore ? pageEntries.getLast().toCursor() : null);
+  }
+
+  /**
+   * K-way merge of newest-first lists, dropping posts present in more than one list (e.g. a post
+   * pushed before its author crossed the fan-out threshold).
+   */
+  private static List<TimelineEntry> mergeNewestFirst(List<List<TimelineEntry>> sources,
+      int limit) {
+    if (sources.size() == 1) {
+      return sources.getFirst();
+    }
+    PriorityQueue<SourcePosition> heads = new PriorityQueue<>(sources.size(),
+        (a, b) -> TimelineEntry.NEWEST_FIRST.compare(a.entry(), b.entry()));
+    for (List<TimelineEntry> source : sources) {
+      if (!source.isEmpty()) {
+        heads.add(new SourcePosition(source, 0));
+      }
+    }
+    List<TimelineEntry> merged = new ArrayList<>(limit);
+    Set<UUID> seen = new HashSet<>();
+    while (merged.size() < limit && !heads.isEmpty()) {
+      SourcePosition head = heads.poll();
+      if (seen.add(head.entry().postId())) {
+        merged.add(head.entry());
+      }
+      if (head.index() + 1 < head.source().size()) {
+        heads.add(new SourcePosition(head.source(), head.index() + 1));
+      }
+    }
+    return merged;
+  }
+
+  private record SourcePosition(List<TimelineEntry> source, int index) {
+
+    TimelineEntry entry() {
+      return source.get(index);
+    }
+  }
+}
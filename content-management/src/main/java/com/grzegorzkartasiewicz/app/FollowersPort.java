@@ -0,0 +1,24 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface FollowersPort {
+
+  /**
+   * @return Ids of the users who should see the author's posts in their feed, empty if the author
+   * has no social profile.
+   */
+  Set<UUID> getFriendsAndFollowers(UUID authorId);
+
+  /**
+   * @return Number of users in {@link #getFriendsAndFollowers(UUID)}, without loading them.
+   */
+  long countFriendsAndFollowers(UUID authorId);
+
+  /**
+   * @return Ids of the users whose posts the reader should see in their feed, empty if the reader
+   * has no social profile.
+   */
+  Set<UUID> getFriendsAndFollowed(UUID readerId);
+}
@@ -0,0 +1,11 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.UUID;
+
+/**
+ * Compact answer to a like or unlike: the liked content and its optimistic like count.
+ * {@code commentId} is {@code null} when a post was liked.
+ */
+public record LikeAck(UUID postId, UUID commentId, int likeCount) {
+
+}
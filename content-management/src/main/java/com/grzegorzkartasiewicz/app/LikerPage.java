@@ -0,0 +1,13 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of users who liked a post or comment, most recent like first. {@code nextCursor} is an
+ * opaque {@link PageCursor} passed as {@code after} to fetch the next page and is {@code null} on
+ * the last page.
+ */
+public record LikerPage(List<UUID> likerIds, String nextCursor) {
+
+}
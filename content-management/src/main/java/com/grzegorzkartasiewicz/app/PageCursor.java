@@ -0,0 +1,44 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Position of a row in a keyset-paginated listing: its creation time (microsecond precision, like
+ * the database) with its id as tie-breaker. Unlike a bare id it stays valid after the row it
+ * points at has been deleted.
+ */
+public record PageCursor(Instant createdAt, UUID id) {
+
+  private static final String CURSOR_SEPARATOR = "_";
+
+  public PageCursor {
+    createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+  }
+
+  /**
+   * @return Opaque cursor pointing at this position.
+   */
+  public String toCursor() {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, createdAt) + CURSOR_SEPARATOR + id;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the cursor was not created by {@link #toCursor()}.
+   */
+  public static PageCursor fromCursor(String cursor) {
+    int separator = cursor.indexOf(CURSOR_SEPARATOR);
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+    try {
+      return new PageCursor(
+          Instant.EPOCH.plus(Long.parseLong(cursor.substring(0, separator)), ChronoUnit.MICROS),
+          UUID.fromString(cursor.substring(separator + 1)));
+    } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+      throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+    }
+  }
+}
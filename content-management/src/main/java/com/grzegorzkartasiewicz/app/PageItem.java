@@ -0,0 +1,9 @@
+package com.grzegorzkartasiewicz.app;
+
+/**
+ * A row of a keyset-paginated listing together with its position, so the page can hand out a
+ * cursor without another query.
+ */
+public record PageItem<T>(T value, PageCursor cursor) {
+
+}
@@ -0,0 +1,8 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PostBatchGetRequest(List<UUID> ids) {
+
+}
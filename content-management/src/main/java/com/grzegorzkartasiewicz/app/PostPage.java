@@ -0,0 +1,11 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.List;
+
+/**
+ * One page of posts. {@code nextCursor} is passed as {@code after} to fetch the next page and is
+ * {@code null} on the last page.
+ */
+public record PostPage(List<PostSummary> posts, String nextCursor) {
+
+}
@@ -0,0 +1,90 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-side access to posts that bypasses the {@link com.grzegorzkartasiewicz.domain.Post}
+ * aggregate and returns response models directly.
+ */
+public interface PostQueryPort {
+
+  boolean postExists(UUID postId);
+
+  Optional<PostSummary> findPostSummary(UUID postId);
+
+  /**
+   * Returns posts of an author, newest first, starting right after the given position. The
+   * position need not belong to an existing post.
+   *
+   * @param authorId The author whose posts are read.
+   * @param after    Position (creation time and id) of the last post of the previous page, or
+   *                 {@code null} for the first page.
+   * @param limit    Maximum number of posts to return.
+   */
+  List<PageItem<PostSummary>> findPostsByAuthor(UUID authorId, PageCursor after, int limit);
+
+  /**
+   * Returns posts with a hashtag, most recently tagged first, starting right after the given
+   * position. The position need not belong to a post that still has the tag.
+   *
+   * @param tag   The normalised hashtag name.
+   * @param after Position (tagging time and post id) of the last post of the previous page, or
+   *              {@code null} for the first page.
+   * @param limit Maximum number of posts to return.
+   */
+  List<PageItem<PostSummary>> findPostsByTag(String tag, PageCursor after, int limit);
+
+  /**
+   * Returns comments of a post ordered by creation time, starting right after the given position.
+   * The position need not belong to an existing comment.
+   *
+   * @param postId The post whose comments are read.
+   * @param after  Position of the last comment of the previous page, or {@code null} for the
+   *               first page.
+   * @param limit  Maximum number of comments to return.
+   */
+  List<PageItem<CommentResponse>> findComments(UUID postId, PageCursor after, int limit);
+
+  /**
+   * Looks up the position of a comment of a post, for clients that continue paging from a bare
+   * comment id.
+   */
+  Optional<PageCursor> findCommentCursor(UUID postId, UUID commentId);
+
+  /**
+   * Reads posts without their comments in a single query. Missing ids are skipped; the result is
+   * in no particular order.
+   */
+  List<PostSummary> findPostSummaries(Collection<UUID> postIds);
+
+  /**
+   * Returns users who liked a post, most recent like first, starting right after the given
+   * position. The position need not belong to an existing like.
+   *
+   * @param postId The liked post.
+   * @param after  Position (like time and liker id) of the last liker of the previous page, or
+   *               {@code null} for the first page.
+   * @param limit  Maximum number of likers to return.
+   */
+  List<PageItem<UUID>> findPostLikers(UUID postId, PageCursor after, int limit);
+
+  /**
+   * Returns users who liked a comment of a post, most recent like first, starting right after the
+   * given position.
+   *
+   * @see #findPostLikers(UUID, PageCursor, int)
+   */
+  List<PageItem<UUID>> findCommentLikers(UUID postId, UUID commentId, PageCursor after,
+      int limit);
+
+  /**
+   * Checks in a single query which of the given posts were liked by a user.
+   *
+   * @return The subset of {@code postIds} liked by {@code likerId}.
+   */
+  Set<UUID> findLikedPostIds(UUID likerId, Collection<UUID> postIds);
+}
@@ -0,0 +1,176 @@
+package com.grzegorzkartasiewicz.app;
+
+import static com.grzegorzkartasiewicz.app.PostService.POST_DONT_EXISTS_MESSAGE;
+
+import com.grzegorzkartasiewicz.domain.ValidationException;
+import com.grzegorzkartasiewicz.domain.vo.Hashtag;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service for paginated reads of posts and comments. Pages are addressed with keyset cursors (the
+ * position of the last element of the previous page), so reading deep pages costs the same as
+ * reading the first one.
+ */
+@RequiredArgsConstructor
+public class PostQueryService {
+
+  public static final int MAX_LIKED_POSTS_IDS = 200;
+
+  private final PostQueryPort postQueryPort;
+  private final int maxPageSize;
+  private final int maxPostsPageSize;
+  private final int maxLikersPageSize;
+
+  /**
+   * Reads one page of an author's posts, newest first.
+   *
+   * @param authorId The author whose posts are read.
+   * @param after    The {@link PostPage#nextCursor()} of the previous page, or {@code null}.
+   * @param limit    Requested page size, capped at the configured maximum.
+   * @return The page of posts, without comments.
+   * @throws IllegalArgumentException if the cursor is malformed.
+   */
+  public PostPage getPostsByAuthor(UUID authorId, String after, int limit) {
+    int pageSize = Math.clamp(limit, 1, maxPostsPageSize);
+    return postPage(postQueryPort.findPostsByAuthor(authorId, postCursor(after), pageSize + 1),
+        pageSize);
+  }
+
+  /**
+   * Reads one page of the posts with a hashtag, newest first.
+   *
+   * @param tag   The hashtag, with or without the leading {@code #}; it is normalised like the
+   *              tags of descriptions.
+   * @param after The {@link PostPage#nextCursor()} of the previous page, or {@code null}.
+   * @param limit Requested page size, capped at the configured maximum.
+   * @return The page of posts, without comments.
+   * @throws ValidationException      if the tag is not a valid hashtag.
+   * @throws IllegalArgumentException if the cursor is malformed.
+   */
+  public PostPage getPostsByTag(String tag, String after, int limit) {
+    int pageSize = Math.clamp(limit, 1, maxPostsPageSize);
+    return postPage(postQueryPort.findPostsByTag(Hashtag.of(tag).name(), postCursor(after),
+        pageSize + 1), pageSize);
+  }
+
+  /**
+   * Reads one page of comments of a post.
+   *
+   * @param postId The post whose comments are read.
+   * @param after  The {@link CommentPage#nextCursor()} of the previous page, the id of the last
+   *               comment of {@link PostService#getPost(UUID, int)}, or {@code null}.
+   * @param limit  Requested page size, capped at the configured maximum.
+   * @return The page of comments.
+   * @throws PostNotExists            if the post does not exist.
+   * @throws IllegalArgumentException if the cursor is malformed, or is a comment id that no longer
+   *                                  exists.
+   */
+  public CommentPage getComments(UUID postId, String after, int limit) {
+    int pageSize = Math.clamp(limit, 1, maxPageSize);
+    List<PageItem<CommentResponse>> comments = postQueryPort.findComments(postId,
+        commentCursor(postId, after), pageSize + 1);
+    if (comments.isEmpty() && !postQueryPort.postExists(postId)) {
+      throw new PostNotExists(String.format(POST_DONT_EXISTS_MESSAGE, postId));
+    }
+    String nextCursor = comments.size() > pageSize
+        ? comments.get(pageSize - 1).cursor().toCursor() : null;
+    return new CommentPage(comments.stream().limit(pageSize).map(PageItem::value).toList(),
+        nextCursor);
+  }
+
+  /**
+   * Reads one page of users who liked a post, most recent like first.
+   *
+   * @param postId The liked post.
+   * @param after  The {@link LikerPage#nextCursor()} of the previous page, or {@code null}.
+   * @param limit  Requested page size, capped at the configured maximum.
+   * @throws PostNotExists            if the post does not exist.
+   * @throws IllegalArgumentException if the cursor is malformed.
+   */
+  public LikerPage getPostLikers(UUID postId, String after, int limit) {
+    int pageSize = Math.clamp(limit, 1, maxLikersPageSize);
+    return likerPage(postId,
+        postQueryPort.findPostLikers(postId, likerCursor(after), pageSize + 1), pageSize);
+  }
+
+  /**
+   * Reads one page of users who liked a comment, most recent like first.
+   *
+   * @see #getPostLikers(UUID, String, int)
+   */
+  public LikerPage getCommentLikers(UUID postId, UUID commentId, String after, int limit) {
+    int pageSize = Math.clamp(limit, 1, maxLikersPageSize);
+    return likerPage(postId,
+        postQueryPort.findCommentLikers(postId, commentId, likerCursor(after), pageSize + 1),
+        pageSize);
+  }
+
+  /**
+   * Tells for each of the given posts whether the viewer liked it, with one query for all of them,
+   * so a whole page of posts can be rendered without a request per post.
+   *
+   * @param viewerId The user whose likes are checked.
+   * @param request  At most {@link #MAX_LIKED_POSTS_IDS} post ids.
+   * @return Liked-state per requested post id, in request order.
+   */
+  public Map<UUID, Boolean> getLikedPosts(UUID viewerId, LikedPostsRequest request) {
+    Set<UUID> liked = postQueryPort.findLikedPostIds(viewerId, Set.copyOf(request.postIds()));
+    Map<UUID, Boolean> result = LinkedHashMap.newLinkedHashMap(request.postIds().size());
+    request.postIds().forEach(postId -> result.put(postId, liked.contains(postId)));
+    return result;
+  }
+
+  /**
+   * Decodes a comment cursor. A bare comment id, as returned with a post, is resolved to its
+   * position; once that comment is gone the position is unknown, so it is rejected rather than
+   * silently ending the listing.
+   */
+  private PageCursor commentCursor(UUID postId, String after) {
+    if (after == null) {
+      return null;
+    }
+    if (!after.contains("_")) {
+      UUID commentId = parseId(after);
+      return postQueryPort.findCommentCursor(postId, commentId).orElseThrow(
+          () -> new IllegalArgumentException("Comment cursor no longer exists: " + after));
+    }
+    return PageCursor.fromCursor(after);
+  }
+
+  private static UUID parseId(String cursor) {
+    try {
+      return UUID.fromString(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+    }
+  }
+
+  private static PostPage postPage(List<PageItem<PostSummary>> posts, int pageSize) {
+    String nextCursor = posts.size() > pageSize
+        ? posts.get(pageSize - 1).cursor().toCursor() : null;
+    return new PostPage(posts.stream().limit(pageSize).map(PageItem::value).toList(), nextCursor);
+  }
+
+  private LikerPage likerPage(UUID postId, List<PageItem<UUID>> likers, int pageSize) {
+    if (likers.isEmpty() && !postQueryPort.postExists(postId)) {
+      throw new PostNotExists(String.format(POST_DONT_EXISTS_MESSAGE, postId));
+    }
+    String nextCursor = likers.size() > pageSize
+        ? likers.get(pageSize - 1).cursor().toCursor() : null;
+    return new LikerPage(likers.stream().limit(pageSize).map(PageItem::value).toList(),
+        nextCursor);
+  }
+
+  private static PageCursor postCursor(String after) {
+    return after == null ? null : PageCursor.fromCursor(after);
+  }
+
+  private static PageCursor likerCursor(String after) {
+    return after == null ? null : PageCursor.fromCursor(after);
+  }
+}
@@ -5,4 +5,17 @@ import java.util.UUID;
 
 public record PostResponse(UUID id, String description, UUID authorId, int likeCount, List<CommentResponse> comments) {
 
+  /**
+   * Keeps only the first page of comments. The id of the last kept comment is the cursor for
+   * {@link PostQueryService#getComments(UUID, String, int)}.
+   *
+   * @param limit Maximum number of comments to keep.
+   */
+  public PostResponse withFirstComments(int limit) {
+    if (comments.size() <= limit) {
+      return this;
+    }
+    return new PostResponse(id, description, authorId, likeCount,
+        List.copyOf(comments.subList(0, Math.max(limit, 0))));
+  }
 }
@@ -0,0 +1,10 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.UUID;
+
+/**
+ * Estimated number of likes a post received within a trending window.
+ */
+public record PostScore(UUID postId, long likes) {
+
+}
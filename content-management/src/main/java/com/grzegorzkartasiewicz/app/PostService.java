@@ -5,6 +5,7 @@ import com.grzegorzkartasiewicz.domain.CommentLiked;
 import com.grzegorzkartasiewicz.domain.CommentNotExists;
 import com.grzegorzkartasiewicz.domain.CommentUnliked;
 import com.grzegorzkartasiewicz.domain.DomainEventPublisher;
+import com.grzegorzkartasiewicz.domain.LikeTargetSnapshot;
 import com.grzegorzkartasiewicz.domain.Post;
 import com.grzegorzkartasiewicz.domain.PostAction;
 import com.grzegorzkartasiewicz.domain.PostChangedEvent;
@@ -30,8 +31,10 @@ import lombok.extern.slf4j.Slf4j;
 public class PostService {
 
   public static final String POST_DONT_EXISTS_MESSAGE = "Post with given ID: %s does not exist";
+  public static final int MAX_BATCH_GET_IDS = 200;
   private final PostRepository postRepository;
   private final DomainEventPublisher eventPublisher;
+  private final int maxCommentsLimit;
 
   /**
    * Creates a new post.
@@ -51,6 +54,35 @@ public class PostService {
     return getPostResponse(addedPost);
   }
 
+  /**
+   * Reads a post with its first comments. The post may come from the cache that also serves
+   * {@link #getPosts(PostBatchGetRequest)}, so reads of a popular post rarely reach the database.
+   *
+   * @param postId        The post to read.
+   * @param commentsLimit Requested number of comments, capped at the configured maximum. The id
+   *                      of the last returned comment can be passed as cursor to
+   *                      {@link PostQueryService#getComments(UUID, String, int)}.
+   * @throws PostNotExists if the post does not exist.
+   */
+  public PostResponse getPost(UUID postId, int commentsLimit) {
+    Post post = postRepository.findPostToRead(new PostId(postId))
+        .orElseThrow(() -> new PostNotExists(String.format(POST_DONT_EXISTS_MESSAGE, postId)));
+    return getPostResponse(post, Math.clamp(commentsLimit, 0, maxCommentsLimit));
+  }
+
+  /**
+   * Reads several posts at once.
+   *
+   * @param postBatchGetRequest Ids of the posts, at most {@link #MAX_BATCH_GET_IDS}.
+   * @return The existing posts in request order; missing posts are skipped.
+   */
+  public List<PostResponse> getPosts(PostBatchGetRequest postBatchGetRequest) {
+    return postRepository.findAllByIds(
+            postBatchGetRequest.ids().stream().map(PostId::new).toList()).stream()
+        .map(this::getPostResponse)
+        .toList();
+  }
+
   /**
    * Updates an existing post's description.
    */
@@ -188,13 +220,97 @@ public class PostService {
     return getPostResponse(postToEdit);
   }
 
+  /**
+   * Likes a post optimistically without loading its comments.
+   *
+   * @return The post id and its optimistic like count.
+   */
+  public LikeAck registerPostLike(UUID postId, UUID authorId) {
+    PostId pId = new PostId(postId);
+    LikeTargetSnapshot target = findPostLikeTargetOrThrow(pId);
+
+    AuthorId actorId = new AuthorId(authorId);
+    eventPublisher.publish(new PostLiked(pId, actorId));
+    publishPostChanged(pId, null, actorId, target.authorId(), PostAction.POST_LIKED);
+
+    return new LikeAck(postId, null, target.liked().likeCount());
+  }
+
+  /**
+   * Unlikes a post optimistically without loading its comments.
+   *
+   * @return The post id and its optimistic like count.
+   */
+  public LikeAck registerPostUnlike(UUID postId, UUID authorId) {
+    PostId pId = new PostId(postId);
+    LikeTargetSnapshot target = findPostLikeTargetOrThrow(pId);
+
+    AuthorId actorId = new AuthorId(authorId);
+    eventPublisher.publish(new PostUnliked(pId, actorId));
+    publishPostChanged(pId, null, actorId, target.authorId(), PostAction.POST_UNLIKED);
+
+    return new LikeAck(postId, null, target.unliked().likeCount());
+  }
+
+  /**
+   * Likes a comment optimistically without loading the other comments of the post.
+   *
+   * @return The comment id and its optimistic like count.
+   */
+  public LikeAck registerCommentLike(UUID postId, UUID commentId, UUID authorId) {
+    PostId pId = new PostId(postId);
+    CommentId cId = new CommentId(commentId);
+    LikeTargetSnapshot target = findCommentLikeTargetOrThrow(pId, cId);
+
+    AuthorId actorId = new AuthorId(authorId);
+    eventPublisher.publish(new CommentLiked(pId, cId, actorId));
+    publishPostChanged(pId, cId, actorId, target.authorId(), PostAction.COMMENT_LIKED);
+
+    return new LikeAck(postId, commentId, target.liked().likeCount());
+  }
+
+  /**
+   * Unlikes a comment optimistically without loading the other comments of the post.
+   *
+   * @return The comment id and its optimistic like count.
+   */
+  public LikeAck registerCommentUnlike(UUID postId, UUID commentId, UUID authorId) {
+    PostId pId = new PostId(postId);
+    CommentId cId = new CommentId(commentId);
+    LikeTargetSnapshot target = findCommentLikeTargetOrThrow(pId, cId);
+
+    AuthorId actorId = new AuthorId(authorId);
+    eventPublisher.publish(new CommentUnliked(pId, cId, actorId));
+    publishPostChanged(pId, cId, actorId, target.authorId(), PostAction.COMMENT_UNLIKED);
+
+    return new LikeAck(postId, commentId, target.unliked().likeCount());
+  }
+
+  private LikeTargetSnapshot findPostLikeTargetOrThrow(PostId postId) {
+    return postRepository.findPostLikeTarget(postId)
+        .orElseThrow(() -> new PostNotExists(String.format(POST_DONT_EXISTS_MESSAGE, postId.id())));
+  }
+
+  private LikeTargetSnapshot findCommentLikeTargetOrThrow(PostId postId, CommentId commentId) {
+    return postRepository.findCommentLikeTarget(postId, commentId).orElseThrow(() -> {
+      if (!postRepository.existsById(postId)) {
+        return new PostNotExists(String.format(POST_DONT_EXISTS_MESSAGE, postId.id()));
+      }
+      return new CommentNotExists(
+          String.format("Comment with given ID: %s does not exist", commentId.id()));
+    });
+  }
+
   private Post findPostOrThrow(UUID postId) {
     return postRepository.findPostById(new PostId(postId))
         .orElseThrow(() -> new PostNotExists(String.format(POST_DONT_EXISTS_MESSAGE, postId)));
   }
 
-  private List<CommentResponse> mapCommentsToResponse(List<Comment> comments) {
-    return comments.stream().map(
+  /**
+   * Maps the first {@code limit} comments; the rest are not mapped at all.
+   */
+  private static List<CommentResponse> mapCommentsToResponse(List<Comment> comments, int limit) {
+    return comments.stream().limit(limit).map(
             comment -> new CommentResponse(comment.getId().id(), comment.getDescription().text(),
                 comment.getAuthorId().id(), comment.getLikeCounter().likeCount()))
         .toList();
@@ -204,8 +320,13 @@ public class PostService {
       CommentId commentId) {
     AuthorId recipientId = determineRecipient(post, action, commentId);
 
+    publishPostChanged(post.getId(), commentId, actorId, recipientId, action);
+  }
+
+  private void publishPostChanged(PostId postId, CommentId commentId, AuthorId actorId,
+      AuthorId recipientId, PostAction action) {
     eventPublisher.publish(new PostChangedEvent(
-        post.getId(),
+        postId,
         Optional.ofNullable(commentId),
         actorId,
         recipientId,
@@ -216,18 +337,18 @@ public class PostService {
   private AuthorId determineRecipient(Post post, PostAction action, CommentId commentId) {
     if (action == PostAction.COMMENT_LIKED || action == PostAction.COMMENT_UNLIKED
         || action == PostAction.COMMENT_EDITED) {
-      return post.getComments().stream()
-          .filter(c -> c.getId().equals(commentId))
-          .map(Comment::getAuthorId)
-          .findFirst()
-          .orElseThrow(() -> new CommentNotExists("Recipient comment not found"));
+      return post.getCommentAuthorId(commentId);
     }
     return post.getAuthorId();
   }
 
   private PostResponse getPostResponse(Post post) {
+    return getPostResponse(post, Integer.MAX_VALUE);
+  }
+
+  private PostResponse getPostResponse(Post post, int commentsLimit) {
     return new PostResponse(post.getId().id(), post.getDescription().text(),
         post.getAuthorId().id(), post.getLikeCounter().likeCount(),
-        mapCommentsToResponse(post.getComments()));
+        mapCommentsToResponse(post.getComments(), commentsLimit));
   }
 }
@@ -0,0 +1,12 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A post without its comments, as shown in lists of posts.
+ */
+public record PostSummary(UUID id, String description, UUID authorId, int likeCount,
+                          Instant createdAt) {
+
+}
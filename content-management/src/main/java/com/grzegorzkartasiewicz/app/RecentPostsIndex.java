@@ -0,0 +1,29 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recent posts of authors whose posts are not fanned out, pulled into feeds at read time.
+ */
+public interface RecentPostsIndex {
+
+  /**
+   * Records a new post of the author.
+   */
+  void add(UUID authorId, TimelineEntry entry);
+
+  /**
+   * Reads the author's recent posts, newest first.
+   *
+   * @param authorId The author.
+   * @param after    The last entry of the previous page, or {@code null} for the first page.
+   * @param limit    Maximum number of entries to return.
+   */
+  List<TimelineEntry> read(UUID authorId, TimelineEntry after, int limit);
+
+  /**
+   * @return {@code true} if no author has indexed posts, i.e. feeds can skip the pull phase.
+   */
+  boolean isEmpty();
+}
@@ -0,0 +1,47 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A post on a timeline, ordered by creation time (epoch millis) with the post id as tie-breaker.
+ */
+public record TimelineEntry(UUID postId, long createdAt) {
+
+  public static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+      .comparingLong(TimelineEntry::createdAt)
+      .thenComparing(TimelineEntry::postId)
+      .reversed();
+
+  private static final String CURSOR_SEPARATOR = "_";
+
+  /**
+   * @return {@code true} if this entry comes after {@code other} in a newest-first listing.
+   */
+  public boolean isOlderThan(TimelineEntry other) {
+    return NEWEST_FIRST.compare(this, other) > 0;
+  }
+
+  /**
+   * @return Opaque cursor pointing at this entry.
+   */
+  public String toCursor() {
+    return createdAt + CURSOR_SEPARATOR + postId;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the cursor was not created by {@link #toCursor()}.
+   */
+  public static TimelineEntry fromCursor(String cursor) {
+    int separator = cursor.indexOf(CURSOR_SEPARATOR);
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid feed cursor: " + cursor);
+    }
+    try {
+      return new TimelineEntry(UUID.fromString(cursor.substring(separator + 1)),
+          Long.parseLong(cursor.substring(0, separator)));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid feed cursor: " + cursor, e);
+    }
+  }
+}
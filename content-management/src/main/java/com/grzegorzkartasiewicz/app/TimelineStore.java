@@ -0,0 +1,25 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user home timelines holding pushed posts, newest first.
+ */
+public interface TimelineStore {
+
+  /**
+   * Adds a post to the timelines of the given users.
+   */
+  void append(Collection<UUID> userIds, TimelineEntry entry);
+
+  /**
+   * Reads entries from a user's timeline, newest first.
+   *
+   * @param userId The owner of the timeline.
+   * @param after  The last entry of the previous page, or {@code null} for the first page.
+   * @param limit  Maximum number of entries to return.
+   */
+  List<TimelineEntry> read(UUID userId, TimelineEntry after, int limit);
+}
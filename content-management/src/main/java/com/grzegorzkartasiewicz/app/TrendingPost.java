@@ -0,0 +1,8 @@
+package com.grzegorzkartasiewicz.app;
+
+/**
+ * A trending post with the (estimated) number of likes it received within the requested window.
+ */
+public record TrendingPost(PostSummary post, long recentLikes) {
+
+}
@@ -0,0 +1,73 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service listing trending posts, i.e. the posts liked most within a recent time window, and
+ * trending hashtags, i.e. the tags given to the most posts within it.
+ */
+@RequiredArgsConstructor
+public class TrendingService {
+
+  private static final Pattern WINDOW = Pattern.compile("(\\d+)([smhd])");
+
+  private final TrendingTracker trendingTracker;
+  private final TrendingTagTracker trendingTagTracker;
+  private final PostQueryPort postQueryPort;
+  private final int maxLimit;
+
+  /**
+   * @param window Window length such as {@code 5m} or {@code 1h}.
+   * @param limit  Requested number of posts, capped at the configured maximum.
+   * @return Trending posts, most liked first. Posts deleted in the meantime are skipped.
+   * @throws IllegalArgumentException if the window is malformed or not tracked.
+   */
+  public List<TrendingPost> getTrending(String window, int limit) {
+    List<PostScore> scores = trendingTracker.top(parseWindow(window),
+        Math.clamp(limit, 1, maxLimit));
+    Map<UUID, PostSummary> posts = postQueryPort.findPostSummaries(
+            scores.stream().map(PostScore::postId).toList()).stream()
+        .collect(Collectors.toMap(PostSummary::id, Function.identity()));
+    return scores.stream()
+        .filter(score -> posts.containsKey(score.postId()))
+        .map(score -> new TrendingPost(posts.get(score.postId()), score.likes()))
+        .toList();
+  }
+
+  /**
+   * @param window Window length such as {@code 5m} or {@code 1h}.
+   * @param limit  Requested number of tags, capped at the configured maximum.
+   * @return Trending hashtags, most used first.
+   * @throws IllegalArgumentException if the window is malformed or not tracked.
+   */
+  public List<TrendingTag> getTrendingTags(String window, int limit) {
+    return trendingTagTracker.top(parseWindow(window), Math.clamp(limit, 1, maxLimit));
+  }
+
+  static Duration parseWindow(String window) {
+    Matcher matcher = WINDOW.matcher(window);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Invalid trending window: " + window);
+    }
+    ChronoUnit unit = switch (matcher.group(2)) {
+      case "s" -> ChronoUnit.SECONDS;
+      case "m" -> ChronoUnit.MINUTES;
+      case "h" -> ChronoUnit.HOURS;
+      default -> ChronoUnit.DAYS;
+    };
+    try {
+      return Duration.of(Long.parseLong(matcher.group(1)), unit);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid trending window: " + window, e);
+    }
+  }
+}
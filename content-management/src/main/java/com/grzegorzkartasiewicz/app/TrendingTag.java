@@ -0,0 +1,8 @@
+package com.grzegorzkartasiewicz.app;
+
+/**
+ * A trending hashtag with the (estimated) number of posts that got it within the requested window.
+ */
+public record TrendingTag(String tag, long recentPosts) {
+
+}
@@ -0,0 +1,18 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tracks how often hashtags are given to posts over sliding windows.
+ */
+public interface TrendingTagTracker {
+
+  /**
+   * @param window One of the tracked window lengths.
+   * @param limit  Maximum number of tags to return.
+   * @return Tags given to the most posts within the window, most used first.
+   * @throws IllegalArgumentException if the window is not tracked.
+   */
+  List<TrendingTag> top(Duration window, int limit);
+}
@@ -0,0 +1,18 @@
+package com.grzegorzkartasiewicz.app;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tracks like rates of posts over sliding windows.
+ */
+public interface TrendingTracker {
+
+  /**
+   * @param window One of the tracked window lengths.
+   * @param limit  Maximum number of posts to return.
+   * @return Posts with the most likes within the window, most liked first.
+   * @throws IllegalArgumentException if the window is not tracked.
+   */
+  List<PostScore> top(Duration window, int limit);
+}
@@ -0,0 +1,26 @@
+package com.grzegorzkartasiewicz.domain;
+
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+
+/**
+ * Minimal read of a post or comment that is about to be liked or unliked: its author (the
+ * notification recipient) and its current like counter. Used instead of loading the whole
+ * {@link Post} aggregate, since a like never touches the other comments.
+ */
+public record LikeTargetSnapshot(AuthorId authorId, LikeCounter likeCounter) {
+
+  /**
+   * @return The optimistic like counter after a like.
+   */
+  public LikeCounter liked() {
+    return likeCounter.increase();
+  }
+
+  /**
+   * @return The optimistic like counter after an unlike, never below zero.
+   */
+  public LikeCounter unliked() {
+    return likeCounter.likeCount() > 0 ? likeCounter.decrease() : likeCounter;
+  }
+}
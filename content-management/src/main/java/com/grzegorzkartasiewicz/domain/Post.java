@@ -7,15 +7,19 @@ import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
 import com.grzegorzkartasiewicz.domain.vo.PostId;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.Map;
 import lombok.Getter;
 
 /**
  * Aggregate Root representing a Post in the system. Manages the lifecycle of the post, including
  * comments and like counters.
+ * <p>
+ * Comments are looked up through an id index that is built on first use, so operations on a
+ * single comment do not scan the whole thread.
+ * </p>
  */
-@AllArgsConstructor
 public class Post {
 
   @Getter
@@ -29,6 +33,18 @@ public class Post {
 
   private List<Comment> comments;
 
+  private Map<CommentId, Comment> commentsById;
+
+  private final PostChanges changes = new PostChanges();
+
+  public Post(PostId id, Description description, AuthorId authorId, LikeCounter likeCounter,
+      List<Comment> comments) {
+    this.id = id;
+    this.description = description;
+    this.authorId = authorId;
+    this.likeCounter = likeCounter;
+    this.comments = comments;
+  }
 
   Post(Description description, AuthorId authorId) {
     this.id = new PostId(null);
@@ -53,6 +69,13 @@ public class Post {
     return Collections.unmodifiableList(comments);
   }
 
+  /**
+   * @return Changes made since this instance was created from persisted state.
+   */
+  public PostChanges getChanges() {
+    return changes;
+  }
+
   /**
    * Edits the description of the post.
    *
@@ -63,6 +86,7 @@ public class Post {
   public void edit(Description newText, AuthorId authorId) {
     validateAuthor(this.authorId, authorId);
     this.description = newText;
+    changes.descriptionChanged();
   }
 
   /**
@@ -84,19 +108,27 @@ public class Post {
   }
 
   public void addComment(Description text, AuthorId authorId) {
-    this.comments.add(Comment.createNew(text, authorId));
+    Comment comment = Comment.createNew(text, authorId);
+    this.comments.add(comment);
+    if (commentsById != null) {
+      commentsById.putIfAbsent(comment.getId(), comment);
+    }
+    changes.commentAdded(comment);
   }
 
   public void editComment(CommentId commentId, Description newText, AuthorId authorId) {
     Comment comment = findCommentOrThrow(commentId);
     validateAuthor(comment.getAuthorId(), authorId);
     comment.edit(newText);
+    changes.commentEdited(comment);
   }
 
   public void removeComment(CommentId commentId, AuthorId authorId) {
     Comment comment = findCommentOrThrow(commentId);
     validateAuthor(comment.getAuthorId(), authorId);
     this.comments.remove(comment);
+    unindex(comment);
+    changes.commentRemoved(comment);
   }
 
   public void increaseLikesInComment(CommentId commentId) {
@@ -107,6 +139,14 @@ public class Post {
     findCommentOrThrow(commentId).decreaseLikes();
   }
 
+  /**
+   * @return The author of the given comment, e.g. to notify them about a like.
+   * @throws CommentNotExists if the post has no such comment.
+   */
+  public AuthorId getCommentAuthorId(CommentId commentId) {
+    return findCommentOrThrow(commentId).getAuthorId();
+  }
+
   public void validatePostAuthor(AuthorId authorIdThatWantsToEdit) {
     validateAuthor(this.authorId, authorIdThatWantsToEdit);
   }
@@ -118,11 +158,30 @@ public class Post {
   }
 
   private Comment findCommentOrThrow(CommentId commentId) {
-    return this.comments.stream()
-        .filter(comment -> comment.getId().equals(commentId))
-        .findFirst()
-        .orElseThrow(() -> new CommentNotExists(
-            String.format("Comment with given ID: %s does not exist", commentId.id())
-        ));
+    Comment comment = commentsById().get(commentId);
+    if (comment == null) {
+      throw new CommentNotExists(
+          String.format("Comment with given ID: %s does not exist", commentId.id()));
+    }
+    return comment;
+  }
+
+  private Map<CommentId, Comment> commentsById() {
+    if (commentsById == null) {
+      commentsById = HashMap.newHashMap(comments.size());
+      comments.forEach(comment -> commentsById.putIfAbsent(comment.getId(), comment));
+    }
+    return commentsById;
+  }
+
+  /**
+   * Comments added since the post was loaded share the {@code null} id until they are saved, so
+   * removing one of them rebuilds the index instead of leaving the others unreachable.
+   */
+  private void unindex(Comment comment) {
+    if (commentsById != null && commentsById.remove(comment.getId(), comment)
+        && comment.getId().id() == null) {
+      commentsById = null;
+    }
   }
 }
@@ -0,0 +1,73 @@
+package com.grzegorzkartasiewicz.domain;
+
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes made to a {@link Post} since it was loaded, so that a repository can persist only what
+ * changed instead of the whole aggregate. Like counters are not tracked; they are maintained
+ * outside the aggregate.
+ */
+public class PostChanges {
+
+  private boolean descriptionChanged;
+  private final List<Comment> addedComments = new ArrayList<>();
+  private final Set<Comment> editedComments = new LinkedHashSet<>();
+  private final List<CommentId> removedCommentIds = new ArrayList<>();
+
+  public boolean isDescriptionChanged() {
+    return descriptionChanged;
+  }
+
+  /**
+   * @return Comments added since the post was loaded, in the order they were added.
+   */
+  public List<Comment> getAddedComments() {
+    return Collections.unmodifiableList(addedComments);
+  }
+
+  /**
+   * @return Previously persisted comments whose description changed.
+   */
+  public List<Comment> getEditedComments() {
+    return List.copyOf(editedComments);
+  }
+
+  /**
+   * @return Ids of previously persisted comments that were removed.
+   */
+  public List<CommentId> getRemovedCommentIds() {
+    return Collections.unmodifiableList(removedCommentIds);
+  }
+
+  public boolean isEmpty() {
+    return !descriptionChanged && addedComments.isEmpty() && editedComments.isEmpty()
+        && removedCommentIds.isEmpty();
+  }
+
+  void descriptionChanged() {
+    descriptionChanged = true;
+  }
+
+  void commentAdded(Comment comment) {
+    addedComments.add(comment);
+  }
+
+  void commentEdited(Comment comment) {
+    if (!addedComments.contains(comment)) {
+      editedComments.add(comment);
+    }
+  }
+
+  void commentRemoved(Comment comment) {
+    if (addedComments.remove(comment)) {
+      return;
+    }
+    editedComments.remove(comment);
+    removedCommentIds.add(comment.getId());
+  }
+}
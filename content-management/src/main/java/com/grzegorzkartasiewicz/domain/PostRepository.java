@@ -1,13 +1,38 @@
 package com.grzegorzkartasiewicz.domain;
 
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
 import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PostRepository {
 
   Post save(Post post);
 
+  /**
+   * Loads the current state of a post, to be changed and saved. Never served from a cache.
+   */
   Optional<Post> findPostById(PostId id);
 
+  /**
+   * Loads a post to be read only. Like {@link #findAllByIds(Collection)} it may come from a cache,
+   * so it is not meant to be changed and saved.
+   */
+  Optional<Post> findPostToRead(PostId id);
+
+  /**
+   * Loads several posts at once. Missing ids are skipped; the posts are returned in the order of
+   * the first occurrence of their ids. The posts may come from a cache, so they can lag behind
+   * writes made on other instances; they are not meant to be changed and saved.
+   */
+  List<Post> findAllByIds(Collection<PostId> ids);
+
   void delete(Post postToDelete);
+
+  boolean existsById(PostId id);
+
+  Optional<LikeTargetSnapshot> findPostLikeTarget(PostId id);
+
+  Optional<LikeTargetSnapshot> findCommentLikeTarget(PostId postId, CommentId commentId);
 }
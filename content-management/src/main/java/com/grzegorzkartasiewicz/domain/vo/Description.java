@@ -1,12 +1,41 @@
 package com.grzegorzkartasiewicz.domain.vo;
 
 import com.grzegorzkartasiewicz.domain.ValidationException;
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public record Description(String text) {
 
+  /**
+   * A {@code #} followed by letters, digits or underscores, not preceded by one of them (so
+   * {@code a#b} and {@code ##b} are not tags).
+   */
+  private static final Pattern HASHTAG =
+      Pattern.compile("(?<![\\p{L}\\p{M}\\p{N}_#])#([\\p{L}\\p{M}\\p{N}_]+)");
+
   public Description {
     if (text == null || text.isBlank()) {
       throw new ValidationException("Description is required");
     }
   }
+
+  /**
+   * @return The distinct hashtags of the text in order of appearance; tags longer than
+   * {@link Hashtag#MAX_LENGTH} are ignored.
+   */
+  public Set<Hashtag> hashtags() {
+    Set<Hashtag> hashtags = new LinkedHashSet<>();
+    Matcher matcher = HASHTAG.matcher(Normalizer.normalize(text, Normalizer.Form.NFKC));
+    while (matcher.find()) {
+      String name = matcher.group(1).toLowerCase(Locale.ROOT);
+      if (name.length() <= Hashtag.MAX_LENGTH) {
+        hashtags.add(new Hashtag(name));
+      }
+    }
+    return hashtags;
+  }
 }
@@ -0,0 +1,33 @@
+package com.grzegorzkartasiewicz.domain.vo;
+
+import com.grzegorzkartasiewicz.domain.ValidationException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * A normalised hashtag name: NFKC-normalised, lower case and without the leading {@code #}, so
+ * {@code #Java}, {@code #JAVA} and {@code java} are the same tag.
+ */
+public record Hashtag(String name) {
+
+  public static final int MAX_LENGTH = 64;
+  private static final Pattern NAME = Pattern.compile("[\\p{L}\\p{M}\\p{N}_]{1," + MAX_LENGTH + "}");
+
+  public Hashtag {
+    if (name == null || !NAME.matcher(name).matches()) {
+      throw new ValidationException("Invalid hashtag: " + name);
+    }
+  }
+
+  /**
+   * Normalises a tag as written by a user, with or without the leading {@code #}.
+   */
+  public static Hashtag of(String text) {
+    if (text == null) {
+      throw new ValidationException("Hashtag is required");
+    }
+    String name = text.startsWith("#") ? text.substring(1) : text;
+    return new Hashtag(Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT));
+  }
+}
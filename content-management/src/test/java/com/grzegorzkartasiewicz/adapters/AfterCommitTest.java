@@ -0,0 +1,53 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class AfterCommitTest {
+
+  private final AtomicInteger runs = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void runShouldRunRightAwayOutsideTransaction() {
+    AfterCommit.run(runs::incrementAndGet);
+
+    assertThat(runs).hasValue(1);
+  }
+
+  @Test
+  void runShouldWaitForCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    AfterCommit.run(runs::incrementAndGet);
+
+    assertThat(runs).hasValue(0);
+
+    TransactionSynchronizationUtils.triggerAfterCommit();
+
+    assertThat(runs).hasValue(1);
+  }
+
+  @Test
+  void runShouldDropActionOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    AfterCommit.run(runs::incrementAndGet);
+    TransactionSynchronizationUtils.triggerAfterCompletion(
+        TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(runs).hasValue(0);
+  }
+}
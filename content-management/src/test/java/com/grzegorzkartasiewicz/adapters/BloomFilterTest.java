@@ -0,0 +1,54 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  void mightContainShouldNeverReturnFalseForInsertedKeys() {
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      UUID key = UUID.randomUUID();
+      keys.add(key);
+      filter.put(key);
+    }
+
+    assertThat(keys).allMatch(filter::mightContain);
+  }
+
+  @Test
+  void falsePositiveRateShouldStayCloseToConfiguredRate() {
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.put(UUID.randomUUID());
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(UUID.randomUUID())) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+  }
+
+  @Test
+  void filterShouldReportSaturationOnceCapacityIsExceeded() {
+    BloomFilter filter = new BloomFilter(2, 0.01);
+    filter.put(UUID.randomUUID());
+    filter.put(UUID.randomUUID());
+
+    assertThat(filter.isSaturated()).isFalse();
+
+    filter.put(UUID.randomUUID());
+
+    assertThat(filter.isSaturated()).isTrue();
+  }
+}
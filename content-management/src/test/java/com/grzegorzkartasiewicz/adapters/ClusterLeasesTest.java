@@ -0,0 +1,82 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class ClusterLeasesTest {
+
+  private static final String LEASE = "test-lease";
+  private static final Duration LEASE_DURATION = Duration.ofMillis(600);
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private ClusterLeases nodeA;
+  private ClusterLeases nodeB;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("CREATE TABLE cluster_leases (name VARCHAR(255) PRIMARY KEY, "
+        + "owner VARCHAR(255) NOT NULL, expires_at TIMESTAMP NOT NULL)");
+    nodeA = new ClusterLeases(jdbcTemplate, true, "node-a", LEASE_DURATION);
+    nodeB = new ClusterLeases(jdbcTemplate, true, "node-b", LEASE_DURATION);
+  }
+
+  @AfterEach
+  void tearDown() {
+    nodeA.shutdown();
+    nodeB.shutdown();
+    database.shutdown();
+  }
+
+  @Test
+  void leaseShouldBeRenewedWhileTaskOutlivesItsDuration() {
+    AtomicBoolean takenOver = new AtomicBoolean();
+
+    boolean ran = nodeA.runExclusively(LEASE, () -> {
+      sleep(LEASE_DURATION.multipliedBy(3));
+      takenOver.set(nodeB.tryAcquire(LEASE));
+    });
+
+    assertThat(ran).isTrue();
+    assertThat(takenOver).isFalse();
+    assertThat(nodeB.tryAcquire(LEASE)).isTrue();
+  }
+
+  @Test
+  void renewalShouldNotTakeBackLeaseLostDuringTask() {
+    nodeA.runExclusively(LEASE, () -> {
+      jdbcTemplate.update("UPDATE cluster_leases SET expires_at = ? WHERE name = ?",
+          Timestamp.from(Instant.now().minusSeconds(1)), LEASE);
+      assertThat(nodeB.tryAcquire(LEASE)).isTrue();
+      sleep(LEASE_DURATION.dividedBy(2));
+    });
+
+    assertThat(jdbcTemplate.queryForObject("SELECT owner FROM cluster_leases WHERE name = ?",
+        String.class, LEASE)).isEqualTo("node-b");
+    assertThat(nodeA.tryAcquire(LEASE)).isFalse();
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
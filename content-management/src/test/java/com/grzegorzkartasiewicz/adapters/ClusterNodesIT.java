@@ -0,0 +1,113 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.grzegorzkartasiewicz.app.PostCreationRequest;
+import com.grzegorzkartasiewicz.app.PostService;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs several application nodes in one JVM against one shared in-memory database.
+ */
+class ClusterNodesIT {
+
+  private static final String LEASE = "test-lease";
+  private static final Duration LEASE_DURATION = Duration.ofSeconds(1);
+
+  private String databaseUrl;
+
+  @BeforeEach
+  void setUp() {
+    databaseUrl = "jdbc:h2:mem:cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+  }
+
+  @Test
+  @DisplayName("lease should be granted to one node at a time")
+  void leaseShouldBeGrantedToOneNodeAtATime() {
+    try (ConfigurableApplicationContext nodeA = startNode("node-a");
+        ConfigurableApplicationContext nodeB = startNode("node-b")) {
+      ClusterLeases leasesA = nodeA.getBean(ClusterLeases.class);
+      ClusterLeases leasesB = nodeB.getBean(ClusterLeases.class);
+
+      assertThat(leasesA.tryAcquire(LEASE)).isTrue();
+      assertThat(leasesB.tryAcquire(LEASE)).isFalse();
+      assertThat(leasesA.tryAcquire(LEASE)).isTrue();
+
+      leasesA.release(LEASE);
+
+      assertThat(leasesB.tryAcquire(LEASE)).isTrue();
+      assertThat(leasesA.tryAcquire(LEASE)).isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("lease of lost node should be taken over once it expires")
+  void leaseOfLostNodeShouldBeTakenOverOnceItExpires() throws InterruptedException {
+    try (ConfigurableApplicationContext nodeB = startNode("node-b")) {
+      ClusterLeases leasesB = nodeB.getBean(ClusterLeases.class);
+      try (ConfigurableApplicationContext nodeA = startNode("node-a")) {
+        assertThat(nodeA.getBean(ClusterLeases.class).tryAcquire(LEASE)).isTrue();
+      }
+
+      assertThat(leasesB.tryAcquire(LEASE)).isFalse();
+
+      Thread.sleep(LEASE_DURATION.plusMillis(200));
+
+      assertThat(leasesB.tryAcquire(LEASE)).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("like deltas buffered on every node should end up in shared counter")
+  void likeDeltasBufferedOnEveryNodeShouldEndUpInSharedCounter() {
+    try (ConfigurableApplicationContext nodeA = startNode("node-a");
+        ConfigurableApplicationContext nodeB = startNode("node-b")) {
+      UUID postId = nodeA.getBean(PostService.class)
+          .addPost(new PostCreationRequest("Shared post", UUID.randomUUID())).id();
+
+      nodeA.getBean(LikeDeltaBuffer.class).add(LikeTarget.POST, postId, 3);
+      nodeB.getBean(LikeDeltaBuffer.class).add(LikeTarget.POST, postId, 4);
+      flushUntilWritten(nodeA, postId);
+      flushUntilWritten(nodeB, postId);
+
+      assertThat(nodeB.getBean(JdbcTemplate.class).queryForObject(
+          "SELECT like_counter FROM posts WHERE id = ?", Integer.class, postId)).isEqualTo(7);
+    }
+  }
+
+  /**
+   * Flushes a node until its delta is written; a run may be skipped while the scheduled flush of
+   * the other node holds the lease.
+   */
+  private static void flushUntilWritten(ConfigurableApplicationContext node, UUID postId) {
+    LikeDeltaBuffer buffer = node.getBean(LikeDeltaBuffer.class);
+    PostLikeEventListener listener = node.getBean(PostLikeEventListener.class);
+    for (int attempt = 0; attempt < 10 && buffer.pendingDelta(LikeTarget.POST, postId) != 0;
+        attempt++) {
+      listener.flush();
+    }
+  }
+
+  /**
+   * Settings are passed as arguments, since default properties would lose against the test
+   * {@code application.properties} (e.g. {@code ddl-auto=create-drop}, which drops the shared
+   * schema when a node stops).
+   */
+  private ConfigurableApplicationContext startNode(String nodeId) {
+    return new SpringApplicationBuilder(TestApplication.class)
+        .run(
+            "--spring.datasource.url=" + databaseUrl,
+            "--spring.jpa.hibernate.ddl-auto=update",
+            "--server.port=0",
+            "--content.cluster.enabled=true",
+            "--content.cluster.node-id=" + nodeId,
+            "--content.cluster.lease-duration=" + LEASE_DURATION);
+  }
+}
@@ -0,0 +1,113 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.grzegorzkartasiewicz.domain.PostAction;
+import com.grzegorzkartasiewicz.domain.PostChangedEvent;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class CoalescingDomainEventPublisherTest {
+
+  private static final PostId POST_ID = new PostId(UUID.randomUUID());
+  private static final AuthorId ACTOR_ID = new AuthorId(UUID.randomUUID());
+  private static final AuthorId RECIPIENT_ID = new AuthorId(UUID.randomUUID());
+
+  private final OutboxDomainEventPublisher outboxPublisher = mock(OutboxDomainEventPublisher.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private CoalescingDomainEventPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    publisher = new CoalescingDomainEventPublisher(outboxPublisher,
+        new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry,
+        Duration.ofSeconds(10), Duration.ofMinutes(1), 1);
+    publisher.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void toggleShouldBeHeldOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    publisher.publish(event(PostAction.POST_LIKED));
+
+    assertThat(pending()).isZero();
+
+    TransactionSynchronizationUtils.triggerAfterCommit();
+
+    assertThat(pending()).isEqualTo(1);
+    verify(outboxPublisher, never()).publish(any());
+  }
+
+  @Test
+  void rolledBackToggleShouldNeverBeHeldOrPublished() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    publisher.publish(event(PostAction.POST_LIKED));
+    TransactionSynchronizationUtils.triggerAfterCompletion(
+        TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(pending()).isZero();
+    verify(outboxPublisher, never()).publish(any());
+  }
+
+  @Test
+  void toggleBeyondMaxPendingShouldBePublishedInItsOwnTransactionAfterCommit() {
+    publisher.publish(event(PostAction.POST_LIKED));
+    TransactionSynchronizationManager.initSynchronization();
+    PostChangedEvent overflow = event(PostAction.POST_UNLIKED, new PostId(UUID.randomUUID()));
+
+    publisher.publish(overflow);
+
+    verify(outboxPublisher, never()).publish(any());
+
+    TransactionSynchronizationUtils.triggerAfterCommit();
+
+    verify(outboxPublisher).publish(overflow);
+  }
+
+  @Test
+  void otherEventsShouldBePublishedRightAway() {
+    TransactionSynchronizationManager.initSynchronization();
+    PostChangedEvent edited = event(PostAction.POST_EDITED);
+
+    publisher.publish(edited);
+
+    verify(outboxPublisher).publish(edited);
+  }
+
+  private double pending() {
+    return meterRegistry.get("content.events.coalesce.pending").gauge().value();
+  }
+
+  private static PostChangedEvent event(PostAction action) {
+    return event(action, POST_ID);
+  }
+
+  private static PostChangedEvent event(PostAction action, PostId postId) {
+    return new PostChangedEvent(postId, Optional.empty(), ACTOR_ID, RECIPIENT_ID, action);
+  }
+}
@@ -0,0 +1,98 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ConsumedEventsTest {
+
+  private static final String CONSUMER = "test-consumer";
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private ConsumedEvents consumedEvents;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("CREATE TABLE consumed_events (consumer VARCHAR(64), event_id UUID, "
+        + "consumed_at TIMESTAMP NOT NULL, PRIMARY KEY (consumer, event_id))");
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    consumedEvents = new ConsumedEvents(jdbcTemplate, Duration.ofHours(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void consumedEventShouldBeRejectedWithoutBreakingConsumersTransaction() {
+    UUID eventId = UUID.randomUUID();
+    UUID nextEventId = UUID.randomUUID();
+    assertThat(consumedEvents.markConsumed(CONSUMER, eventId)).isTrue();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      assertThat(consumedEvents.markConsumed(CONSUMER, eventId)).isFalse();
+      assertThat(consumedEvents.markConsumed(CONSUMER, nextEventId)).isTrue();
+    });
+
+    assertThat(marks()).isEqualTo(2);
+  }
+
+  @Test
+  void concurrentDeliveryShouldBeConsumedOnlyOnce() throws Exception {
+    UUID eventId = UUID.randomUUID();
+    CountDownLatch marked = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+
+    CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() ->
+        transactionTemplate.execute(status -> {
+          boolean consumed = consumedEvents.markConsumed(CONSUMER, eventId);
+          marked.countDown();
+          await(commit);
+          return consumed;
+        }));
+    assertThat(marked.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() ->
+        transactionTemplate.execute(status -> consumedEvents.markConsumed(CONSUMER, eventId)));
+    Thread.sleep(100);
+    commit.countDown();
+
+    assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.get(10, TimeUnit.SECONDS)).isFalse();
+    assertThat(marks()).isEqualTo(1);
+  }
+
+  private int marks() {
+    Integer marks = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM consumed_events",
+        Integer.class);
+    return marks == null ? 0 : marks;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of updates to a single hot key: {@link DeltaAccumulator} against the previous
+ * {@code ConcurrentHashMap<UUID, AtomicInteger>} counter, and the full {@link LikeDeltaBuffer#add}
+ * path that also appends to the {@link LikeDeltaLog}. {@link #main} runs all of them with 1, 8 and
+ * 64 contending threads; from the JMH command line use {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeltaAccumulatorBenchmark {
+
+  private static final UUID HOT_POST = UUID.randomUUID();
+
+  private final DeltaAccumulator<UUID> accumulator = new DeltaAccumulator<>();
+  private final ConcurrentHashMap<UUID, AtomicInteger> atomicCounters = new ConcurrentHashMap<>();
+  private Path walDirectory;
+  private LikeDeltaLog likeDeltaLog;
+  private LikeDeltaBuffer likeDeltaBuffer;
+
+  @Setup(Level.Trial)
+  public void openLog() throws IOException {
+    walDirectory = Files.createTempDirectory("like-wal-benchmark");
+    likeDeltaLog = new LikeDeltaLog(walDirectory);
+    likeDeltaBuffer = new LikeDeltaBuffer(likeDeltaLog);
+  }
+
+  /**
+   * Drops the log written by an iteration, so the benchmark does not fill the disk.
+   */
+  @TearDown(Level.Iteration)
+  public void discardLog() {
+    likeDeltaLog.discard(likeDeltaLog.rotate());
+  }
+
+  @TearDown(Level.Trial)
+  public void closeLog() throws IOException {
+    likeDeltaLog.close();
+    try (Stream<Path> files = Files.list(walDirectory)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(walDirectory);
+  }
+
+  @Benchmark
+  public void deltaAccumulator() {
+    accumulator.add(HOT_POST, 1);
+  }
+
+  @Benchmark
+  public void likeDeltaBuffer() {
+    likeDeltaBuffer.add(LikeTarget.POST, HOT_POST, 1);
+  }
+
+  @Benchmark
+  public int atomicInteger() {
+    return atomicCounters.computeIfAbsent(HOT_POST, id -> new AtomicInteger()).incrementAndGet();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[]{1, 8, 64}) {
+      new Runner(new OptionsBuilder()
+          .include(DeltaAccumulatorBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build()).run();
+    }
+  }
+}
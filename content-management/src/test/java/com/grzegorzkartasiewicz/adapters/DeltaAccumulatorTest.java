@@ -0,0 +1,176 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class DeltaAccumulatorTest {
+
+  private static final String HOT_KEY = "hot";
+
+  @Test
+  void drainShouldReturnAndResetSums() {
+    DeltaAccumulator<String> accumulator = new DeltaAccumulator<>();
+    accumulator.add(HOT_KEY, 2);
+    accumulator.add(HOT_KEY, 3);
+    accumulator.add("cold", 1);
+    accumulator.add("cold", -1);
+
+    DeltaAccumulator.Batch<String> batch = accumulator.drain();
+
+    assertThat(batch.deltas()).isEqualTo(Map.of(HOT_KEY, 5L));
+    assertThat(accumulator.drain().deltas()).isEmpty();
+  }
+
+  @Test
+  void drainedSumsShouldStayVisibleUntilReleased() {
+    DeltaAccumulator<String> accumulator = new DeltaAccumulator<>();
+    accumulator.add(HOT_KEY, 2);
+    accumulator.add("cold", 1);
+    DeltaAccumulator.Batch<String> batch = accumulator.drain();
+    accumulator.add(HOT_KEY, 1);
+
+    assertThat(accumulator.sum(HOT_KEY)).isEqualTo(3);
+
+    accumulator.release(batch, List.of(HOT_KEY));
+
+    assertThat(accumulator.sum(HOT_KEY)).isEqualTo(1);
+    assertThat(batch.deltas()).containsOnlyKeys("cold");
+    assertThat(batch.isReleased()).isFalse();
+
+    accumulator.release(batch, List.of("cold"));
+
+    assertThat(batch.isReleased()).isTrue();
+    assertThat(accumulator.sum("cold")).isZero();
+  }
+
+  @Test
+  void drainShouldKeepSumsWhenActionFails() {
+    DeltaAccumulator<String> accumulator = new DeltaAccumulator<>();
+    accumulator.add(HOT_KEY, 1);
+
+    assertThatThrownBy(() -> accumulator.drain(snapshot -> {
+      throw new IllegalStateException("rotation failed");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(accumulator.sum(HOT_KEY)).isEqualTo(1);
+    assertThat(accumulator.drain().deltas()).isEqualTo(Map.of(HOT_KEY, 1L));
+  }
+
+  /**
+   * A reader racing with drains must never see a delta both in the sealed generation and in the
+   * in-flight batch.
+   */
+  @Test
+  void sumShouldNeverCountDrainedDeltaTwice() throws Exception {
+    int updates = 200_000;
+    DeltaAccumulator<String> accumulator = new DeltaAccumulator<>();
+    AtomicLong accepted = new AtomicLong();
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicBoolean overCounted = new AtomicBoolean();
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Future<?> updater = executor.submit(() -> {
+        for (int i = 0; i < updates; i++) {
+          accumulator.add(HOT_KEY, 1, accepted::incrementAndGet);
+        }
+        done.set(true);
+      });
+      Future<?> drainer = executor.submit(() -> {
+        while (!done.get()) {
+          DeltaAccumulator.Batch<String> batch = accumulator.drain();
+          accumulator.release(batch, batch.deltas().keySet());
+        }
+      });
+      Future<?> reader = executor.submit(() -> {
+        while (!done.get()) {
+          long sum = accumulator.sum(HOT_KEY);
+          if (sum > accepted.get()) {
+            overCounted.set(true);
+          }
+        }
+      });
+      updater.get();
+      drainer.get();
+      reader.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(overCounted.get()).isFalse();
+  }
+
+  /**
+   * Stress test: many threads hammer one key while another thread keeps draining. Every update
+   * must be drained exactly once, and every drain must contain exactly the updates journaled since
+   * the previous one.
+   */
+  @Test
+  void concurrentUpdatesShouldNeverBeLostOrDrainedTwice() throws Exception {
+    int threads = 16;
+    int updatesPerThread = 200_000;
+    DeltaAccumulator<String> accumulator = new DeltaAccumulator<>();
+    AtomicLong journaledSinceDrain = new AtomicLong();
+    AtomicLong drainedTotal = new AtomicLong();
+    AtomicBoolean journalMismatch = new AtomicBoolean();
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicBoolean updatersDone = new AtomicBoolean();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+    try {
+      List<Future<?>> updaters = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        updaters.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < updatesPerThread; i++) {
+            accumulator.add(HOT_KEY, 1, journaledSinceDrain::incrementAndGet);
+          }
+          return null;
+        }));
+      }
+      Future<?> drainer = executor.submit(() -> {
+        start.await();
+        while (!updatersDone.get()) {
+          drain(accumulator, journaledSinceDrain, drainedTotal, journalMismatch);
+        }
+        return null;
+      });
+
+      start.countDown();
+      for (Future<?> updater : updaters) {
+        updater.get();
+      }
+      updatersDone.set(true);
+      drainer.get();
+      drain(accumulator, journaledSinceDrain, drainedTotal, journalMismatch);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(drainedTotal.get()).isEqualTo((long) threads * updatesPerThread);
+    assertThat(journalMismatch.get()).isFalse();
+  }
+
+  private static void drain(DeltaAccumulator<String> accumulator, AtomicLong journaledSinceDrain,
+      AtomicLong drainedTotal, AtomicBoolean journalMismatch) {
+    DeltaAccumulator.Batch<String> batch = accumulator.drain(snapshot -> {
+      long drained = snapshot.getOrDefault(HOT_KEY, 0L);
+      if (journaledSinceDrain.getAndSet(0) != drained) {
+        journalMismatch.set(true);
+      }
+      drainedTotal.addAndGet(drained);
+    });
+    accumulator.release(batch, batch.deltas().keySet());
+  }
+}
@@ -0,0 +1,85 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EventExecutorConfigurationTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ExecutorService executor;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    release.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void callerRunsShouldRunOverflowingTaskOnCallerAndCountIt() throws Exception {
+    executor = saturatedExecutor("caller-runs");
+    AtomicReference<Thread> runner = new AtomicReference<>();
+
+    CompletableFuture.runAsync(() -> runner.set(Thread.currentThread()), executor)
+        .get(5, TimeUnit.SECONDS);
+
+    assertThat(runner.get()).isSameAs(Thread.currentThread());
+    assertThat(rejected("caller-runs")).isEqualTo(1);
+  }
+
+  @Test
+  void dropShouldRejectOverflowingTaskAndCountIt() {
+    executor = saturatedExecutor("drop");
+
+    assertThatThrownBy(() -> CompletableFuture.runAsync(() -> {
+    }, executor)).isInstanceOf(RejectedExecutionException.class);
+    assertThat(rejected("drop")).isEqualTo(1);
+  }
+
+  @Test
+  void virtualThreadsShouldApplyTheSameBounds() {
+    executor = new EventExecutorConfiguration().eventProcessingExecutor(meterRegistry, "virtual",
+        1, 1, 1, "drop");
+    executor.execute(this::awaitRelease);
+    executor.execute(this::awaitRelease);
+
+    assertThatThrownBy(() -> executor.execute(() -> {
+    })).isInstanceOf(RejectedExecutionException.class);
+    assertThat(rejected("drop")).isEqualTo(1);
+  }
+
+  /**
+   * One worker blocked on {@link #release} and one task waiting in the full queue.
+   */
+  private ExecutorService saturatedExecutor(String overflow) {
+    ExecutorService saturated = new EventExecutorConfiguration().eventProcessingExecutor(
+        meterRegistry, "platform", 1, 1, 1, overflow);
+    saturated.execute(this::awaitRelease);
+    saturated.execute(this::awaitRelease);
+    return saturated;
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private double rejected(String overflow) {
+    return meterRegistry.get("content.events.executor.rejected").tag("overflow", overflow)
+        .counter().count();
+  }
+}
@@ -0,0 +1,234 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import com.grzegorzkartasiewicz.app.CommentResponse;
+import com.grzegorzkartasiewicz.app.FeedService;
+import com.grzegorzkartasiewicz.app.FollowersPort;
+import com.grzegorzkartasiewicz.app.PageCursor;
+import com.grzegorzkartasiewicz.app.PageItem;
+import com.grzegorzkartasiewicz.app.PostQueryPort;
+import com.grzegorzkartasiewicz.app.PostSummary;
+import com.grzegorzkartasiewicz.app.TimelineEntry;
+import com.grzegorzkartasiewicz.app.TimelineStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares fan-out-on-write cost and feed read latency of {@link FeedService} across fan-out
+ * thresholds, on a synthetic social graph where follower counts follow a power law (author
+ * {@code i} has {@code users / (i + 1)} followers).
+ * <p>
+ * {@code publish} reports the timeline entries written per post as the {@code writes} counter
+ * (write amplification); {@code readFeed} measures assembling the first page of a random reader's
+ * feed, including the pull-side merge. A threshold of {@code 2147483647} is pure
+ * fan-out-on-write.
+ * </p>
+ * Run with {@code main} from the IDE, or through the JMH runner on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedFanOutBenchmark {
+
+  private static final int USERS = 20_000;
+  private static final int AUTHORS = 2_000;
+  private static final int PRELOADED_POSTS = 5_000;
+  private static final int PAGE_SIZE = 20;
+
+  @Param({"100", "1000", "10000", "2147483647"})
+  public long threshold;
+
+  private UUID[] users;
+  private FeedService feedService;
+  private CountingTimelineStore timelineStore;
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WriteCounters {
+
+    public long writes;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    users = new UUID[USERS];
+    for (int i = 0; i < USERS; i++) {
+      users[i] = UUID.randomUUID();
+    }
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    timelineStore = new CountingTimelineStore(
+        new InMemoryTimelineStore(meterRegistry, 200, USERS));
+    feedService = new FeedService(new PowerLawFollowers(users), timelineStore,
+        new InMemoryRecentPostsIndex(meterRegistry, 200, AUTHORS), new SummaryQueryPort(),
+        PAGE_SIZE, threshold);
+    for (int i = 0; i < PRELOADED_POSTS; i++) {
+      publishRandomPost();
+    }
+  }
+
+  @Benchmark
+  public void publish(WriteCounters counters) {
+    long before = timelineStore.writes.get();
+    publishRandomPost();
+    counters.writes += timelineStore.writes.get() - before;
+  }
+
+  @Benchmark
+  public Object readFeed() {
+    return feedService.getFeed(users[random.nextInt(USERS)], null, PAGE_SIZE);
+  }
+
+  private void publishRandomPost() {
+    feedService.fanOut(UUID.randomUUID(), users[random.nextInt(AUTHORS)]);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(FeedFanOutBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private static final class PowerLawFollowers implements FollowersPort {
+
+    private final Map<UUID, Set<UUID>> followers = new HashMap<>();
+    private final Map<UUID, Set<UUID>> followed = new HashMap<>();
+
+    PowerLawFollowers(UUID[] users) {
+      for (int author = 0; author < AUTHORS; author++) {
+        int followerCount = Math.max(1, users.length / (author + 1));
+        Set<UUID> authorFollowers = new HashSet<>(followerCount);
+        for (int follower = 0; follower < followerCount; follower++) {
+          authorFollowers.add(users[follower]);
+          followed.computeIfAbsent(users[follower], id -> new HashSet<>()).add(users[author]);
+        }
+        followers.put(users[author], authorFollowers);
+      }
+    }
+
+    @Override
+    public Set<UUID> getFriendsAndFollowers(UUID authorId) {
+      return followers.getOrDefault(authorId, Set.of());
+    }
+
+    @Override
+    public long countFriendsAndFollowers(UUID authorId) {
+      return getFriendsAndFollowers(authorId).size();
+    }
+
+    @Override
+    public Set<UUID> getFriendsAndFollowed(UUID readerId) {
+      return followed.getOrDefault(readerId, Set.of());
+    }
+  }
+
+  private static final class SummaryQueryPort implements PostQueryPort {
+
+    private long clock;
+
+    @Override
+    public boolean postExists(UUID postId) {
+      return true;
+    }
+
+    @Override
+    public Optional<PostSummary> findPostSummary(UUID postId) {
+      return Optional.of(new PostSummary(postId, "", postId, 0, Instant.ofEpochMilli(++clock)));
+    }
+
+    @Override
+    public List<PageItem<PostSummary>> findPostsByAuthor(UUID authorId, PageCursor after,
+        int limit) {
+      return List.of();
+    }
+
+    @Override
+    public List<PageItem<PostSummary>> findPostsByTag(String tag, PageCursor after,
+        int limit) {
+      return List.of();
+    }
+
+    @Override
+    public List<PageItem<CommentResponse>> findComments(UUID postId, PageCursor after,
+        int limit) {
+      return List.of();
+    }
+
+    @Override
+    public Optional<PageCursor> findCommentCursor(UUID postId, UUID commentId) {
+      return Optional.empty();
+    }
+
+    @Override
+    public List<PostSummary> findPostSummaries(Collection<UUID> postIds) {
+      List<PostSummary> summaries = new ArrayList<>(postIds.size());
+      postIds.forEach(id -> summaries.add(new PostSummary(id, "", id, 0, Instant.EPOCH)));
+      return summaries;
+    }
+
+    @Override
+    public List<PageItem<UUID>> findPostLikers(UUID postId, PageCursor after, int limit) {
+      return List.of();
+    }
+
+    @Override
+    public List<PageItem<UUID>> findCommentLikers(UUID postId, UUID commentId, PageCursor after,
+        int limit) {
+      return List.of();
+    }
+
+    @Override
+    public Set<UUID> findLikedPostIds(UUID likerId, Collection<UUID> postIds) {
+      return Set.of();
+    }
+  }
+
+  private record CountingTimelineStore(TimelineStore delegate, AtomicLong writes)
+      implements TimelineStore {
+
+    CountingTimelineStore(TimelineStore delegate) {
+      this(delegate, new AtomicLong());
+    }
+
+    @Override
+    public void append(Collection<UUID> userIds, TimelineEntry entry) {
+      writes.addAndGet(userIds.size());
+      delegate.append(userIds, entry);
+    }
+
+    @Override
+    public List<TimelineEntry> read(UUID userId, TimelineEntry after, int limit) {
+      return delegate.read(userId, after, limit);
+    }
+  }
+}
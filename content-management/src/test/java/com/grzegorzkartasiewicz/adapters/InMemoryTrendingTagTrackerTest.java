@@ -0,0 +1,26 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.grzegorzkartasiewicz.app.TrendingTag;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InMemoryTrendingTagTrackerTest {
+
+  private static final Duration FIVE_MINUTES = Duration.ofMinutes(5);
+
+  private final InMemoryTrendingTagTracker tracker = new InMemoryTrendingTagTracker(
+      List.of(FIVE_MINUTES), Duration.ofMinutes(1), 2048, 4, 10, 100);
+
+  @Test
+  void topShouldReturnTagsByNumberOfTaggedPosts() {
+    tracker.record("java");
+    tracker.record("java");
+    tracker.record("spring");
+
+    assertThat(tracker.top(FIVE_MINUTES, 10))
+        .containsExactly(new TrendingTag("java", 2), new TrendingTag("spring", 1));
+  }
+}
@@ -0,0 +1,96 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.grzegorzkartasiewicz.app.PostCreationRequest;
+import com.grzegorzkartasiewicz.app.PostQueryPort;
+import com.grzegorzkartasiewicz.app.PostService;
+import com.grzegorzkartasiewicz.app.PostSummary;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Stops an application node while likes are pouring in and checks on a restarted node that every
+ * stored like was counted.
+ */
+class LikeBufferDrainIT {
+
+  private static final int STORM_THREADS = 8;
+
+  @TempDir
+  Path walDirectory;
+
+  private final String databaseUrl =
+      "jdbc:h2:mem:drain-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+  @Test
+  @DisplayName("stopping node mid-storm should persist or spill every accepted like")
+  void stoppingNodeMidStormShouldPersistOrSpillEveryAcceptedLike() throws Exception {
+    // given
+    ConfigurableApplicationContext node = startNode();
+    PostService postService = node.getBean(PostService.class);
+    LikeBufferDrainer drainer = node.getBean(LikeBufferDrainer.class);
+    UUID postId = postService.addPost(new PostCreationRequest("Viral post", UUID.randomUUID()))
+        .id();
+
+    ExecutorService storm = Executors.newFixedThreadPool(STORM_THREADS);
+    CountDownLatch liked = new CountDownLatch(500);
+    for (int i = 0; i < STORM_THREADS; i++) {
+      storm.submit(() -> {
+        while (node.isActive()) {
+          try {
+            postService.registerPostLike(postId, UUID.randomUUID());
+            liked.countDown();
+          } catch (RuntimeException e) {
+            return;
+          }
+        }
+      });
+    }
+    assertThat(liked.await(60, TimeUnit.SECONDS)).isTrue();
+
+    // when
+    node.close();
+    storm.shutdown();
+    assertThat(storm.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+    // then
+    assertThat(drainer.report()).isNotNull();
+    try (ConfigurableApplicationContext restarted = startNode()) {
+      restarted.getBean(OutboxRelay.class).relay();
+      restarted.getBean(PostLikeEventListener.class).flushBuffered();
+      Integer storedLikes = restarted.getBean(JdbcTemplate.class).queryForObject(
+          "SELECT COUNT(*) FROM post_likes WHERE post_id = ?", Integer.class, postId);
+      PostSummary post = restarted.getBean(PostQueryPort.class).findPostSummary(postId)
+          .orElseThrow();
+
+      assertThat(storedLikes).isPositive();
+      assertThat(post.likeCount()).isEqualTo(storedLikes);
+    }
+  }
+
+  /**
+   * Settings are passed as arguments, since default properties would lose against the test
+   * {@code application.properties}: the schema would be dropped on stop and every node would get
+   * its own log directory.
+   */
+  private ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(TestApplication.class)
+        .run(
+            "--spring.datasource.url=" + databaseUrl,
+            "--spring.jpa.hibernate.ddl-auto=update",
+            "--server.port=0",
+            "--content.likes.wal.directory=" + walDirectory,
+            "--content.likes.drain.timeout=PT30S");
+  }
+}
@@ -0,0 +1,232 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LikeCounterBatchWriterTest {
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    jdbcTemplate.execute("CREATE TABLE posts (id UUID PRIMARY KEY, like_counter INT NOT NULL)");
+    jdbcTemplate.execute("CREATE TABLE comments (id UUID PRIMARY KEY, like_counter INT NOT NULL)");
+    jdbcTemplate.execute("CREATE TABLE like_counter_shards (target_id UUID, shard INT, "
+        + "target VARCHAR(16) NOT NULL, delta BIGINT NOT NULL, PRIMARY KEY (target_id, shard))");
+    jdbcTemplate.execute("CREATE TABLE like_flush_chunks (segment_id UUID, target VARCHAR(16), "
+        + "first_id UUID, last_id UUID NOT NULL, PRIMARY KEY (segment_id, target, first_id))");
+    jdbcTemplate.execute("CREATE TABLE hot_like_targets (target_id UUID PRIMARY KEY, "
+        + "target VARCHAR(16) NOT NULL, heated_at TIMESTAMP NOT NULL)");
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldWriteDeltasInChunksOfAscendingIds() {
+    List<UUID> postIds = insertPosts(5);
+    List<List<UUID>> chunks = new ArrayList<>();
+
+    Map<UUID, Integer> failed = writer(2).write(LikeTarget.POST, UUID.randomUUID(),
+        deltas(postIds, 3), chunks::add);
+
+    assertThat(failed).isEmpty();
+    assertThat(chunks).containsExactly(postIds.subList(0, 2), postIds.subList(2, 4),
+        postIds.subList(4, 5));
+    assertThat(postIds).allSatisfy(id -> assertThat(likeCounter(id)).isEqualTo(3));
+  }
+
+  @Test
+  void shouldReturnDeltasOfFailedChunkAndRollBackOnlyThatChunk() {
+    List<UUID> postIds = insertPosts(4);
+    Map<UUID, Integer> deltas = deltas(postIds, 1);
+    deltas.put(postIds.get(3), Integer.MAX_VALUE);
+    jdbcTemplate.update("UPDATE posts SET like_counter = 1 WHERE id = ?", postIds.get(3));
+    List<UUID> committed = new ArrayList<>();
+
+    Map<UUID, Integer> failed = writer(2).write(LikeTarget.POST, UUID.randomUUID(), deltas,
+        committed::addAll);
+
+    assertThat(failed).containsOnly(Map.entry(postIds.get(2), 1),
+        Map.entry(postIds.get(3), Integer.MAX_VALUE));
+    assertThat(committed).containsExactly(postIds.get(0), postIds.get(1));
+    assertThat(likeCounter(postIds.get(0))).isEqualTo(1);
+    assertThat(likeCounter(postIds.get(2))).isZero();
+  }
+
+  @Test
+  void failedChunkShouldNotBeRecordedAsApplied() {
+    List<UUID> postIds = insertPosts(1);
+    UUID segmentId = UUID.randomUUID();
+    jdbcTemplate.update("UPDATE posts SET like_counter = 1 WHERE id = ?", postIds.getFirst());
+    LikeCounterBatchWriter writer = writer(2);
+    writer.write(LikeTarget.POST, segmentId, deltas(postIds, Integer.MAX_VALUE), chunk -> {
+    });
+    jdbcTemplate.update("UPDATE posts SET like_counter = 0 WHERE id = ?", postIds.getFirst());
+
+    Map<UUID, Integer> failed = writer.write(LikeTarget.POST, segmentId,
+        deltas(postIds, Integer.MAX_VALUE), chunk -> {
+        });
+
+    assertThat(failed).isEmpty();
+    assertThat(likeCounter(postIds.getFirst())).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  void shouldAddDeltaOfHotPostToShardInsteadOfColumn() {
+    List<UUID> postIds = insertPosts(1);
+    LikeCounterBatchWriter writer = new LikeCounterBatchWriter(jdbcTemplate, transactionTemplate,
+        2, 4, 100);
+
+    writer.write(LikeTarget.POST, UUID.randomUUID(), deltas(postIds, 150), chunk -> {
+    });
+
+    assertThat(likeCounter(postIds.getFirst())).isZero();
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT SUM(delta) FROM like_counter_shards WHERE target_id = ?", Long.class,
+        postIds.getFirst())).isEqualTo(150);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT target FROM hot_like_targets WHERE target_id = ?", String.class,
+        postIds.getFirst())).isEqualTo("POST");
+  }
+
+  @Test
+  void hotPostShouldStayShardedWhenLaterDeltaIsSmall() {
+    List<UUID> postIds = insertPosts(1);
+    LikeCounterBatchWriter writer = new LikeCounterBatchWriter(jdbcTemplate, transactionTemplate,
+        2, 4, 100);
+    writer.write(LikeTarget.POST, UUID.randomUUID(), deltas(postIds, 150), chunk -> {
+    });
+
+    writer.write(LikeTarget.POST, UUID.randomUUID(), deltas(postIds, 1), chunk -> {
+    });
+
+    assertThat(likeCounter(postIds.getFirst())).isZero();
+    assertThat(shardedLikes(postIds.getFirst())).isEqualTo(151);
+  }
+
+  @Test
+  void postMarkedHotByAnotherNodeShouldBeSharded() {
+    List<UUID> postIds = insertPosts(2);
+    jdbcTemplate.update("INSERT INTO hot_like_targets (target_id, target, heated_at) "
+        + "VALUES (?, 'POST', CURRENT_TIMESTAMP)", postIds.getFirst());
+    LikeCounterBatchWriter writer = new LikeCounterBatchWriter(jdbcTemplate, transactionTemplate,
+        2, 4, 100);
+
+    writer.write(LikeTarget.POST, UUID.randomUUID(), deltas(postIds, 3), chunk -> {
+    });
+
+    assertThat(likeCounter(postIds.getFirst())).isZero();
+    assertThat(shardedLikes(postIds.getFirst())).isEqualTo(3);
+    assertThat(likeCounter(postIds.getLast())).isEqualTo(3);
+  }
+
+  @Test
+  void disabledShardingShouldIgnoreHotMarks() {
+    List<UUID> postIds = insertPosts(1);
+    jdbcTemplate.update("INSERT INTO hot_like_targets (target_id, target, heated_at) "
+        + "VALUES (?, 'POST', CURRENT_TIMESTAMP)", postIds.getFirst());
+
+    writer(2).write(LikeTarget.POST, UUID.randomUUID(), deltas(postIds, 3), chunk -> {
+    });
+
+    assertThat(likeCounter(postIds.getFirst())).isEqualTo(3);
+  }
+
+  @Test
+  void shouldRejectNonPositiveChunkSize() {
+    assertThatThrownBy(() -> writer(0)).isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("chunk-size");
+  }
+
+  @Test
+  void writingSegmentAgainShouldSkipChunksAppliedBefore() {
+    List<UUID> postIds = insertPosts(4);
+    UUID segmentId = UUID.randomUUID();
+    LikeCounterBatchWriter writer = writer(2);
+    Map<UUID, Integer> deltas = deltas(postIds, 1);
+    writer.write(LikeTarget.POST, segmentId, Map.of(postIds.get(0), 1, postIds.get(1), 1),
+        chunk -> {
+        });
+
+    List<UUID> committed = new ArrayList<>();
+    Map<UUID, Integer> failed = writer.write(LikeTarget.POST, segmentId, deltas,
+        committed::addAll);
+
+    assertThat(failed).isEmpty();
+    assertThat(committed).containsExactlyInAnyOrderElementsOf(postIds);
+    assertThat(postIds).allSatisfy(id -> assertThat(likeCounter(id)).isEqualTo(1));
+  }
+
+  @Test
+  void forgottenSegmentShouldBeWrittenAgain() {
+    List<UUID> postIds = insertPosts(1);
+    UUID segmentId = UUID.randomUUID();
+    LikeCounterBatchWriter writer = writer(2);
+    writer.write(LikeTarget.POST, segmentId, deltas(postIds, 1), chunk -> {
+    });
+
+    writer.forget(segmentId);
+    writer.write(LikeTarget.POST, segmentId, deltas(postIds, 1), chunk -> {
+    });
+
+    assertThat(likeCounter(postIds.getFirst())).isEqualTo(2);
+  }
+
+  private LikeCounterBatchWriter writer(int chunkSize) {
+    return new LikeCounterBatchWriter(jdbcTemplate, transactionTemplate, chunkSize, 16, 0);
+  }
+
+  private List<UUID> insertPosts(int count) {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      UUID id = UUID.randomUUID();
+      jdbcTemplate.update("INSERT INTO posts (id, like_counter) VALUES (?, 0)", id);
+      ids.add(id);
+    }
+    ids.sort(null);
+    return ids;
+  }
+
+  private static Map<UUID, Integer> deltas(List<UUID> ids, int delta) {
+    Map<UUID, Integer> deltas = new HashMap<>();
+    ids.forEach(id -> deltas.put(id, delta));
+    return deltas;
+  }
+
+  private long shardedLikes(UUID id) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COALESCE(SUM(delta), 0) FROM like_counter_shards WHERE target_id = ?", Long.class,
+        id);
+  }
+
+  private int likeCounter(UUID id) {
+    return jdbcTemplate.queryForObject("SELECT like_counter FROM posts WHERE id = ?",
+        Integer.class, id);
+  }
+}
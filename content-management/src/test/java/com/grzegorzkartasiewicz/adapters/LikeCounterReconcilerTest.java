@@ -0,0 +1,180 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LikeCounterReconcilerTest {
+
+  private static final int DRIFT_THRESHOLD = 5;
+
+  private final LikeDeltaBuffer likeDeltaBuffer = mock(LikeDeltaBuffer.class);
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("CREATE TABLE posts (id UUID PRIMARY KEY, like_counter INT NOT NULL, "
+        + "deleted_at TIMESTAMP)");
+    jdbcTemplate.execute("CREATE TABLE comments (id UUID PRIMARY KEY, like_counter INT NOT NULL)");
+    jdbcTemplate.execute("CREATE TABLE like_counter_shards (target_id UUID, shard INT, "
+        + "target VARCHAR(16) NOT NULL, delta BIGINT NOT NULL, PRIMARY KEY (target_id, shard))");
+    jdbcTemplate.execute("CREATE TABLE post_likes (post_id UUID, liker_id UUID, "
+        + "PRIMARY KEY (post_id, liker_id))");
+    jdbcTemplate.execute("CREATE TABLE comment_likes (comment_id UUID, liker_id UUID, "
+        + "PRIMARY KEY (comment_id, liker_id))");
+    jdbcTemplate.execute("CREATE TABLE reconciliation_cursors (name VARCHAR(32) PRIMARY KEY, "
+        + "last_id UUID NOT NULL)");
+    jdbcTemplate.execute("CREATE TABLE reconciliation_suspects (name VARCHAR(32), "
+        + "target_id UUID, drift BIGINT NOT NULL, PRIMARY KEY (name, target_id))");
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void driftAboveThresholdShouldBeCorrectedOnlyWhenConfirmedByNextRun() {
+    UUID postId = insertPost(0);
+    like(postId, DRIFT_THRESHOLD + 5);
+    LikeCounterReconciler reconciler = reconciler(10);
+
+    reconciler.reconcile();
+
+    assertThat(likeCounter(postId)).isZero();
+    assertThat(suspectDrift(postId)).containsExactly((long) DRIFT_THRESHOLD + 5);
+
+    reconciler.reconcile();
+
+    assertThat(likeCounter(postId)).isEqualTo(DRIFT_THRESHOLD + 5);
+  }
+
+  @Test
+  void driftWithinThresholdShouldNeitherBeSuspectedNorCorrected() {
+    UUID postId = insertPost(0);
+    like(postId, DRIFT_THRESHOLD);
+    LikeCounterReconciler reconciler = reconciler(10);
+
+    reconciler.reconcile();
+    reconciler.reconcile();
+
+    assertThat(suspectDrift(postId)).isEmpty();
+    assertThat(likeCounter(postId)).isZero();
+  }
+
+  @Test
+  void suspectShouldNotBeCorrectedWhenItsDriftMovedBeyondThreshold() {
+    UUID postId = insertPost(0);
+    like(postId, DRIFT_THRESHOLD + 1);
+    LikeCounterReconciler reconciler = reconciler(10);
+    reconciler.reconcile();
+
+    like(postId, DRIFT_THRESHOLD + 1);
+    reconciler.reconcile();
+
+    assertThat(likeCounter(postId)).isZero();
+    assertThat(suspectDrift(postId)).containsExactly(2L * (DRIFT_THRESHOLD + 1));
+  }
+
+  @Test
+  void targetWithPendingDeltasShouldBeSkipped() {
+    UUID postId = insertPost(0);
+    like(postId, DRIFT_THRESHOLD + 5);
+    when(likeDeltaBuffer.pendingDelta(LikeTarget.POST, postId)).thenReturn(1);
+    LikeCounterReconciler reconciler = reconciler(10);
+
+    reconciler.reconcile();
+
+    assertThat(suspectDrift(postId)).isEmpty();
+  }
+
+  @Test
+  void suspectShouldBeConfirmedByAnotherNodeAfterTakeover() {
+    UUID postId = insertPost(0);
+    like(postId, DRIFT_THRESHOLD + 5);
+    reconciler(10).reconcile();
+
+    reconciler(10).reconcile();
+
+    assertThat(likeCounter(postId)).isEqualTo(DRIFT_THRESHOLD + 5);
+  }
+
+  @Test
+  void cursorShouldAdvanceByBatchAndWrapToStartAfterLastBatch() {
+    List<UUID> postIds = List.of(new UUID(0, 1), new UUID(0, 2), new UUID(0, 3));
+    postIds.forEach(id -> jdbcTemplate.update(
+        "INSERT INTO posts (id, like_counter) VALUES (?, 0)", id));
+    LikeCounterReconciler reconciler = reconciler(2);
+
+    reconciler.reconcile();
+
+    assertThat(cursor()).isEqualTo(postIds.get(1));
+
+    reconciler.reconcile();
+
+    assertThat(cursor()).isEqualTo(new UUID(0, 0));
+
+    like(postIds.getFirst(), DRIFT_THRESHOLD + 1);
+    reconciler.reconcile();
+
+    assertThat(suspectDrift(postIds.getFirst())).containsExactly((long) DRIFT_THRESHOLD + 1);
+  }
+
+  private LikeCounterReconciler reconciler(int batchSize) {
+    return new LikeCounterReconciler(jdbcTemplate,
+        new TransactionTemplate(new DataSourceTransactionManager(database)), likeDeltaBuffer,
+        new ClusterLeases(jdbcTemplate, false, "node", Duration.ofSeconds(30)),
+        mock(ApplicationEventPublisher.class), new SimpleMeterRegistry(), batchSize,
+        DRIFT_THRESHOLD);
+  }
+
+  private UUID insertPost(int likeCounter) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO posts (id, like_counter) VALUES (?, ?)", id, likeCounter);
+    return id;
+  }
+
+  private void like(UUID postId, int likes) {
+    for (int i = 0; i < likes; i++) {
+      jdbcTemplate.update("INSERT INTO post_likes (post_id, liker_id) VALUES (?, ?)", postId,
+          UUID.randomUUID());
+    }
+  }
+
+  private int likeCounter(UUID postId) {
+    return jdbcTemplate.queryForObject("SELECT like_counter FROM posts WHERE id = ?",
+        Integer.class, postId);
+  }
+
+  private List<Long> suspectDrift(UUID postId) {
+    return jdbcTemplate.queryForList(
+        "SELECT drift FROM reconciliation_suspects WHERE name = 'POST' AND target_id = ?",
+        Long.class, postId);
+  }
+
+  private UUID cursor() {
+    return jdbcTemplate.queryForObject(
+        "SELECT last_id FROM reconciliation_cursors WHERE name = 'POST'", UUID.class);
+  }
+}
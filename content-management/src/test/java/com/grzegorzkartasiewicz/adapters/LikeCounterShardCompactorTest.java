@@ -0,0 +1,91 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LikeCounterShardCompactorTest {
+
+  private EmbeddedDatabase database;
+  private JdbcTemplate jdbcTemplate;
+  private LikeCounterShardCompactor compactor;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    jdbcTemplate = new JdbcTemplate(database);
+    jdbcTemplate.execute("CREATE TABLE posts (id UUID PRIMARY KEY, like_counter INT NOT NULL)");
+    jdbcTemplate.execute("CREATE TABLE comments (id UUID PRIMARY KEY, like_counter INT NOT NULL)");
+    jdbcTemplate.execute("CREATE TABLE like_counter_shards (target_id UUID, shard INT, "
+        + "target VARCHAR(16) NOT NULL, delta BIGINT NOT NULL, PRIMARY KEY (target_id, shard))");
+    jdbcTemplate.execute("CREATE TABLE hot_like_targets (target_id UUID PRIMARY KEY, "
+        + "target VARCHAR(16) NOT NULL, heated_at TIMESTAMP NOT NULL)");
+    compactor = new LikeCounterShardCompactor(jdbcTemplate,
+        new TransactionTemplate(new DataSourceTransactionManager(database)),
+        new ClusterLeases(jdbcTemplate, false, "node", Duration.ofSeconds(30)), 500,
+        Duration.ofMinutes(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldFoldShardsIntoColumn() {
+    UUID postId = insertPost(5);
+    insertShard(postId, 0, 10);
+    insertShard(postId, 3, -2);
+
+    compactor.compact();
+
+    assertThat(jdbcTemplate.queryForObject("SELECT like_counter FROM posts WHERE id = ?",
+        Integer.class, postId)).isEqualTo(13);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM like_counter_shards",
+        Integer.class)).isZero();
+  }
+
+  @Test
+  void shouldCoolOnlyTargetsNotHeatedWithinCoolDown() {
+    UUID cold = insertPost(0);
+    UUID hot = insertPost(0);
+    insertHotTarget(cold, Instant.now().minus(Duration.ofMinutes(11)));
+    insertHotTarget(hot, Instant.now().minus(Duration.ofMinutes(1)));
+
+    compactor.compact();
+
+    assertThat(jdbcTemplate.queryForList("SELECT target_id FROM hot_like_targets", UUID.class))
+        .containsExactly(hot);
+  }
+
+  private UUID insertPost(int likeCounter) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO posts (id, like_counter) VALUES (?, ?)", id, likeCounter);
+    return id;
+  }
+
+  private void insertShard(UUID targetId, int shard, long delta) {
+    jdbcTemplate.update("INSERT INTO like_counter_shards (target_id, shard, target, delta) "
+        + "VALUES (?, ?, 'POST', ?)", targetId, shard, delta);
+  }
+
+  private void insertHotTarget(UUID targetId, Instant heatedAt) {
+    jdbcTemplate.update("INSERT INTO hot_like_targets (target_id, target, heated_at) "
+        + "VALUES (?, 'POST', ?)", targetId, Timestamp.from(heatedAt));
+  }
+}
@@ -0,0 +1,153 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LikeDeltaBufferTest {
+
+  private static final UUID POST_ID = UUID.randomUUID();
+
+  @TempDir
+  Path directory;
+
+  private LikeDeltaLog deltaLog;
+  private LikeDeltaBuffer buffer;
+
+  @BeforeEach
+  void setUp() {
+    deltaLog = new LikeDeltaLog(directory);
+    buffer = new LikeDeltaBuffer(deltaLog);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    deltaLog.close();
+  }
+
+  @Test
+  void overlayShouldApplyPendingDeltas() {
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+
+    assertThat(buffer.overlay(LikeTarget.POST, POST_ID, new LikeCounter(5)))
+        .isEqualTo(new LikeCounter(7));
+    assertThat(buffer.pendingDelta(LikeTarget.COMMENT, POST_ID)).isZero();
+  }
+
+  @Test
+  void forgetShouldDropPendingAndInFlightDeltas() {
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    LikeDeltaBuffer.Drained drained = buffer.drain().getFirst();
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+
+    buffer.forget(LikeTarget.POST, List.of(POST_ID));
+
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isZero();
+    assertThat(drained.isSettled()).isTrue();
+    assertThat(buffer.drain().getLast().deltas(LikeTarget.POST)).doesNotContainKey(POST_ID);
+  }
+
+  @Test
+  void forgottenDeltasShouldNotBeReplayedAfterRecovery() throws IOException {
+    UUID otherPostId = UUID.randomUUID();
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    buffer.add(LikeTarget.POST, otherPostId, 2);
+    buffer.drain();
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+
+    buffer.forget(LikeTarget.POST, List.of(POST_ID));
+    deltaLog.close();
+    deltaLog = new LikeDeltaLog(directory);
+    buffer = new LikeDeltaBuffer(deltaLog);
+    buffer.recover();
+
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isZero();
+    assertThat(buffer.pendingDelta(LikeTarget.POST, otherPostId)).isEqualTo(2);
+    assertThat(buffer.drain()).allSatisfy(
+        drained -> assertThat(drained.deltas(LikeTarget.POST)).doesNotContainKey(POST_ID));
+  }
+
+  @Test
+  void overlayShouldKeepDrainedDeltasVisibleUntilSettled() {
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+
+    LikeDeltaBuffer.Drained drained = buffer.drain().getFirst();
+
+    assertThat(drained.deltas(LikeTarget.POST)).containsEntry(POST_ID, 1);
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isEqualTo(1);
+
+    buffer.settle(drained, LikeTarget.POST, List.of(POST_ID));
+
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isZero();
+    assertThat(drained.isSettled()).isTrue();
+  }
+
+  @Test
+  void settleShouldKeepOtherChunksInFlight() {
+    UUID otherPostId = UUID.randomUUID();
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    buffer.add(LikeTarget.POST, otherPostId, 2);
+    LikeDeltaBuffer.Drained drained = buffer.drain().getFirst();
+
+    buffer.settle(drained, LikeTarget.POST, List.of(POST_ID));
+
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isZero();
+    assertThat(buffer.pendingDelta(LikeTarget.POST, otherPostId)).isEqualTo(2);
+    assertThat(drained.deltas(LikeTarget.POST)).containsOnlyKeys(otherPostId);
+  }
+
+  @Test
+  void unsettledBatchShouldBeDrainedAgainAndKeepItsSegment() {
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    LikeDeltaBuffer.Drained failed = buffer.drain().getFirst();
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+
+    List<LikeDeltaBuffer.Drained> batches = buffer.drain();
+
+    assertThat(batches).hasSize(2).first().isSameAs(failed);
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isEqualTo(2);
+    assertThat(failed.segment().path()).exists();
+    assertThatThrownBy(() -> buffer.discard(failed)).isInstanceOf(IllegalStateException.class);
+
+    buffer.settle(failed, LikeTarget.POST, List.of(POST_ID));
+    buffer.discard(failed);
+
+    assertThat(failed.segment().path()).doesNotExist();
+    assertThat(buffer.drain()).doesNotContain(failed);
+  }
+
+  @Test
+  void recoverShouldRestoreLeftoverSegmentsAsInFlightBatches() throws IOException {
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    buffer.add(LikeTarget.POST, POST_ID, 1);
+    deltaLog.close();
+    deltaLog = new LikeDeltaLog(directory);
+    LikeDeltaLog.Segment leftover = deltaLog.leftovers().getFirst();
+    buffer = new LikeDeltaBuffer(deltaLog);
+
+    buffer.recover();
+
+    assertThat(buffer.pendingDelta(LikeTarget.POST, POST_ID)).isEqualTo(2);
+    LikeDeltaBuffer.Drained restored = buffer.drain().getFirst();
+    assertThat(restored.segment().id()).isEqualTo(leftover.id());
+    assertThat(restored.deltas(LikeTarget.POST)).containsEntry(POST_ID, 2);
+  }
+
+  @Test
+  void overlayShouldNotGoBelowZero() {
+    buffer.add(LikeTarget.POST, POST_ID, -1);
+
+    assertThat(buffer.overlay(LikeTarget.POST, POST_ID, new LikeCounter(0)))
+        .isEqualTo(new LikeCounter(0));
+  }
+}
@@ -0,0 +1,128 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LikeDeltaLogTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void replayShouldRestoreDeltasAppendedBeforeRestart() throws IOException {
+    UUID postId = UUID.randomUUID();
+    UUID commentId = UUID.randomUUID();
+    LikeDeltaLog deltaLog = new LikeDeltaLog(directory);
+    deltaLog.append(LikeTarget.POST, postId, 1);
+    deltaLog.append(LikeTarget.POST, postId, 1);
+    deltaLog.append(LikeTarget.COMMENT, commentId, -1);
+    deltaLog.close();
+
+    Map<UUID, Integer> replayed = replay(new LikeDeltaLog(directory));
+
+    assertThat(replayed).containsEntry(postId, 2).containsEntry(commentId, -1);
+  }
+
+  @Test
+  void discardedSegmentShouldNotBeReplayed() throws IOException {
+    UUID flushedPostId = UUID.randomUUID();
+    UUID pendingPostId = UUID.randomUUID();
+    LikeDeltaLog deltaLog = new LikeDeltaLog(directory);
+    deltaLog.append(LikeTarget.POST, flushedPostId, 1);
+    LikeDeltaLog.Segment sealed = deltaLog.rotate();
+    deltaLog.append(LikeTarget.POST, pendingPostId, 1);
+    deltaLog.discard(sealed);
+    deltaLog.close();
+
+    Map<UUID, Integer> replayed = replay(new LikeDeltaLog(directory));
+
+    assertThat(replayed).containsOnlyKeys(pendingPostId);
+  }
+
+  @Test
+  void replayShouldIgnoreTornRecordAtTheEndOfSegment() throws IOException {
+    UUID postId = UUID.randomUUID();
+    LikeDeltaLog deltaLog = new LikeDeltaLog(directory);
+    deltaLog.append(LikeTarget.POST, postId, 1);
+    deltaLog.close();
+    try (Stream<Path> segments = Files.list(directory)) {
+      Path segment = segments.findFirst().orElseThrow();
+      Files.write(segment, new byte[]{0, 1, 2}, StandardOpenOption.APPEND);
+    }
+
+    Map<UUID, Integer> replayed = replay(new LikeDeltaLog(directory));
+
+    assertThat(replayed).containsOnlyKeys(postId).containsEntry(postId, 1);
+  }
+
+  @Test
+  void leftoverSegmentShouldKeepItsIdUntilDiscarded() throws IOException {
+    LikeDeltaLog deltaLog = new LikeDeltaLog(directory);
+    deltaLog.append(LikeTarget.POST, UUID.randomUUID(), 1);
+    LikeDeltaLog.Segment sealed = deltaLog.rotate();
+    deltaLog.close();
+
+    LikeDeltaLog restarted = new LikeDeltaLog(directory);
+    List<LikeDeltaLog.Segment> leftovers = restarted.leftovers();
+    restarted.close();
+
+    assertThat(leftovers).extracting(LikeDeltaLog.Segment::id).contains(sealed.id());
+    assertThat(new LikeDeltaLog(directory).leftovers()).hasSize(leftovers.size() + 1);
+
+    leftovers.forEach(restarted::discard);
+
+    assertThat(replay(new LikeDeltaLog(directory))).isEmpty();
+  }
+
+  @Test
+  void rotateShouldSealEveryConcurrentAppend() throws Exception {
+    UUID postId = UUID.randomUUID();
+    int threads = 8;
+    int appendsPerThread = 5_000;
+    LikeDeltaLog deltaLog = new LikeDeltaLog(directory);
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      CountDownLatch start = new CountDownLatch(1);
+      for (int i = 0; i < threads; i++) {
+        executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < appendsPerThread; j++) {
+            deltaLog.append(LikeTarget.POST, postId, 1);
+          }
+          return null;
+        });
+      }
+      start.countDown();
+    }
+
+    LikeDeltaLog.Segment sealed = deltaLog.rotate();
+    Map<UUID, Integer> read = new HashMap<>();
+    long records = deltaLog.read(sealed,
+        (target, id, delta) -> read.merge(id, delta, Integer::sum));
+    deltaLog.close();
+
+    assertThat(records).isEqualTo((long) threads * appendsPerThread);
+    assertThat(read).containsEntry(postId, threads * appendsPerThread);
+  }
+
+  private static Map<UUID, Integer> replay(LikeDeltaLog deltaLog) {
+    Map<UUID, Integer> replayed = new HashMap<>();
+    for (LikeDeltaLog.Segment segment : deltaLog.leftovers()) {
+      deltaLog.read(segment, (target, id, delta) -> replayed.merge(id, delta, Integer::sum));
+    }
+    return replayed;
+  }
+}
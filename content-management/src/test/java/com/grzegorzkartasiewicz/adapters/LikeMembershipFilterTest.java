@@ -0,0 +1,127 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class LikeMembershipFilterTest {
+
+  private static final UUID POST_ID = UUID.randomUUID();
+  private static final UUID LIKER_ID = UUID.randomUUID();
+
+  @Mock
+  private PostLikeRepository postLikeRepository;
+  @Mock
+  private CommentLikeRepository commentLikeRepository;
+
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void shouldWarmFilterOnceFromStoredLikes() {
+    when(postLikeRepository.findLikerIdsByPostId(eq(POST_ID), any()))
+        .thenReturn(List.of(LIKER_ID));
+    LikeMembershipFilter filter = filter(10, 100);
+
+    assertThat(filter.mightHaveLiked(LikeTarget.POST, POST_ID, LIKER_ID)).isTrue();
+    assertThat(filter.mightHaveLiked(LikeTarget.POST, POST_ID, UUID.randomUUID())).isFalse();
+
+    verify(postLikeRepository).findLikerIdsByPostId(POST_ID, PageRequest.of(0, 101));
+    assertThat(lookups("positive")).isEqualTo(1);
+    assertThat(lookups("negative")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRememberNewLikes() {
+    when(commentLikeRepository.findLikerIdsByCommentId(eq(POST_ID), any())).thenReturn(List.of());
+    LikeMembershipFilter filter = filter(10, 100);
+
+    filter.remember(LikeTarget.COMMENT, POST_ID, LIKER_ID);
+
+    assertThat(filter.mightHaveLiked(LikeTarget.COMMENT, POST_ID, LIKER_ID)).isTrue();
+  }
+
+  @Test
+  void shouldCountFalsePositives() {
+    LikeMembershipFilter filter = filter(10, 100);
+
+    filter.recordFalsePositive();
+
+    assertThat(lookups("false_positive")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotFilterTargetWithMoreLikersThanWarmBound() {
+    when(postLikeRepository.findLikerIdsByPostId(eq(POST_ID), any()))
+        .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+    LikeMembershipFilter filter = filter(10, 2);
+
+    assertThat(filter.mightHaveLiked(LikeTarget.POST, POST_ID, LIKER_ID)).isTrue();
+    filter.remember(LikeTarget.POST, POST_ID, LIKER_ID);
+
+    verify(postLikeRepository).findLikerIdsByPostId(POST_ID, PageRequest.of(0, 3));
+    assertThat(lookups("unfiltered")).isEqualTo(1);
+    assertThat(lookups("positive")).isZero();
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedFilterWhenFull() {
+    UUID recentlyUsed = UUID.randomUUID();
+    UUID leastRecentlyUsed = UUID.randomUUID();
+    UUID newcomer = UUID.randomUUID();
+    when(postLikeRepository.findLikerIdsByPostId(any(), any())).thenReturn(List.of());
+    LikeMembershipFilter filter = filter(2, 100);
+    filter.mightHaveLiked(LikeTarget.POST, recentlyUsed, LIKER_ID);
+    filter.mightHaveLiked(LikeTarget.POST, leastRecentlyUsed, LIKER_ID);
+    filter.mightHaveLiked(LikeTarget.POST, recentlyUsed, LIKER_ID);
+
+    filter.mightHaveLiked(LikeTarget.POST, newcomer, LIKER_ID);
+    filter.mightHaveLiked(LikeTarget.POST, recentlyUsed, LIKER_ID);
+    filter.mightHaveLiked(LikeTarget.POST, leastRecentlyUsed, LIKER_ID);
+
+    verify(postLikeRepository, times(1)).findLikerIdsByPostId(eq(recentlyUsed), any());
+    verify(postLikeRepository, times(2)).findLikerIdsByPostId(eq(leastRecentlyUsed), any());
+  }
+
+  @Test
+  void shouldRebuildSaturatedFilter() {
+    when(postLikeRepository.findLikerIdsByPostId(eq(POST_ID), any())).thenReturn(List.of());
+    LikeMembershipFilter filter = filter(10, 100);
+
+    for (int i = 0; i <= 1024; i++) {
+      filter.remember(LikeTarget.POST, POST_ID, UUID.randomUUID());
+    }
+    filter.mightHaveLiked(LikeTarget.POST, POST_ID, LIKER_ID);
+
+    verify(postLikeRepository, times(2)).findLikerIdsByPostId(eq(POST_ID), any());
+  }
+
+  private LikeMembershipFilter filter(int maxTargets, int maxWarmLikers) {
+    return new LikeMembershipFilter(postLikeRepository, commentLikeRepository, meterRegistry,
+        maxTargets, maxWarmLikers, 0.01);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry.get("content.likes.membership.lookups").tag("result", result).counter()
+        .count();
+  }
+}
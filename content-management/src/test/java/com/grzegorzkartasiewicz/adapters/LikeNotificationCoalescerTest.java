@@ -0,0 +1,141 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.grzegorzkartasiewicz.domain.PostAction;
+import com.grzegorzkartasiewicz.domain.PostChangedEvent;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class LikeNotificationCoalescerTest {
+
+  private static final Duration WINDOW = Duration.ofSeconds(10);
+  private static final Duration MAX_DELAY = Duration.ofMinutes(1);
+
+  private final MutableClock clock = new MutableClock();
+  private final LikeNotificationCoalescer coalescer =
+      new LikeNotificationCoalescer(WINDOW, MAX_DELAY, 100, clock);
+  private final PostId postId = new PostId(UUID.randomUUID());
+  private final AuthorId actorId = new AuthorId(UUID.randomUUID());
+  private final AuthorId recipientId = new AuthorId(UUID.randomUUID());
+
+  @Test
+  void toggleShouldBeReleasedOnlyAfterQuietWindow() {
+    assertThat(coalescer.offer(event(PostAction.POST_LIKED))).isTrue();
+    clock.advance(WINDOW.minusSeconds(1));
+
+    assertThat(coalescer.drainDue()).isEmpty();
+
+    clock.advance(Duration.ofSeconds(1));
+
+    assertThat(coalescer.drainDue()).containsExactly(event(PostAction.POST_LIKED));
+    assertThat(coalescer.pendingCount()).isZero();
+  }
+
+  @Test
+  void oddNumberOfTogglesShouldReleaseSingleNetEvent() {
+    for (int i = 0; i < 5; i++) {
+      coalescer.offer(event(i % 2 == 0 ? PostAction.POST_LIKED : PostAction.POST_UNLIKED));
+      clock.advance(Duration.ofSeconds(1));
+    }
+    clock.advance(WINDOW);
+
+    assertThat(coalescer.drainDue()).containsExactly(event(PostAction.POST_LIKED));
+  }
+
+  @Test
+  void likeUnlikePairsShouldCancelOut() {
+    coalescer.offer(event(PostAction.POST_LIKED));
+    coalescer.offer(event(PostAction.POST_UNLIKED));
+    coalescer.offer(event(PostAction.POST_LIKED));
+    coalescer.offer(event(PostAction.POST_UNLIKED));
+    clock.advance(WINDOW);
+
+    assertThat(coalescer.drainDue()).isEmpty();
+    assertThat(coalescer.pendingCount()).isZero();
+  }
+
+  @Test
+  void duplicateLikeFollowedByUnlikeShouldCancelOut() {
+    coalescer.offer(event(PostAction.POST_LIKED));
+    coalescer.offer(event(PostAction.POST_LIKED));
+    coalescer.offer(event(PostAction.POST_UNLIKED));
+
+    assertThat(coalescer.drainAll()).isEmpty();
+  }
+
+  @Test
+  void continuousTogglingShouldBeReleasedAfterMaxDelay() {
+    coalescer.offer(event(PostAction.POST_LIKED));
+    for (Duration waited = Duration.ZERO; waited.compareTo(MAX_DELAY) < 0;
+        waited = waited.plus(WINDOW.dividedBy(2))) {
+      assertThat(coalescer.drainDue()).isEmpty();
+      clock.advance(WINDOW.dividedBy(2));
+      coalescer.offer(event(PostAction.POST_UNLIKED));
+      coalescer.offer(event(PostAction.POST_LIKED));
+    }
+
+    assertThat(coalescer.drainDue()).containsExactly(event(PostAction.POST_LIKED));
+  }
+
+  @Test
+  void commentTogglesShouldBeCoalescedSeparatelyFromPostToggles() {
+    CommentId commentId = new CommentId(UUID.randomUUID());
+    PostChangedEvent commentUnliked = new PostChangedEvent(postId, Optional.of(commentId), actorId,
+        recipientId, PostAction.COMMENT_UNLIKED);
+    coalescer.offer(event(PostAction.POST_LIKED));
+    coalescer.offer(commentUnliked);
+
+    assertThat(coalescer.drainAll())
+        .containsExactlyInAnyOrder(event(PostAction.POST_LIKED), commentUnliked);
+  }
+
+  @Test
+  void otherActionsAndTogglesBeyondCapacityShouldNotBeHeld() {
+    LikeNotificationCoalescer small = new LikeNotificationCoalescer(WINDOW, MAX_DELAY, 1, clock);
+    PostChangedEvent otherActor = new PostChangedEvent(postId, Optional.empty(),
+        new AuthorId(UUID.randomUUID()), recipientId, PostAction.POST_LIKED);
+
+    assertThat(small.offer(event(PostAction.POST_CREATED))).isFalse();
+    assertThat(small.offer(event(PostAction.POST_LIKED))).isTrue();
+    assertThat(small.offer(event(PostAction.POST_UNLIKED))).isTrue();
+    assertThat(small.offer(otherActor)).isFalse();
+  }
+
+  private PostChangedEvent event(PostAction action) {
+    return new PostChangedEvent(postId, Optional.empty(), actorId, recipientId, action);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.grzegorzkartasiewicz.app.PostCreationRequest;
+import com.grzegorzkartasiewicz.app.PostService;
+import com.grzegorzkartasiewicz.domain.DomainEvent;
+import com.grzegorzkartasiewicz.domain.PostLiked;
+import com.grzegorzkartasiewicz.domain.PostUnliked;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Events have to be committed before the relay can see them, so these tests are not transactional.
+ * {@link OutboxRelay#relay()} waits for a concurrent scheduled run, so everything stored before the
+ * call has been delivered when it returns.
+ */
+class OutboxRelayIT extends AbstractIT {
+
+  @Autowired
+  private PostService postService;
+
+  @Autowired
+  private OutboxRelay outboxRelay;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FailingOnceListener failingOnceListener;
+
+  @Autowired
+  private BlockingListener blockingListener;
+
+  @Autowired
+  private LikeDeltaBuffer likeDeltaBuffer;
+
+  @Test
+  @DisplayName("should deliver stored events to listeners and remove them from outbox")
+  void shouldDeliverStoredEventsToListenersAndRemoveThemFromOutbox() {
+    // given
+    UUID postId = postService.addPost(new PostCreationRequest("Post", UUID.randomUUID())).id();
+    UUID likerId = UUID.randomUUID();
+
+    // when
+    postService.registerPostLike(postId, likerId);
+    outboxRelay.relay();
+
+    // then
+    assertThat(countLikes(postId, likerId)).isOne();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class))
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("should not store events of rolled back transaction")
+  void shouldNotStoreEventsOfRolledBackTransaction() {
+    // given
+    UUID postId = postService.addPost(new PostCreationRequest("Post", UUID.randomUUID())).id();
+    UUID likerId = UUID.randomUUID();
+
+    // when
+    transactionTemplate.executeWithoutResult(status -> {
+      postService.registerPostLike(postId, likerId);
+      status.setRollbackOnly();
+    });
+    outboxRelay.relay();
+
+    // then
+    assertThat(countLikes(postId, likerId)).isZero();
+  }
+
+  @Test
+  @DisplayName("redelivered unlike should not remove newer like")
+  void redeliveredUnlikeShouldNotRemoveNewerLike() {
+    // given
+    UUID postId = postService.addPost(new PostCreationRequest("Post", UUID.randomUUID())).id();
+    UUID likerId = UUID.randomUUID();
+    postService.registerPostLike(postId, likerId);
+    outboxRelay.relay();
+    UUID unlikeId = UUID.randomUUID();
+    PostUnliked unlike = new PostUnliked(new PostId(postId), new AuthorId(likerId));
+    storeEvent(unlikeId, unlike, null);
+    outboxRelay.relay();
+    postService.registerPostLike(postId, likerId);
+    outboxRelay.relay();
+
+    // when
+    storeEvent(unlikeId, unlike, null);
+    outboxRelay.relay();
+
+    // then
+    assertThat(countLikes(postId, likerId)).isOne();
+  }
+
+  @Test
+  @DisplayName("should redeliver claimed event only once its claim expired")
+  void shouldRedeliverClaimedEventOnlyOnceItsClaimExpired() {
+    // given
+    UUID postId = postService.addPost(new PostCreationRequest("Post", UUID.randomUUID())).id();
+    UUID abandonedLiker = UUID.randomUUID();
+    UUID claimedLiker = UUID.randomUUID();
+    storeEvent(UUID.randomUUID(), new PostLiked(new PostId(postId), new AuthorId(abandonedLiker)),
+        Instant.now().minusSeconds(1));
+    UUID claimedId = UUID.randomUUID();
+    storeEvent(claimedId, new PostLiked(new PostId(postId), new AuthorId(claimedLiker)),
+        Instant.now().plus(Duration.ofMinutes(1)));
+
+    // when
+    outboxRelay.relay();
+
+    // then
+    assertThat(countLikes(postId, abandonedLiker)).isOne();
+    assertThat(countLikes(postId, claimedLiker)).isZero();
+    jdbcTemplate.update("DELETE FROM outbox_events WHERE event_id = ?", claimedId);
+  }
+
+  @Test
+  @DisplayName("should keep event whose listener failed and redeliver it once its claim expired")
+  void shouldKeepEventWhoseListenerFailedAndRedeliverIt() {
+    // given
+    UUID eventId = UUID.randomUUID();
+    storeEvent(eventId, new FailingOnceEvent(eventId), null);
+
+    // when
+    outboxRelay.relay();
+
+    // then
+    assertThat(failingOnceListener.attempts).hasValue(1);
+    assertThat(countOutboxEvents(eventId)).isOne();
+
+    jdbcTemplate.update("UPDATE outbox_events SET claimed_until = ? WHERE event_id = ?",
+        Timestamp.from(Instant.now().minusSeconds(1)), eventId);
+    outboxRelay.relay();
+
+    assertThat(failingOnceListener.attempts).hasValue(2);
+    assertThat(countOutboxEvents(eventId)).isZero();
+  }
+
+  @Test
+  @DisplayName("like flush should keep running while a relay batch is blocked")
+  void likeFlushShouldKeepRunningWhileRelayBatchIsBlocked() throws InterruptedException {
+    // given
+    UUID postId = postService.addPost(new PostCreationRequest("Post", UUID.randomUUID())).id();
+    storeEvent(UUID.randomUUID(), new BlockingEvent(UUID.randomUUID()), null);
+    try {
+      assertThat(blockingListener.entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+      // when
+      likeDeltaBuffer.add(LikeTarget.POST, postId, 1);
+
+      // then
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(12);
+      while (likeCounter(postId) == 0 && System.nanoTime() < deadline) {
+        Thread.sleep(100);
+      }
+      assertThat(likeCounter(postId)).isOne();
+      assertThat(blockingListener.released.getCount()).isOne();
+    } finally {
+      blockingListener.released.countDown();
+    }
+  }
+
+  private void storeEvent(UUID eventId, DomainEvent event, Instant claimedUntil) {
+    jdbcTemplate.update("""
+            INSERT INTO outbox_events
+              (event_id, event_type, payload, created_at, claimed_by, claimed_until)
+            VALUES (?, ?, ?, ?, ?, ?)""",
+        eventId, event.getClass().getName(), objectMapper.writeValueAsString(event),
+        Timestamp.from(Instant.now()), claimedUntil == null ? null : UUID.randomUUID(),
+        claimedUntil == null ? null : Timestamp.from(claimedUntil));
+  }
+
+  private int countOutboxEvents(UUID eventId) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_id = ?",
+        Integer.class, eventId);
+  }
+
+  private int likeCounter(UUID postId) {
+    return jdbcTemplate.queryForObject("SELECT like_counter FROM posts WHERE id = ?",
+        Integer.class, postId);
+  }
+
+  private int countLikes(UUID postId, UUID likerId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM post_likes WHERE post_id = ? AND liker_id = ?", Integer.class,
+        postId, likerId);
+  }
+
+  record FailingOnceEvent(UUID id) implements DomainEvent {
+
+  }
+
+  static class FailingOnceListener {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @EventListener
+    void handle(DeliveredEvent<FailingOnceEvent> delivery) {
+      if (attempts.incrementAndGet() == 1) {
+        throw new IllegalStateException("Simulated listener failure");
+      }
+    }
+  }
+
+  record BlockingEvent(UUID id) implements DomainEvent {
+
+  }
+
+  static class BlockingListener {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @EventListener
+    void handle(DeliveredEvent<BlockingEvent> delivery) throws InterruptedException {
+      entered.countDown();
+      released.await(30, TimeUnit.SECONDS);
+    }
+  }
+
+  @TestConfiguration
+  static class FailingListenerConfiguration {
+
+    @Bean
+    FailingOnceListener failingOnceListener() {
+      return new FailingOnceListener();
+    }
+
+    @Bean
+    BlockingListener blockingListener() {
+      return new BlockingListener();
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.grzegorzkartasiewicz.adapters;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -10,17 +12,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.grzegorzkartasiewicz.app.CommentCreationRequest;
 import com.grzegorzkartasiewicz.app.CommentDeleteRequest;
 import com.grzegorzkartasiewicz.app.CommentUpdateRequest;
+import com.grzegorzkartasiewicz.app.LikedPostsRequest;
+import com.grzegorzkartasiewicz.app.PostBatchGetRequest;
 import com.grzegorzkartasiewicz.app.PostCreationRequest;
 import com.grzegorzkartasiewicz.app.PostDeleteRequest;
 import com.grzegorzkartasiewicz.app.PostResponse;
 import com.grzegorzkartasiewicz.app.PostService;
 import com.grzegorzkartasiewicz.app.PostUpdateRequest;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,6 +49,30 @@ class PostControllerIT extends AbstractIT {
   @Autowired
   private PostService postService;
 
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PostLikeRepository postLikeRepository;
+
+  @Autowired
+  private CommentLikeRepository commentLikeRepository;
+
+  @Autowired
+  private DeletedPostPurger deletedPostPurger;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private LikeCounterBatchWriter likeCounterBatchWriter;
+
+  @Autowired
+  private LikeCounterShardCompactor likeCounterShardCompactor;
+
+  @Autowired
+  private LikeCounterReconciler likeCounterReconciler;
+
   @Autowired
   private org.springframework.web.context.WebApplicationContext webApplicationContext;
 
@@ -268,4 +301,533 @@ class PostControllerIT extends AbstractIT {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.comments[0].likeCount").value(0));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("should return compact acknowledgement when liking comment with compact view")
+  void shouldReturnCompactAcknowledgementWhenLikingCommentWithCompactView() throws Exception {
+    // given
+    UUID postAuthorId = UUID.randomUUID();
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post with comment", postAuthorId));
+
+    UUID commentAuthorId = UUID.randomUUID();
+    PostResponse postWithComment = postService.addComment(
+        new CommentCreationRequest(createdPost.id(), "Comment to like", commentAuthorId));
+    UUID commentId = postWithComment.comments().get(0).id();
+
+    // when & then
+    mockMvc.perform(
+            patch("/posts/{postId}/comments/{commentId}/like", createdPost.id(), commentId)
+                .param("view", "compact"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.postId").value(createdPost.id().toString()))
+        .andExpect(jsonPath("$.commentId").value(commentId.toString()))
+        .andExpect(jsonPath("$.likeCount").value(1))
+        .andExpect(jsonPath("$.comments").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("should page through comments with cursor")
+  void shouldPageThroughCommentsWithCursor() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post with many comments", UUID.randomUUID()));
+    for (int i = 0; i < 3; i++) {
+      postService.addComment(
+          new CommentCreationRequest(createdPost.id(), "Comment " + i, UUID.randomUUID()));
+    }
+    entityManager.flush();
+
+    // when & then
+    String firstPage = mockMvc.perform(get("/posts/{postId}/comments", createdPost.id())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.comments.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+
+    mockMvc.perform(get("/posts/{postId}/comments", createdPost.id())
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.comments.length()").value(1))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+  }
+
+  @Test
+  @DisplayName("should keep paging through comments after cursor comment is deleted")
+  void shouldKeepPagingThroughCommentsAfterCursorCommentIsDeleted() throws Exception {
+    // given
+    UUID commenterId = UUID.randomUUID();
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post with many comments", UUID.randomUUID()));
+    for (int i = 0; i < 3; i++) {
+      postService.addComment(
+          new CommentCreationRequest(createdPost.id(), "Comment " + i, commenterId));
+    }
+    entityManager.flush();
+    String firstPage = mockMvc.perform(get("/posts/{postId}/comments", createdPost.id())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+    UUID cursorCommentId = UUID.fromString(
+        objectMapper.readTree(firstPage).get("comments").get(1).get("id").asString());
+
+    // when
+    postService.removeComment(
+        new CommentDeleteRequest(createdPost.id(), cursorCommentId, commenterId));
+    entityManager.flush();
+
+    // then
+    mockMvc.perform(get("/posts/{postId}/comments", createdPost.id())
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.comments.length()").value(1))
+        .andExpect(jsonPath("$.comments[0].description").value("Comment 2"));
+    mockMvc.perform(get("/posts/{postId}/comments", createdPost.id())
+            .param("after", cursorCommentId.toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should reject malformed comment cursor")
+  void shouldRejectMalformedCommentCursor() throws Exception {
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post", UUID.randomUUID()));
+
+    mockMvc.perform(get("/posts/{postId}/comments", createdPost.id())
+            .param("after", "not-a-cursor"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should reject invalid trending window and feed cursor")
+  void shouldRejectInvalidTrendingWindowAndFeedCursor() throws Exception {
+    mockMvc.perform(get("/posts/trending").param("window", "hour"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/posts/trending").param("window", "7m"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/tags/trending").param("window", "99999999999999999d"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/feed").param("after", "not-a-cursor"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should return only first page of comments when comments limit is given")
+  void shouldReturnOnlyFirstPageOfCommentsWhenCommentsLimitIsGiven() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post with comments", UUID.randomUUID()));
+    postService.addComment(
+        new CommentCreationRequest(createdPost.id(), "First comment", UUID.randomUUID()));
+    CommentCreationRequest secondComment = new CommentCreationRequest(createdPost.id(),
+        "Second comment", UUID.randomUUID());
+
+    // when & then
+    mockMvc.perform(post("/posts/{postId}/comments", createdPost.id())
+            .param("commentsLimit", "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(secondComment)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.comments.length()").value(1))
+        .andExpect(jsonPath("$.comments[0].description").value("First comment"));
+  }
+
+  @Test
+  @DisplayName("should get post with first page of comments")
+  void shouldGetPostWithFirstPageOfComments() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post to read", UUID.randomUUID()));
+    for (int i = 0; i < 3; i++) {
+      postService.addComment(
+          new CommentCreationRequest(createdPost.id(), "Comment " + i, UUID.randomUUID()));
+    }
+    entityManager.flush();
+
+    // when & then
+    mockMvc.perform(get("/posts/{postId}", createdPost.id())
+            .param("commentsLimit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(createdPost.id().toString()))
+        .andExpect(jsonPath("$.description").value("Post to read"))
+        .andExpect(jsonPath("$.comments.length()").value(2));
+  }
+
+  @Test
+  @DisplayName("should page through posts of author with cursor")
+  void shouldPageThroughPostsOfAuthorWithCursor() throws Exception {
+    // given
+    UUID authorId = UUID.randomUUID();
+    for (int i = 0; i < 3; i++) {
+      postService.addPost(new PostCreationRequest("Post " + i, authorId));
+    }
+    postService.addPost(new PostCreationRequest("Post of someone else", UUID.randomUUID()));
+    entityManager.flush();
+
+    // when & then
+    String firstPage = mockMvc.perform(get("/posts")
+            .param("authorId", authorId.toString())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+
+    mockMvc.perform(get("/posts")
+            .param("authorId", authorId.toString())
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(1))
+        .andExpect(jsonPath("$.posts[0].authorId").value(authorId.toString()))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+  }
+
+  @Test
+  @DisplayName("should keep paging through posts of author after cursor post is purged")
+  void shouldKeepPagingThroughPostsOfAuthorAfterCursorPostIsPurged() throws Exception {
+    // given
+    UUID authorId = UUID.randomUUID();
+    for (int i = 0; i < 3; i++) {
+      postService.addPost(new PostCreationRequest("Post " + i, authorId));
+    }
+    entityManager.flush();
+    String firstPage = mockMvc.perform(get("/posts")
+            .param("authorId", authorId.toString())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+    UUID cursorPostId = UUID.fromString(
+        objectMapper.readTree(firstPage).get("posts").get(1).get("id").asString());
+
+    // when
+    postService.deletePost(new PostDeleteRequest(cursorPostId, authorId));
+    entityManager.flush();
+    deletedPostPurger.purge();
+
+    // then
+    mockMvc.perform(get("/posts")
+            .param("authorId", authorId.toString())
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(1))
+        .andExpect(jsonPath("$.posts[0].description").value("Post 0"))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+    mockMvc.perform(get("/posts")
+            .param("authorId", authorId.toString())
+            .param("after", cursorPostId.toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should list posts by hashtag, follow edits and deletes, and count tags only after commit")
+  void shouldListPostsByHashtagAndFollowEditsAndDeletes() throws Exception {
+    // given
+    UUID authorId = UUID.randomUUID();
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Hello #Java and #spring", authorId));
+    postService.updatePost(
+        new PostUpdateRequest(createdPost.id(), "Hello #java again", authorId));
+    entityManager.flush();
+
+    // when & then
+    mockMvc.perform(get("/tags/{tag}/posts", "JAVA"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(1))
+        .andExpect(jsonPath("$.posts[0].id").value(createdPost.id().toString()))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+    mockMvc.perform(get("/tags/{tag}/posts", "spring"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(0));
+    mockMvc.perform(get("/tags/trending").param("window", "5m"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.tag == 'java')]").isEmpty());
+
+    postService.deletePost(new PostDeleteRequest(createdPost.id(), authorId));
+    entityManager.flush();
+
+    mockMvc.perform(get("/tags/{tag}/posts", "java"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(0));
+  }
+
+  @Test
+  @DisplayName("should keep paging through posts by hashtag after cursor post loses the tag")
+  void shouldKeepPagingThroughPostsByHashtagAfterCursorPostLosesTheTag() throws Exception {
+    // given
+    UUID authorId = UUID.randomUUID();
+    for (int i = 0; i < 3; i++) {
+      postService.addPost(new PostCreationRequest("Post " + i + " #paging", authorId));
+    }
+    entityManager.flush();
+    String firstPage = mockMvc.perform(get("/tags/{tag}/posts", "paging")
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+    UUID cursorPostId = UUID.fromString(
+        objectMapper.readTree(firstPage).get("posts").get(1).get("id").asString());
+
+    // when
+    postService.updatePost(new PostUpdateRequest(cursorPostId, "Post without tag", authorId));
+    entityManager.flush();
+
+    // then
+    mockMvc.perform(get("/tags/{tag}/posts", "paging")
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posts.length()").value(1))
+        .andExpect(jsonPath("$.posts[0].description").value("Post 0 #paging"))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+    mockMvc.perform(get("/tags/{tag}/posts", "paging")
+            .param("after", cursorPostId.toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should batch get posts in request order")
+  void shouldBatchGetPostsInRequestOrder() throws Exception {
+    // given
+    PostResponse first = postService.addPost(
+        new PostCreationRequest("First post", UUID.randomUUID()));
+    PostResponse second = postService.addPost(
+        new PostCreationRequest("Second post", UUID.randomUUID()));
+    postService.addComment(
+        new CommentCreationRequest(first.id(), "Comment", UUID.randomUUID()));
+    entityManager.flush();
+    entityManager.clear();
+    PostBatchGetRequest request = new PostBatchGetRequest(
+        List.of(second.id(), UUID.randomUUID(), first.id()));
+
+    // when & then
+    mockMvc.perform(post("/posts/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].id").value(second.id().toString()))
+        .andExpect(jsonPath("$[1].id").value(first.id().toString()))
+        .andExpect(jsonPath("$[1].comments.length()").value(1));
+  }
+
+  @Test
+  @DisplayName("should page through likers of post with cursor")
+  void shouldPageThroughLikersOfPostWithCursor() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Liked post", UUID.randomUUID()));
+    for (int i = 0; i < 3; i++) {
+      postLikeRepository.saveAndFlush(new PostLikeEntity(createdPost.id(), UUID.randomUUID()));
+    }
+
+    // when & then
+    String firstPage = mockMvc.perform(get("/posts/{postId}/likes", createdPost.id())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.likerIds.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+
+    mockMvc.perform(get("/posts/{postId}/likes", createdPost.id())
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.likerIds.length()").value(1))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+  }
+
+  @Test
+  @DisplayName("should keep paging through likers after cursor like is removed")
+  void shouldKeepPagingThroughLikersAfterCursorLikeIsRemoved() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Liked post", UUID.randomUUID()));
+    for (int i = 0; i < 3; i++) {
+      postLikeRepository.saveAndFlush(new PostLikeEntity(createdPost.id(), UUID.randomUUID()));
+    }
+    String firstPage = mockMvc.perform(get("/posts/{postId}/likes", createdPost.id())
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+    UUID cursorLikerId = UUID.fromString(
+        objectMapper.readTree(firstPage).get("likerIds").get(1).asString());
+
+    // when
+    jdbcTemplate.update("DELETE FROM post_likes WHERE post_id = ? AND liker_id = ?",
+        createdPost.id(), cursorLikerId);
+
+    // then
+    mockMvc.perform(get("/posts/{postId}/likes", createdPost.id())
+            .param("after", cursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.likerIds.length()").value(1))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+    mockMvc.perform(get("/posts/{postId}/likes", createdPost.id())
+            .param("after", cursorLikerId.toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should list likers of comment")
+  void shouldListLikersOfComment() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Post with comment", UUID.randomUUID()));
+    UUID commentId = postService.addComment(
+            new CommentCreationRequest(createdPost.id(), "Liked comment", UUID.randomUUID()))
+        .comments().get(0).id();
+    UUID likerId = UUID.randomUUID();
+    commentLikeRepository.saveAndFlush(
+        new CommentLikeEntity(createdPost.id(), commentId, likerId));
+
+    // when & then
+    mockMvc.perform(get("/posts/{postId}/comments/{commentId}/likes", createdPost.id(), commentId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.likerIds.length()").value(1))
+        .andExpect(jsonPath("$.likerIds[0]").value(likerId.toString()))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+  }
+
+  @Test
+  @DisplayName("should return liked state of posts for current user")
+  void shouldReturnLikedStateOfPostsForCurrentUser() throws Exception {
+    // given
+    UUID viewerId = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    PostResponse liked = postService.addPost(
+        new PostCreationRequest("Liked post", UUID.randomUUID()));
+    PostResponse notLiked = postService.addPost(
+        new PostCreationRequest("Other post", UUID.randomUUID()));
+    postLikeRepository.saveAndFlush(new PostLikeEntity(liked.id(), viewerId));
+    postLikeRepository.saveAndFlush(new PostLikeEntity(notLiked.id(), UUID.randomUUID()));
+    LikedPostsRequest request = new LikedPostsRequest(List.of(liked.id(), notLiked.id()));
+
+    // when & then
+    mockMvc.perform(post("/posts/liked")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$['" + liked.id() + "']").value(true))
+        .andExpect(jsonPath("$['" + notLiked.id() + "']").value(false));
+  }
+
+  @Test
+  @DisplayName("should reject liked state request with null id")
+  void shouldRejectLikedStateRequestWithNullId() throws Exception {
+    mockMvc.perform(post("/posts/liked")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"postIds\": [\"" + UUID.randomUUID() + "\", null]}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should hide deleted post and purge its comments and likes")
+  void shouldHideDeletedPostAndPurgeItsCommentsAndLikes() throws Exception {
+    // given
+    UUID authorId = UUID.randomUUID();
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("To be purged", authorId));
+    UUID commentId = postService.addComment(
+            new CommentCreationRequest(createdPost.id(), "Comment", UUID.randomUUID()))
+        .comments().get(0).id();
+    postLikeRepository.saveAndFlush(new PostLikeEntity(createdPost.id(), UUID.randomUUID()));
+    commentLikeRepository.saveAndFlush(
+        new CommentLikeEntity(createdPost.id(), commentId, UUID.randomUUID()));
+
+    // when
+    postService.deletePost(new PostDeleteRequest(createdPost.id(), authorId));
+    entityManager.flush();
+    entityManager.clear();
+
+    // then
+    mockMvc.perform(post("/posts/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(
+                new PostBatchGetRequest(List.of(createdPost.id())))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+
+    deletedPostPurger.purge();
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM posts WHERE id = ?", Integer.class, createdPost.id())).isZero();
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM comments WHERE post_id = ?", Integer.class, createdPost.id())).isZero();
+    assertThat(postLikeRepository.findLikerIdsByPostId(createdPost.id(), Pageable.unpaged()))
+        .isEmpty();
+    assertThat(commentLikeRepository.findLikerIdsByCommentId(commentId, Pageable.unpaged()))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("should sum like counter shards of hot post on read and compact them")
+  void shouldSumLikeCounterShardsOfHotPostOnReadAndCompactThem() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Viral post", UUID.randomUUID()));
+    entityManager.flush();
+
+    // when
+    likeCounterBatchWriter.write(LikeTarget.POST, UUID.randomUUID(),
+        Map.of(createdPost.id(), 150), chunk -> {
+        });
+    likeCounterBatchWriter.write(LikeTarget.POST, UUID.randomUUID(),
+        Map.of(createdPost.id(), 120), chunk -> {
+        });
+
+    // then
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM like_counter_shards WHERE target_id = ?", Integer.class,
+        createdPost.id())).isPositive();
+    entityManager.clear();
+    mockMvc.perform(get("/posts/{postId}", createdPost.id()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.likeCount").value(270));
+
+    likeCounterShardCompactor.compact();
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT like_counter FROM posts WHERE id = ?", Integer.class, createdPost.id()))
+        .isEqualTo(270);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM like_counter_shards WHERE target_id = ?", Integer.class,
+        createdPost.id())).isZero();
+  }
+
+  @Test
+  void shouldCorrectDriftedLikeCounterOnceTheDriftIsConfirmed() throws Exception {
+    // given
+    PostResponse createdPost = postService.addPost(
+        new PostCreationRequest("Drifted post", UUID.randomUUID()));
+    entityManager.flush();
+    for (int i = 0; i < 10; i++) {
+      postLikeRepository.saveAndFlush(new PostLikeEntity(createdPost.id(), UUID.randomUUID()));
+    }
+
+    // when
+    likeCounterReconciler.reconcile();
+
+    // then
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT like_counter FROM posts WHERE id = ?", Integer.class, createdPost.id()))
+        .isZero();
+
+    likeCounterReconciler.reconcile();
+    entityManager.clear();
+
+    mockMvc.perform(get("/posts/{postId}", createdPost.id()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.likeCount").value(10));
+  }
+}
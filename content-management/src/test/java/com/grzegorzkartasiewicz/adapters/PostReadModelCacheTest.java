@@ -0,0 +1,128 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.Description;
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class PostReadModelCacheTest {
+
+  private static final UUID POST_ID = UUID.randomUUID();
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Function<Set<UUID>, Map<UUID, PostReadModel>> loader = ids -> {
+    loads.incrementAndGet();
+    return ids.stream().collect(Collectors.toMap(id -> id,
+        id -> new PostReadModel(id, new Description("Cached post"),
+            new AuthorId(UUID.randomUUID()), new LikeCounter(0), List.of())));
+  };
+
+  private PostReadModelCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new PostReadModelCache(jdbcTemplate, new SimpleMeterRegistry(), 100,
+        Duration.ofMinutes(5));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void getAllShouldLoadPostOnlyOnce() {
+    cache.getAll(List.of(POST_ID), loader);
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void getAllShouldNotCacheMissingPost() {
+    assertThat(cache.getAll(List.of(POST_ID), ids -> Map.of())).isEmpty();
+
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void getShouldShareOneLoadWithGetAll() {
+    Function<UUID, PostReadModel> singleLoader = id -> loader.apply(Set.of(id)).get(id);
+
+    cache.get(POST_ID, singleLoader);
+    cache.get(POST_ID, singleLoader);
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void getShouldNotCacheMissingPost() {
+    assertThat(cache.get(POST_ID, id -> null)).isNull();
+
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void postCounterFlushShouldInvalidatePost() {
+    cache.getAll(List.of(POST_ID), loader);
+
+    cache.on(new LikeCountersFlushed(LikeTarget.POST, Set.of(POST_ID)));
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void commentCounterFlushShouldInvalidateOwningPost() {
+    UUID commentId = UUID.randomUUID();
+    when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(Object[].class)))
+        .thenReturn(List.of(POST_ID));
+    cache.getAll(List.of(POST_ID), loader);
+
+    cache.on(new LikeCountersFlushed(LikeTarget.COMMENT, Set.of(commentId)));
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void flushInsideTransactionShouldInvalidatePostOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    cache.on(new LikeCountersFlushed(LikeTarget.POST, Set.of(POST_ID)));
+    cache.getAll(List.of(POST_ID), loader);
+
+    TransactionSynchronizationUtils.triggerAfterCommit();
+    cache.getAll(List.of(POST_ID), loader);
+
+    assertThat(loads).hasValue(2);
+  }
+}
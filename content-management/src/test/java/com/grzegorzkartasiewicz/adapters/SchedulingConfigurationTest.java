@@ -0,0 +1,53 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+
+class SchedulingConfigurationTest {
+
+  @Test
+  void jobsOfDefaultSchedulerShouldRunWhileRelayAndPurgeAreBlocked() throws InterruptedException {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+        SchedulingConfiguration.class, Jobs.class)) {
+      Jobs jobs = context.getBean(Jobs.class);
+      try {
+        assertThat(jobs.relayBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobs.purgeBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(jobs.flushed.await(5, TimeUnit.SECONDS)).isTrue();
+      } finally {
+        jobs.release.countDown();
+      }
+    }
+  }
+
+  static class Jobs {
+
+    private final CountDownLatch relayBlocked = new CountDownLatch(1);
+    private final CountDownLatch purgeBlocked = new CountDownLatch(1);
+    private final CountDownLatch flushed = new CountDownLatch(3);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Scheduled(fixedDelay = 10, scheduler = SchedulingConfiguration.OUTBOX_RELAY_SCHEDULER)
+    void relay() throws InterruptedException {
+      relayBlocked.countDown();
+      release.await();
+    }
+
+    @Scheduled(fixedDelay = 10, scheduler = SchedulingConfiguration.PURGE_SCHEDULER)
+    void purge() throws InterruptedException {
+      purgeBlocked.countDown();
+      release.await();
+    }
+
+    @Scheduled(fixedDelay = 10)
+    void flush() {
+      flushed.countDown();
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.grzegorzkartasiewicz.app.TimelineEntry;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TimelineBufferTest {
+
+  @Test
+  void readShouldReturnNewestPostsFirst() {
+    TimelineBuffer timeline = new TimelineBuffer(10);
+    List<TimelineEntry> entries = entries(3);
+    entries.forEach(timeline::add);
+
+    assertThat(timeline.read(null, 10))
+        .containsExactly(entries.get(2), entries.get(1), entries.get(0));
+  }
+
+  @Test
+  void readShouldContinueAfterCursor() {
+    TimelineBuffer timeline = new TimelineBuffer(10);
+    List<TimelineEntry> entries = entries(5);
+    entries.forEach(timeline::add);
+
+    assertThat(timeline.read(entries.get(3), 2)).containsExactly(entries.get(2), entries.get(1));
+  }
+
+  @Test
+  void readShouldOrderEntriesAddedOutOfOrder() {
+    TimelineBuffer timeline = new TimelineBuffer(10);
+    List<TimelineEntry> entries = entries(3);
+    timeline.add(entries.get(2));
+    timeline.add(entries.get(0));
+    timeline.add(entries.get(1));
+
+    assertThat(timeline.read(null, 10))
+        .containsExactly(entries.get(2), entries.get(1), entries.get(0));
+  }
+
+  @Test
+  void addShouldOverwriteOldestPostWhenFull() {
+    TimelineBuffer timeline = new TimelineBuffer(3);
+    List<TimelineEntry> entries = entries(5);
+    entries.forEach(timeline::add);
+
+    assertThat(timeline.read(null, 10))
+        .containsExactly(entries.get(4), entries.get(3), entries.get(2));
+  }
+
+  @Test
+  void readShouldContinueWhenCursorWasOverwritten() {
+    TimelineBuffer timeline = new TimelineBuffer(3);
+    List<TimelineEntry> entries = entries(5);
+    entries.forEach(timeline::add);
+
+    assertThat(timeline.read(entries.get(3), 10)).containsExactly(entries.get(2));
+  }
+
+  private static List<TimelineEntry> entries(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new TimelineEntry(UUID.randomUUID(), 1000L + i))
+        .toList();
+  }
+}
@@ -0,0 +1,97 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.grzegorzkartasiewicz.adapters.TrendingWindows.Score;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TrendingWindowsTest {
+
+  private static final Duration FIVE_MINUTES = Duration.ofMinutes(5);
+  private static final Duration ONE_HOUR = Duration.ofHours(1);
+  private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+  private static final long START = 1_000 * MINUTE;
+
+  private final TrendingWindows trendingWindows = new TrendingWindows(
+      List.of(FIVE_MINUTES, ONE_HOUR), FIVE_MINUTES, 16384, 4, 10);
+
+  @Test
+  void topShouldReturnMostLikedPostsFirst() {
+    UUID hot = UUID.randomUUID();
+    UUID warm = UUID.randomUUID();
+    like(hot, 5, START);
+    like(warm, 2, START);
+
+    assertThat(trendingWindows.top(FIVE_MINUTES, 10, START))
+        .containsExactly(new Score(hot, 5), new Score(warm, 2));
+  }
+
+  @Test
+  void likesShouldSlideOutOfShorterWindowOnly() {
+    UUID postId = UUID.randomUUID();
+    like(postId, 3, START);
+
+    long later = START + 5 * MINUTE;
+
+    assertThat(trendingWindows.top(FIVE_MINUTES, 10, later)).isEmpty();
+    assertThat(trendingWindows.top(ONE_HOUR, 10, later)).containsExactly(new Score(postId, 3));
+  }
+
+  @Test
+  void unlikesShouldLowerScore() {
+    UUID postId = UUID.randomUUID();
+    like(postId, 3, START);
+
+    trendingWindows.record(postId, -1, START + MINUTE);
+
+    assertThat(trendingWindows.top(FIVE_MINUTES, 10, START + MINUTE))
+        .containsExactly(new Score(postId, 2));
+  }
+
+  @Test
+  void candidatesShouldStayBoundedAndKeepHeavyHitters() {
+    UUID hot = UUID.randomUUID();
+    like(hot, 50, START);
+    for (int i = 0; i < 1000; i++) {
+      like(UUID.randomUUID(), 1, START);
+    }
+
+    List<Score> top = trendingWindows.top(ONE_HOUR, 100, START);
+
+    assertThat(top).hasSizeLessThanOrEqualTo(10);
+    assertThat(top.getFirst()).isEqualTo(new Score(hot, 50));
+  }
+
+  @Test
+  void strongerKeyShouldEvictOnlyOneOfTiedWeakestCandidates() {
+    TrendingWindows windows = new TrendingWindows(List.of(FIVE_MINUTES), FIVE_MINUTES, 16384, 4,
+        2);
+    UUID first = new UUID(0, 1);
+    UUID second = new UUID(0, 2);
+    UUID strong = new UUID(0, 3);
+    windows.record(first, 1, START);
+    windows.record(second, 1, START);
+
+    windows.record(strong, 1, START);
+    windows.record(strong, 1, START);
+
+    assertThat(windows.top(FIVE_MINUTES, 10, START))
+        .containsExactly(new Score(strong, 2), new Score(first, 1));
+  }
+
+  @Test
+  void topShouldRejectUntrackedWindow() {
+    assertThatThrownBy(() -> trendingWindows.top(Duration.ofHours(2), 10, START))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void like(UUID postId, int times, long now) {
+    for (int i = 0; i < times; i++) {
+      trendingWindows.record(postId, 1, now);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.grzegorzkartasiewicz.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+  private static final UUID READER_ID = UUID.randomUUID();
+  private static final UUID AUTHOR_ID = UUID.randomUUID();
+  private static final UUID CELEBRITY_ID = UUID.randomUUID();
+
+  @Mock
+  private FollowersPort followersPort;
+  @Mock
+  private TimelineStore timelineStore;
+  @Mock
+  private RecentPostsIndex recentPostsIndex;
+  @Mock
+  private PostQueryPort postQueryPort;
+
+  private FeedService feedService;
+
+  @BeforeEach
+  void setUp() {
+    feedService = new FeedService(followersPort, timelineStore, recentPostsIndex, postQueryPort,
+        50, 1000);
+  }
+
+  @Test
+  @DisplayName("fan out should push post to followers and author")
+  void fanOut_shouldPushPostToFollowersAndAuthor() {
+    UUID postId = UUID.randomUUID();
+    Instant createdAt = Instant.now().minusSeconds(60);
+    when(postQueryPort.findPostSummary(postId)).thenReturn(
+        Optional.of(new PostSummary(postId, "Post", AUTHOR_ID, 0, createdAt)));
+    when(followersPort.countFriendsAndFollowers(AUTHOR_ID)).thenReturn(1L);
+    when(followersPort.getFriendsAndFollowers(AUTHOR_ID)).thenReturn(Set.of(READER_ID));
+
+    feedService.fanOut(postId, AUTHOR_ID);
+
+    TimelineEntry entry = new TimelineEntry(postId, createdAt.toEpochMilli());
+    verify(timelineStore).append(Set.of(READER_ID, AUTHOR_ID), entry);
+    verify(recentPostsIndex, never()).add(AUTHOR_ID, entry);
+  }
+
+  @Test
+  @DisplayName("fan out should index post of high-follower author instead of pushing it")
+  void fanOut_shouldIndexPostOfHighFollowerAuthor() {
+    UUID postId = UUID.randomUUID();
+    Instant createdAt = Instant.now().minusSeconds(60);
+    when(postQueryPort.findPostSummary(postId)).thenReturn(
+        Optional.of(new PostSummary(postId, "Post", CELEBRITY_ID, 0, createdAt)));
+    when(followersPort.countFriendsAndFollowers(CELEBRITY_ID)).thenReturn(1000L);
+
+    feedService.fanOut(postId, CELEBRITY_ID);
+
+    TimelineEntry entry = new TimelineEntry(postId, createdAt.toEpochMilli());
+    verify(recentPostsIndex).add(CELEBRITY_ID, entry);
+    verify(timelineStore).append(Set.of(CELEBRITY_ID), entry);
+    verify(followersPort, never()).getFriendsAndFollowers(CELEBRITY_ID);
+  }
+
+  @Test
+  @DisplayName("fan out should skip post deleted in the meantime")
+  void fanOut_shouldSkipDeletedPost() {
+    UUID postId = UUID.randomUUID();
+    when(postQueryPort.findPostSummary(postId)).thenReturn(Optional.empty());
+
+    feedService.fanOut(postId, AUTHOR_ID);
+
+    verifyNoInteractions(timelineStore, recentPostsIndex, followersPort);
+  }
+
+  @Test
+  @DisplayName("get feed should keep timeline order and skip deleted posts")
+  void getFeed_shouldKeepTimelineOrderAndSkipDeletedPosts() {
+    PostSummary newest = summary(AUTHOR_ID);
+    PostSummary oldest = summary(AUTHOR_ID);
+    UUID deletedId = UUID.randomUUID();
+    when(recentPostsIndex.isEmpty()).thenReturn(true);
+    when(timelineStore.read(READER_ID, null, 11)).thenReturn(List.of(
+        new TimelineEntry(newest.id(), 3), new TimelineEntry(deletedId, 2),
+        new TimelineEntry(oldest.id(), 1)));
+    when(postQueryPort.findPostSummaries(List.of(newest.id(), deletedId, oldest.id())))
+        .thenReturn(List.of(oldest, newest));
+
+    FeedPage page = feedService.getFeed(READER_ID, null, 10);
+
+    assertThat(page.posts()).containsExactly(newest, oldest);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("get feed should return cursor when more posts exist")
+  void getFeed_shouldReturnCursorWhenMorePostsExist() {
+    PostSummary first = summary(AUTHOR_ID);
+    PostSummary second = summary(AUTHOR_ID);
+    when(recentPostsIndex.isEmpty()).thenReturn(true);
+    when(timelineStore.read(READER_ID, null, 3)).thenReturn(List.of(
+        new TimelineEntry(first.id(), 3), new TimelineEntry(second.id(), 2),
+        new TimelineEntry(UUID.randomUUID(), 1)));
+    when(postQueryPort.findPostSummaries(List.of(first.id(), second.id())))
+        .thenReturn(List.of(first, second));
+
+    FeedPage page = feedService.getFeed(READER_ID, null, 2);
+
+    assertThat(page.posts()).containsExactly(first, second);
+    assertThat(page.nextCursor()).isEqualTo(new TimelineEntry(second.id(), 2).toCursor());
+  }
+
+  @Test
+  @DisplayName("get feed should merge recent posts of followed high-follower authors by recency")
+  void getFeed_shouldMergeRecentPostsOfFollowedAuthorsByRecency() {
+    PostSummary pushedNew = summary(AUTHOR_ID);
+    PostSummary pulled = summary(CELEBRITY_ID);
+    PostSummary pushedOld = summary(AUTHOR_ID);
+    TimelineEntry cursor = new TimelineEntry(UUID.randomUUID(), 100);
+    when(recentPostsIndex.isEmpty()).thenReturn(false);
+    when(followersPort.getFriendsAndFollowed(READER_ID)).thenReturn(Set.of(CELEBRITY_ID));
+    when(timelineStore.read(READER_ID, cursor, 11)).thenReturn(List.of(
+        new TimelineEntry(pushedNew.id(), 30), new TimelineEntry(pushedOld.id(), 10)));
+    when(recentPostsIndex.read(CELEBRITY_ID, cursor, 11)).thenReturn(List.of(
+        new TimelineEntry(pulled.id(), 20), new TimelineEntry(pushedOld.id(), 10)));
+    when(postQueryPort.findPostSummaries(List.of(pushedNew.id(), pulled.id(), pushedOld.id())))
+        .thenReturn(List.of(pushedNew, pulled, pushedOld));
+
+    FeedPage page = feedService.getFeed(READER_ID, cursor.toCursor(), 10);
+
+    assertThat(page.posts()).containsExactly(pushedNew, pulled, pushedOld);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  private static PostSummary summary(UUID authorId) {
+    return new PostSummary(UUID.randomUUID(), "Post", authorId, 0, Instant.EPOCH);
+  }
+}
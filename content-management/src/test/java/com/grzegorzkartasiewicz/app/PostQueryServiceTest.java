@@ -0,0 +1,267 @@
+package com.grzegorzkartasiewicz.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.grzegorzkartasiewicz.domain.ValidationException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PostQueryServiceTest {
+
+  private static final UUID POST_ID = UUID.randomUUID();
+  private static final UUID AUTHOR_ID = UUID.randomUUID();
+  private static final int MAX_PAGE_SIZE = 50;
+  private static final int MAX_POSTS_PAGE_SIZE = 20;
+  private static final int MAX_LIKERS_PAGE_SIZE = 30;
+
+  @Mock
+  private PostQueryPort postQueryPort;
+
+  private PostQueryService postQueryService;
+
+  @BeforeEach
+  void setUp() {
+    postQueryService = new PostQueryService(postQueryPort, MAX_PAGE_SIZE, MAX_POSTS_PAGE_SIZE,
+        MAX_LIKERS_PAGE_SIZE);
+  }
+
+  @Test
+  @DisplayName("get comments should return cursor of last comment when more comments exist")
+  void getComments_shouldReturnCursorOfLastCommentWhenMoreCommentsExist() {
+    List<PageItem<CommentResponse>> comments = comments(3);
+    when(postQueryPort.findComments(POST_ID, null, 3)).thenReturn(comments);
+
+    CommentPage page = postQueryService.getComments(POST_ID, null, 2);
+
+    assertThat(page.comments()).containsExactly(comments.get(0).value(), comments.get(1).value());
+    assertThat(page.nextCursor()).isEqualTo(comments.get(1).cursor().toCursor());
+  }
+
+  @Test
+  @DisplayName("get comments should continue from cursor and return no cursor on last page")
+  void getComments_shouldContinueFromCursorPositionAndReturnNoCursorOnLastPage() {
+    PageCursor after = new PageCursor(Instant.parse("2026-01-01T10:00:00.123456Z"),
+        UUID.randomUUID());
+    List<PageItem<CommentResponse>> comments = comments(2);
+    when(postQueryPort.findComments(POST_ID, after, 3)).thenReturn(comments);
+
+    CommentPage page = postQueryService.getComments(POST_ID, after.toCursor(), 2);
+
+    assertThat(page.comments()).containsExactly(comments.get(0).value(), comments.get(1).value());
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("get comments should resolve bare comment id to its position")
+  void getComments_shouldResolveBareCommentIdToItsPosition() {
+    UUID commentId = UUID.randomUUID();
+    PageCursor position = new PageCursor(Instant.parse("2026-01-01T10:00:00Z"), commentId);
+    when(postQueryPort.findCommentCursor(POST_ID, commentId)).thenReturn(Optional.of(position));
+    when(postQueryPort.findComments(POST_ID, position, 3)).thenReturn(comments(1));
+
+    CommentPage page = postQueryService.getComments(POST_ID, commentId.toString(), 2);
+
+    assertThat(page.comments()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("get comments should reject bare id of deleted comment")
+  void getComments_shouldRejectBareIdOfDeletedComment() {
+    UUID commentId = UUID.randomUUID();
+    when(postQueryPort.findCommentCursor(POST_ID, commentId)).thenReturn(Optional.empty());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> postQueryService.getComments(POST_ID, commentId.toString(), 2));
+  }
+
+  @Test
+  @DisplayName("get comments should reject malformed cursor")
+  void getComments_shouldRejectMalformedCursor() {
+    assertThrows(IllegalArgumentException.class,
+        () -> postQueryService.getComments(POST_ID, "not-a-cursor", 2));
+    assertThrows(IllegalArgumentException.class,
+        () -> postQueryService.getComments(POST_ID, "12_not-a-uuid", 2));
+  }
+
+  @Test
+  @DisplayName("get comments should cap page size at configured maximum")
+  void getComments_shouldCapPageSizeAtConfiguredMaximum() {
+    when(postQueryPort.findComments(POST_ID, null, MAX_PAGE_SIZE + 1)).thenReturn(comments(1));
+
+    CommentPage page = postQueryService.getComments(POST_ID, null, 10_000);
+
+    assertThat(page.comments()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("get comments should throw not found exception when post does not exist")
+  void getComments_shouldThrowNotFoundExceptionWhenPostDoesNotExist() {
+    when(postQueryPort.findComments(POST_ID, null, 21)).thenReturn(List.of());
+    when(postQueryPort.postExists(POST_ID)).thenReturn(false);
+
+    assertThrows(PostNotExists.class, () -> postQueryService.getComments(POST_ID, null, 20));
+  }
+
+  @Test
+  @DisplayName("get posts by author should return cursor of last post when more posts exist")
+  void getPostsByAuthor_shouldReturnCursorOfLastPostWhenMorePostsExist() {
+    List<PageItem<PostSummary>> posts = postItems(3);
+    when(postQueryPort.findPostsByAuthor(AUTHOR_ID, null, 3)).thenReturn(posts);
+
+    PostPage page = postQueryService.getPostsByAuthor(AUTHOR_ID, null, 2);
+
+    assertThat(page.posts()).containsExactly(posts.get(0).value(), posts.get(1).value());
+    assertThat(page.nextCursor()).isEqualTo(posts.get(1).cursor().toCursor());
+  }
+
+  @Test
+  @DisplayName("get posts by author should cap page size at configured maximum")
+  void getPostsByAuthor_shouldCapPageSizeAtConfiguredMaximum() {
+    PageCursor after = new PageCursor(Instant.parse("2026-01-01T10:00:00Z"), UUID.randomUUID());
+    when(postQueryPort.findPostsByAuthor(AUTHOR_ID, after, MAX_POSTS_PAGE_SIZE + 1))
+        .thenReturn(postItems(1));
+
+    PostPage page = postQueryService.getPostsByAuthor(AUTHOR_ID, after.toCursor(), 10_000);
+
+    assertThat(page.posts()).hasSize(1);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("get posts by author should reject malformed cursor")
+  void getPostsByAuthor_shouldRejectMalformedCursor() {
+    String barePostId = UUID.randomUUID().toString();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> postQueryService.getPostsByAuthor(AUTHOR_ID, barePostId, 20));
+  }
+
+  @Test
+  @DisplayName("get posts by tag should normalise tag and return cursor of last post")
+  void getPostsByTag_shouldNormaliseTagAndReturnCursorOfLastPost() {
+    List<PageItem<PostSummary>> posts = postItems(3);
+    when(postQueryPort.findPostsByTag("java", null, 3)).thenReturn(posts);
+
+    PostPage page = postQueryService.getPostsByTag("#Java", null, 2);
+
+    assertThat(page.posts()).containsExactly(posts.get(0).value(), posts.get(1).value());
+    assertThat(page.nextCursor()).isEqualTo(posts.get(1).cursor().toCursor());
+  }
+
+  @Test
+  @DisplayName("get posts by tag should reject invalid tag")
+  void getPostsByTag_shouldRejectInvalidTag() {
+    assertThrows(ValidationException.class,
+        () -> postQueryService.getPostsByTag("two words", null, 10));
+  }
+
+  @Test
+  @DisplayName("get post likers should return cursor of last liker when more likers exist")
+  void getPostLikers_shouldReturnCursorOfLastLikerWhenMoreLikersExist() {
+    List<PageItem<UUID>> likers = likerItems(3);
+    when(postQueryPort.findPostLikers(POST_ID, null, 3)).thenReturn(likers);
+
+    LikerPage page = postQueryService.getPostLikers(POST_ID, null, 2);
+
+    assertThat(page.likerIds()).containsExactly(likers.get(0).value(), likers.get(1).value());
+    assertThat(page.nextCursor()).isEqualTo(likers.get(1).cursor().toCursor());
+  }
+
+  @Test
+  @DisplayName("get comment likers should cap page size at configured maximum")
+  void getCommentLikers_shouldCapPageSizeAtConfiguredMaximum() {
+    UUID commentId = UUID.randomUUID();
+    PageCursor after = new PageCursor(Instant.parse("2026-01-01T10:00:00Z"), UUID.randomUUID());
+    when(postQueryPort.findCommentLikers(POST_ID, commentId, after, MAX_LIKERS_PAGE_SIZE + 1))
+        .thenReturn(likerItems(1));
+
+    LikerPage page = postQueryService.getCommentLikers(POST_ID, commentId, after.toCursor(),
+        10_000);
+
+    assertThat(page.likerIds()).hasSize(1);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("get post likers should throw not found exception when post does not exist")
+  void getPostLikers_shouldThrowNotFoundExceptionWhenPostDoesNotExist() {
+    when(postQueryPort.findPostLikers(POST_ID, null, 21)).thenReturn(List.of());
+    when(postQueryPort.postExists(POST_ID)).thenReturn(false);
+
+    assertThrows(PostNotExists.class, () -> postQueryService.getPostLikers(POST_ID, null, 20));
+  }
+
+  @Test
+  @DisplayName("get post likers should reject malformed cursor")
+  void getPostLikers_shouldRejectMalformedCursor() {
+    String bareLikerId = UUID.randomUUID().toString();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> postQueryService.getPostLikers(POST_ID, bareLikerId, 20));
+  }
+
+  @Test
+  @DisplayName("get liked posts should return liked state of every requested post in order")
+  void getLikedPosts_shouldReturnLikedStateOfEveryRequestedPostInOrder() {
+    UUID viewerId = UUID.randomUUID();
+    List<UUID> postIds = likers(3);
+    when(postQueryPort.findLikedPostIds(viewerId, Set.copyOf(postIds)))
+        .thenReturn(Set.of(postIds.get(1)));
+
+    Map<UUID, Boolean> liked = postQueryService.getLikedPosts(viewerId,
+        new LikedPostsRequest(postIds));
+
+    assertThat(liked).containsExactly(Map.entry(postIds.get(0), false),
+        Map.entry(postIds.get(1), true), Map.entry(postIds.get(2), false));
+  }
+
+  private static List<UUID> likers(int count) {
+    return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+  }
+
+  private static List<PageItem<UUID>> likerItems(int count) {
+    Instant likedAt = Instant.parse("2026-01-01T10:00:00Z");
+    return IntStream.range(0, count)
+        .mapToObj(i -> {
+          UUID likerId = UUID.randomUUID();
+          return new PageItem<>(likerId, new PageCursor(likedAt.minusSeconds(i), likerId));
+        })
+        .toList();
+  }
+
+  private static List<PageItem<PostSummary>> postItems(int count) {
+    Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
+    return IntStream.range(0, count)
+        .mapToObj(i -> {
+          PostSummary post = new PostSummary(UUID.randomUUID(), "Post " + i, AUTHOR_ID, 0,
+              createdAt.minusSeconds(i));
+          return new PageItem<>(post, new PageCursor(post.createdAt(), post.id()));
+        })
+        .toList();
+  }
+
+  private static List<PageItem<CommentResponse>> comments(int count) {
+    Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
+    return IntStream.range(0, count)
+        .mapToObj(i -> {
+          UUID id = UUID.randomUUID();
+          return new PageItem<>(new CommentResponse(id, "Comment " + i, UUID.randomUUID(), 0),
+              new PageCursor(createdAt.plusSeconds(i), id));
+        })
+        .toList();
+  }
+}
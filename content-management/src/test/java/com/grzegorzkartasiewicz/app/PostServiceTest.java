@@ -1,14 +1,16 @@
 package com.grzegorzkartasiewicz.app;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.grzegorzkartasiewicz.domain.Comment;
 import com.grzegorzkartasiewicz.domain.CommentNotExists;
 import com.grzegorzkartasiewicz.domain.DomainEventPublisher;
+import com.grzegorzkartasiewicz.domain.LikeTargetSnapshot;
 import com.grzegorzkartasiewicz.domain.Post;
 import com.grzegorzkartasiewicz.domain.PostAction;
 import com.grzegorzkartasiewicz.domain.PostChangedEvent;
@@ -28,7 +30,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -41,11 +42,11 @@ class PostServiceTest {
   private static final String COMMENT_VALID_DESCRIPTION = "Valid comment description";
   private static final String REQUEST_VALID_DESCRIPTION = "Valid description";
   public static final String UPDATE_VALID_DESCRIPTION = "New description";
+  private static final int MAX_COMMENTS_LIMIT = 2;
   @Mock
   private PostRepository postRepository;
   @Mock
   private DomainEventPublisher domainEventPublisher;
-  @InjectMocks
   private PostService postService;
 
   private Post testPost;
@@ -54,6 +55,7 @@ class PostServiceTest {
 
   @BeforeEach
   void setUp() {
+    postService = new PostService(postRepository, domainEventPublisher, MAX_COMMENTS_LIMIT);
     Description postDescription = new Description(POST_VALID_DESCRIPTION);
     AuthorId postAuthorId = new AuthorId(POST_AUTHOR_ID);
     Description commentDescription = new Description(COMMENT_VALID_DESCRIPTION);
@@ -526,4 +528,133 @@ class PostServiceTest {
     assertThrows(CommentNotExists.class,
         () -> postService.unlikeComment(postId, commentId, UUID.randomUUID()));
   }
+
+  @Test
+  @DisplayName("register post like should return optimistic count without loading post")
+  void registerPostLike_shouldReturnOptimisticCountWithoutLoadingPost() {
+    when(postRepository.findPostLikeTarget(testPost.getId())).thenReturn(Optional.of(
+        new LikeTargetSnapshot(testPost.getAuthorId(), new LikeCounter(10))));
+    UUID likerId = UUID.randomUUID();
+
+    LikeAck likeAck = postService.registerPostLike(testPost.getId().id(), likerId);
+
+    assertThat(likeAck.likeCount()).isEqualTo(11);
+    assertThat(likeAck.commentId()).isNull();
+    verify(postRepository, never()).findPostById(any());
+    verify(domainEventPublisher).publish(org.mockito.ArgumentMatchers.argThat(event ->
+        event instanceof PostChangedEvent pce &&
+            pce.action() == PostAction.POST_LIKED &&
+            pce.recipientId().equals(testPost.getAuthorId()) &&
+            pce.actorId().id().equals(likerId)
+    ));
+  }
+
+  @Test
+  @DisplayName("register post unlike should not decrease below zero")
+  void registerPostUnlike_shouldNotDecreaseBelowZero() {
+    when(postRepository.findPostLikeTarget(testPost.getId())).thenReturn(Optional.of(
+        new LikeTargetSnapshot(testPost.getAuthorId(), new LikeCounter(0))));
+
+    LikeAck likeAck = postService.registerPostUnlike(testPost.getId().id(), UUID.randomUUID());
+
+    assertThat(likeAck.likeCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("register post like should throw not found exception when post does not exist")
+  void registerPostLike_shouldThrowNotFoundExceptionWhenPostDoesNotExist() {
+    when(postRepository.findPostLikeTarget(testPost.getId())).thenReturn(Optional.empty());
+    UUID postId = testPost.getId().id();
+
+    assertThrows(PostNotExists.class,
+        () -> postService.registerPostLike(postId, UUID.randomUUID()));
+  }
+
+  @Test
+  @DisplayName("register comment like should notify comment author")
+  void registerCommentLike_shouldNotifyCommentAuthor() {
+    when(postRepository.findCommentLikeTarget(testPost.getId(), testComment.getId())).thenReturn(
+        Optional.of(new LikeTargetSnapshot(testComment.getAuthorId(), new LikeCounter(10))));
+    UUID likerId = UUID.randomUUID();
+
+    LikeAck likeAck = postService.registerCommentLike(testPost.getId().id(),
+        testComment.getId().id(), likerId);
+
+    assertThat(likeAck.likeCount()).isEqualTo(11);
+    assertThat(likeAck.commentId()).isEqualTo(testComment.getId().id());
+    verify(domainEventPublisher).publish(org.mockito.ArgumentMatchers.argThat(event ->
+        event instanceof PostChangedEvent pce &&
+            pce.action() == PostAction.COMMENT_LIKED &&
+            pce.recipientId().equals(testComment.getAuthorId()) &&
+            pce.actorId().id().equals(likerId)
+    ));
+  }
+
+  @Test
+  @DisplayName("register comment unlike should throw exception when comment does not exist")
+  void registerCommentUnlike_shouldThrowExceptionWhenCommentDoesNotExist() {
+    UUID postId = testPost.getId().id();
+    UUID commentId = UUID.randomUUID();
+    when(postRepository.findCommentLikeTarget(testPost.getId(), new CommentId(commentId)))
+        .thenReturn(Optional.empty());
+    when(postRepository.existsById(testPost.getId())).thenReturn(true);
+
+    assertThrows(CommentNotExists.class,
+        () -> postService.registerCommentUnlike(postId, commentId, UUID.randomUUID()));
+  }
+
+  @Test
+  @DisplayName("register comment like should throw not found exception when post does not exist")
+  void registerCommentLike_shouldThrowNotFoundExceptionWhenPostDoesNotExist() {
+    UUID postId = testPost.getId().id();
+    UUID commentId = testComment.getId().id();
+    when(postRepository.findCommentLikeTarget(testPost.getId(), testComment.getId()))
+        .thenReturn(Optional.empty());
+    when(postRepository.existsById(testPost.getId())).thenReturn(false);
+
+    assertThrows(PostNotExists.class,
+        () -> postService.registerCommentLike(postId, commentId, UUID.randomUUID()));
+  }
+
+  @Test
+  @DisplayName("get posts should return found posts in repository order")
+  void getPosts_shouldReturnFoundPostsInRepositoryOrder() {
+    UUID missingId = UUID.randomUUID();
+    List<PostId> ids = List.of(new PostId(missingId), testPost.getId());
+    when(postRepository.findAllByIds(ids)).thenReturn(List.of(testPost));
+
+    List<PostResponse> responses = postService.getPosts(
+        new PostBatchGetRequest(List.of(missingId, testPost.getId().id())));
+
+    assertThat(responses).extracting(PostResponse::id).containsExactly(testPost.getId().id());
+    assertThat(responses.getFirst().comments()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("get post should read post to read and cap comments at configured maximum")
+  void getPost_shouldReadPostToReadAndCapCommentsAtConfiguredMaximum() {
+    List<Comment> comments = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      comments.add(new Comment(new CommentId(UUID.randomUUID()), new Description("Comment " + i),
+          new AuthorId(COMMENT_AUTHOR_ID), new LikeCounter(0)));
+    }
+    Post post = new Post(testPost.getId(), testPost.getDescription(), testPost.getAuthorId(),
+        testPost.getLikeCounter(), comments);
+    when(postRepository.findPostToRead(post.getId())).thenReturn(Optional.of(post));
+
+    PostResponse response = postService.getPost(post.getId().id(), 10);
+
+    assertThat(response.comments()).extracting(CommentResponse::description)
+        .containsExactly("Comment 0", "Comment 1");
+    verify(postRepository, never()).findPostById(any());
+  }
+
+  @Test
+  @DisplayName("get post should throw not found exception when post does not exist")
+  void getPost_shouldThrowNotFoundExceptionWhenPostDoesNotExist() {
+    UUID postId = UUID.randomUUID();
+    when(postRepository.findPostToRead(new PostId(postId))).thenReturn(Optional.empty());
+
+    assertThrows(PostNotExists.class, () -> postService.getPost(postId, 20));
+  }
 }
@@ -0,0 +1,86 @@
+package com.grzegorzkartasiewicz.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+  @Mock
+  private TrendingTracker trendingTracker;
+  @Mock
+  private TrendingTagTracker trendingTagTracker;
+  @Mock
+  private PostQueryPort postQueryPort;
+
+  private TrendingService trendingService;
+
+  @BeforeEach
+  void setUp() {
+    trendingService = new TrendingService(trendingTracker, trendingTagTracker, postQueryPort, 100);
+  }
+
+  @Test
+  @DisplayName("get trending should keep score order and skip deleted posts")
+  void getTrending_shouldKeepScoreOrderAndSkipDeletedPosts() {
+    PostSummary first = summary();
+    PostSummary second = summary();
+    UUID deletedId = UUID.randomUUID();
+    when(trendingTracker.top(Duration.ofHours(1), 50)).thenReturn(List.of(
+        new PostScore(first.id(), 10), new PostScore(deletedId, 7), new PostScore(second.id(), 3)));
+    when(postQueryPort.findPostSummaries(List.of(first.id(), deletedId, second.id())))
+        .thenReturn(List.of(second, first));
+
+    List<TrendingPost> trending = trendingService.getTrending("1h", 50);
+
+    assertThat(trending).containsExactly(new TrendingPost(first, 10), new TrendingPost(second, 3));
+  }
+
+  @Test
+  @DisplayName("get trending should cap limit")
+  void getTrending_shouldCapLimit() {
+    when(trendingTracker.top(Duration.ofMinutes(5), 100)).thenReturn(List.of());
+    when(postQueryPort.findPostSummaries(List.of())).thenReturn(List.of());
+
+    assertThat(trendingService.getTrending("5m", 1000)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("get trending should reject malformed window")
+  void getTrending_shouldRejectMalformedWindow() {
+    assertThatThrownBy(() -> trendingService.getTrending("hour", 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("get trending should reject window too long for a duration")
+  void getTrending_shouldRejectOverflowingWindow() {
+    assertThatThrownBy(() -> trendingService.getTrending("99999999999999999d", 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("get trending tags should cap limit")
+  void getTrendingTags_shouldCapLimit() {
+    List<TrendingTag> tags = List.of(new TrendingTag("java", 12), new TrendingTag("spring", 4));
+    when(trendingTagTracker.top(Duration.ofHours(1), 100)).thenReturn(tags);
+
+    assertThat(trendingService.getTrendingTags("1h", 1000)).isEqualTo(tags);
+  }
+
+  private static PostSummary summary() {
+    return new PostSummary(UUID.randomUUID(), "Post", UUID.randomUUID(), 0, Instant.EPOCH);
+  }
+}
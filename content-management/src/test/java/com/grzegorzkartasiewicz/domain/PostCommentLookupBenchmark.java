@@ -0,0 +1,98 @@
+package com.grzegorzkartasiewicz.domain;
+
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
+import com.grzegorzkartasiewicz.domain.vo.Description;
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures single-comment operations of the {@link Post} aggregate against thread size.
+ * {@code linearScan} is the lookup the aggregate used before the id index, kept as a baseline;
+ * {@code rehydrateAndLookUp} includes building the index for a freshly loaded post.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostCommentLookupBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int comments;
+
+  private final SplittableRandom random = new SplittableRandom(42);
+  private List<Comment> thread;
+  private Post post;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    thread = new ArrayList<>(comments);
+    for (int i = 0; i < comments; i++) {
+      thread.add(new Comment(new CommentId(UUID.randomUUID()), new Description("comment " + i),
+          new AuthorId(UUID.randomUUID()), new LikeCounter(0)));
+    }
+    post = rehydrate();
+  }
+
+  @Benchmark
+  public AuthorId getCommentAuthorId() {
+    return post.getCommentAuthorId(randomCommentId());
+  }
+
+  @Benchmark
+  public void increaseLikesInComment() {
+    post.increaseLikesInComment(randomCommentId());
+  }
+
+  @Benchmark
+  public AuthorId rehydrateAndLookUp() {
+    return rehydrate().getCommentAuthorId(randomCommentId());
+  }
+
+  @Benchmark
+  public AuthorId linearScan() {
+    CommentId commentId = randomCommentId();
+    return post.getComments().stream()
+        .filter(comment -> comment.getId().equals(commentId))
+        .findFirst()
+        .orElseThrow()
+        .getAuthorId();
+  }
+
+  private Post rehydrate() {
+    return new Post(new PostId(UUID.randomUUID()), new Description("post"),
+        new AuthorId(UUID.randomUUID()), new LikeCounter(0), new ArrayList<>(thread));
+  }
+
+  private CommentId randomCommentId() {
+    return thread.get(random.nextInt(comments)).getId();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(PostCommentLookupBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
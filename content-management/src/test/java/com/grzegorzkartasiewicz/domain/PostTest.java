@@ -1,9 +1,15 @@
 package com.grzegorzkartasiewicz.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.grzegorzkartasiewicz.domain.vo.CommentId;
 import com.grzegorzkartasiewicz.domain.vo.Description;
 import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.LikeCounter;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
@@ -128,6 +134,105 @@ class PostTest {
     assertThat(comment.getLikeCounter().likeCount()).isEqualTo(oldLikeCount);
   }
 
+  @Test
+  void getCommentAuthorIdShouldReturnAuthorOfComment() {
+    Post testPost = getPersistedTestPost();
+    Comment comment = testPost.getComments().get(1);
+
+    assertThat(testPost.getCommentAuthorId(comment.getId())).isEqualTo(comment.getAuthorId());
+  }
+
+  @Test
+  void getCommentAuthorIdShouldThrowForRemovedComment() {
+    Post testPost = getPersistedTestPost();
+    Comment comment = testPost.getComments().get(0);
+    testPost.getCommentAuthorId(comment.getId());
+
+    testPost.removeComment(comment.getId(), comment.getAuthorId());
+
+    assertThatThrownBy(() -> testPost.getCommentAuthorId(comment.getId()))
+        .isInstanceOf(CommentNotExists.class);
+  }
+
+  @Test
+  void editCommentShouldFindPersistedCommentAfterIndexWasBuiltAndChanged() {
+    Post testPost = getPersistedTestPost();
+    Comment removed = testPost.getComments().get(0);
+    Comment kept = testPost.getComments().get(1);
+    testPost.getCommentAuthorId(kept.getId());
+    Comment testComment = getTestComment();
+    testPost.addComment(testComment.getDescription(), testComment.getAuthorId());
+    testPost.removeComment(removed.getId(), removed.getAuthorId());
+
+    Description newDescription = new Description("new description");
+    testPost.editComment(kept.getId(), newDescription, kept.getAuthorId());
+
+    assertThat(kept.getDescription()).isEqualTo(newDescription);
+    assertThatThrownBy(() -> testPost.getCommentAuthorId(removed.getId()))
+        .isInstanceOf(CommentNotExists.class);
+  }
+
+  @Test
+  void changesShouldBeEmptyForLoadedPost() {
+    Post testPost = getPersistedTestPost();
+
+    assertThat(testPost.getChanges().isEmpty()).isTrue();
+  }
+
+  @Test
+  void changesShouldRecordDescriptionChangeAndAddedComment() {
+    Post testPost = getPersistedTestPost();
+    Comment testComment = getTestComment();
+
+    testPost.edit(new Description("new description"), testPost.getAuthorId());
+    testPost.addComment(testComment.getDescription(), testComment.getAuthorId());
+
+    PostChanges changes = testPost.getChanges();
+    assertThat(changes.isDescriptionChanged()).isTrue();
+    assertThat(changes.getAddedComments()).containsExactly(testPost.getComments().getLast());
+    assertThat(changes.getEditedComments()).isEmpty();
+    assertThat(changes.getRemovedCommentIds()).isEmpty();
+  }
+
+  @Test
+  void changesShouldRecordEditedAndRemovedPersistedComments() {
+    Post testPost = getPersistedTestPost();
+    Comment edited = testPost.getComments().get(0);
+    Comment removed = testPost.getComments().get(1);
+
+    testPost.editComment(edited.getId(), new Description("new description"), edited.getAuthorId());
+    testPost.editComment(removed.getId(), new Description("new description"), removed.getAuthorId());
+    testPost.removeComment(removed.getId(), removed.getAuthorId());
+
+    PostChanges changes = testPost.getChanges();
+    assertThat(changes.getEditedComments()).containsExactly(edited);
+    assertThat(changes.getRemovedCommentIds()).containsExactly(removed.getId());
+    assertThat(changes.isDescriptionChanged()).isFalse();
+  }
+
+  @Test
+  void changesShouldForgetCommentAddedAndRemovedBeforeSaving() {
+    Post testPost = getPersistedTestPost();
+    Comment testComment = getTestComment();
+    testPost.addComment(testComment.getDescription(), testComment.getAuthorId());
+    Comment added = testPost.getComments().get(2);
+
+    testPost.editComment(added.getId(), new Description("new description"), added.getAuthorId());
+    testPost.removeComment(added.getId(), added.getAuthorId());
+
+    assertThat(testPost.getChanges().isEmpty()).isTrue();
+  }
+
+  private static @NotNull Post getPersistedTestPost() {
+    return new Post(new PostId(UUID.randomUUID()), new Description("text"),
+        new AuthorId(UUID.randomUUID()), new LikeCounter(0), new ArrayList<>(List.of(
+        getPersistedTestComment(), getPersistedTestComment())));
+  }
+
+  private static @NotNull Comment getPersistedTestComment() {
+    return new Comment(new CommentId(UUID.randomUUID()), new Description("commentText"),
+        new AuthorId(UUID.randomUUID()), new LikeCounter(0));
+  }
 
   private static @NotNull Post getTestPost() {
     return new Post(new Description("text"), new AuthorId(UUID.randomUUID()));
@@ -1,5 +1,6 @@
 package com.grzegorzkartasiewicz.domain.vo;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -22,4 +23,20 @@ class DescriptionTest {
   void shouldThrowExceptionWhenDescriptionIsInvalid() {
     assertThrows(ValidationException.class, () -> new Description(" "));
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldExtractDistinctNormalisedHashtagsInOrderOfAppearance() {
+    Description description = new Description("#Java and #spring, again #JAVA #Żółw_1!");
+
+    assertThat(description.hashtags()).containsExactly(new Hashtag("java"),
+        new Hashtag("spring"), new Hashtag("żółw_1"));
+  }
+
+  @Test
+  void shouldIgnoreHashSignsInsideWordsAndTooLongTags() {
+    Description description = new Description(
+        "mail a#b, ##double, # alone, #" + "x".repeat(Hashtag.MAX_LENGTH + 1));
+
+    assertThat(description.hashtags()).isEmpty();
+  }
+}
@@ -0,0 +1,23 @@
+package com.grzegorzkartasiewicz.domain.vo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.grzegorzkartasiewicz.domain.ValidationException;
+import org.junit.jupiter.api.Test;
+
+class HashtagTest {
+
+  @Test
+  void shouldNormaliseTagWrittenByUser() {
+    assertThat(Hashtag.of("#Java")).isEqualTo(new Hashtag("java"));
+    assertThat(Hashtag.of("ＪＡＶＡ")).isEqualTo(new Hashtag("java"));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenTagIsInvalid() {
+    assertThrows(ValidationException.class, () -> Hashtag.of("#"));
+    assertThrows(ValidationException.class, () -> Hashtag.of("two words"));
+    assertThrows(ValidationException.class, () -> Hashtag.of(null));
+  }
+}
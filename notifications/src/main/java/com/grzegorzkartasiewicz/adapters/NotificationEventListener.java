@@ -11,14 +11,19 @@ import com.grzegorzkartasiewicz.domain.PostChangedEvent;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 @RequiredArgsConstructor
 public class NotificationEventListener {
 
+  private static final String POST_CHANGES_CONSUMER = "notifications";
+
   private final NotificationService notificationService;
+  private final ConsumedEvents consumedEvents;
 
   @TransactionalEventListener
   public void handle(UserEmailVerificationNeededEvent event) {
@@ -56,8 +61,19 @@ public class NotificationEventListener {
     notificationService.triggerNotification(command);
   }
 
-  @TransactionalEventListener
-  public void handle(PostChangedEvent event) {
+  /**
+   * Post changes come from the content-management outbox, which delivers them at least once and
+   * outside of the transaction that stored them. The event id is marked as consumed in the same
+   * transaction as the notification, so a redelivered event is not sent twice, and a failed one is
+   * redelivered.
+   */
+  @EventListener
+  @Transactional
+  public void handlePostChanged(DeliveredEvent<PostChangedEvent> delivery) {
+    if (!consumedEvents.markConsumed(POST_CHANGES_CONSUMER, delivery.eventId())) {
+      return;
+    }
+    PostChangedEvent event = delivery.event();
     Map<String, String> params = new HashMap<>();
     params.put("postId", event.postId().id().toString());
     params.put("actorId", event.actorId().id().toString());
@@ -0,0 +1,77 @@
+package com.grzegorzkartasiewicz.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.grzegorzkartasiewicz.app.NotificationService;
+import com.grzegorzkartasiewicz.app.TriggerNotificationCommand;
+import com.grzegorzkartasiewicz.domain.Channel;
+import com.grzegorzkartasiewicz.domain.NotificationType;
+import com.grzegorzkartasiewicz.domain.PostAction;
+import com.grzegorzkartasiewicz.domain.PostChangedEvent;
+import com.grzegorzkartasiewicz.domain.vo.AuthorId;
+import com.grzegorzkartasiewicz.domain.vo.PostId;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationEventListenerTest {
+
+  private final UUID eventId = UUID.randomUUID();
+  private final UUID postId = UUID.randomUUID();
+  private final UUID likerId = UUID.randomUUID();
+  private final UUID authorId = UUID.randomUUID();
+
+  @Mock
+  private NotificationService notificationService;
+  @Mock
+  private ConsumedEvents consumedEvents;
+
+  @InjectMocks
+  private NotificationEventListener listener;
+
+  @Captor
+  private ArgumentCaptor<TriggerNotificationCommand> commandCaptor;
+
+  @Test
+  @DisplayName("Should notify post author about a delivered like")
+  void shouldNotifyPostAuthorAboutDeliveredLike() {
+    when(consumedEvents.markConsumed("notifications", eventId)).thenReturn(true);
+
+    listener.handlePostChanged(new DeliveredEvent<>(eventId, postLiked()));
+
+    verify(notificationService).triggerNotification(commandCaptor.capture());
+    TriggerNotificationCommand command = commandCaptor.getValue();
+    assertThat(command.type()).isEqualTo(NotificationType.POST_LIKED);
+    assertThat(command.channel()).isEqualTo(Channel.EMAIL);
+    assertThat(command.actorId()).isEqualTo(likerId);
+    assertThat(command.targetId()).isEqualTo(authorId);
+    assertThat(command.params()).containsEntry("postId", postId.toString());
+  }
+
+  @Test
+  @DisplayName("Should not notify again about a redelivered like")
+  void shouldNotNotifyAgainAboutRedeliveredLike() {
+    when(consumedEvents.markConsumed("notifications", eventId)).thenReturn(false);
+
+    listener.handlePostChanged(new DeliveredEvent<>(eventId, postLiked()));
+
+    verify(notificationService, never()).triggerNotification(any());
+  }
+
+  private PostChangedEvent postLiked() {
+    return new PostChangedEvent(new PostId(postId), Optional.empty(), new AuthorId(likerId),
+        new AuthorId(authorId), PostAction.POST_LIKED);
+  }
+}
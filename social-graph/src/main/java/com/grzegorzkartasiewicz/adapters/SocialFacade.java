@@ -6,4 +6,8 @@ import java.util.UUID;
 public interface SocialFacade {
 
   Set<UUID> getFriendsAndFollowers(UUID userId);
+
+  Set<UUID> getFriendsAndFollowed(UUID userId);
+
+  long countFriendsAndFollowers(UUID userId);
 }
@@ -1,11 +1,8 @@
 package com.grzegorzkartasiewicz.adapters;
 
 import com.grzegorzkartasiewicz.app.SocialService;
-import com.grzegorzkartasiewicz.app.SocialUserResponse;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,11 +14,16 @@ class SocialFacadeImpl implements SocialFacade {
 
   @Override
   public Set<UUID> getFriendsAndFollowers(UUID userId) {
-    return Stream.concat(
-            socialService.getFriends(userId).stream(),
-            socialService.getFollowers(userId).stream()
-        )
-        .map(SocialUserResponse::id)
-        .collect(Collectors.toSet());
+    return socialService.getFriendAndFollowerIds(userId);
+  }
+
+  @Override
+  public Set<UUID> getFriendsAndFollowed(UUID userId) {
+    return socialService.getFriendAndFollowedIds(userId);
+  }
+
+  @Override
+  public long countFriendsAndFollowers(UUID userId) {
+    return socialService.countFriendsAndFollowers(userId);
   }
 }
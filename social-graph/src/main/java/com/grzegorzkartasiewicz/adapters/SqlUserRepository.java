@@ -4,10 +4,16 @@ import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 interface SqlUserRepository extends JpaRepository<SocialUserEntity, UUID> {
 
   List<SocialUserEntity> findAllByIdIn(Collection<UUID> ids);
+
+  @Query(value = "SELECT (SELECT COUNT(*) FROM social_friends WHERE user_id = :userId)"
+      + " + (SELECT COUNT(*) FROM social_followers WHERE user_id = :userId)", nativeQuery = true)
+  long countFriendsAndFollowers(@Param("userId") UUID userId);
 }
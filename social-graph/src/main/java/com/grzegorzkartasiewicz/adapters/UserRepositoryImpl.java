@@ -33,4 +33,9 @@ class UserRepositoryImpl implements UserRepository {
         .map(SocialUserEntity::toDomain)
         .toList();
   }
+
+  @Override
+  public long countFriendsAndFollowers(UserId userId) {
+    return sqlUserRepository.countFriendsAndFollowers(userId.id());
+  }
 }
@@ -5,12 +5,16 @@ import com.grzegorzkartasiewicz.domain.FriendRequestSent;
 import com.grzegorzkartasiewicz.domain.SelfInteractionException;
 import com.grzegorzkartasiewicz.domain.SocialUser;
 import com.grzegorzkartasiewicz.domain.UserRepository;
+import com.grzegorzkartasiewicz.domain.vo.Followed;
 import com.grzegorzkartasiewicz.domain.vo.Follower;
 import com.grzegorzkartasiewicz.domain.vo.Friend;
 import com.grzegorzkartasiewicz.domain.vo.UserId;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -53,6 +57,51 @@ public class SocialService {
         .toList();
   }
 
+  /**
+   * Retrieves the ids of the friends and followers of a given user, without loading their
+   * profiles.
+   *
+   * @param userId The ID of the user.
+   * @return The ids of the user's friends and followers.
+   * @throws NoSuchElementException If the user is not found.
+   */
+  public Set<UUID> getFriendAndFollowerIds(UUID userId) {
+    SocialUser user = findUserOrThrow(userId);
+    return Stream.concat(
+            user.getFriends().stream().map(Friend::friendId),
+            user.getFollowers().stream().map(Follower::followerId))
+        .map(UserId::id)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Retrieves the ids of the friends of a given user and of the users they follow, without loading
+   * their profiles.
+   *
+   * @param userId The ID of the user.
+   * @return The ids of the user's friends and followed users.
+   * @throws NoSuchElementException If the user is not found.
+   */
+  public Set<UUID> getFriendAndFollowedIds(UUID userId) {
+    SocialUser user = findUserOrThrow(userId);
+    return Stream.concat(
+            user.getFriends().stream().map(Friend::friendId),
+            user.getFollowedUsers().stream().map(Followed::followedId))
+        .map(UserId::id)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Counts the friends and followers of a given user without loading them. A friend who also
+   * follows the user is counted twice.
+   *
+   * @param userId The ID of the user.
+   * @return The number of friends plus the number of followers.
+   */
+  public long countFriendsAndFollowers(UUID userId) {
+    return userRepository.countFriendsAndFollowers(new UserId(userId));
+  }
+
   /**
    * Sends a friend request from one user to another.
    *
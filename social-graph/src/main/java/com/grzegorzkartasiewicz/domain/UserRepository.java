@@ -12,4 +12,6 @@ public interface UserRepository {
   List<SocialUser> findAllByIds(Collection<UserId> ids);
 
   SocialUser save(SocialUser socialUserToSave);
+
+  long countFriendsAndFollowers(UserId userId);
 }
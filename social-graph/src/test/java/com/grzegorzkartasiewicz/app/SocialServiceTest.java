@@ -3,6 +3,7 @@ package com.grzegorzkartasiewicz.app;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -353,4 +354,33 @@ class SocialServiceTest {
     assertThat(followers).hasSize(1);
     assertThat(followers.get(0).id()).isEqualTo(targetId.id());
   }
+
+  @Test
+  @DisplayName("getFriendAndFollowerIds should return ids without loading profiles")
+  void getFriendAndFollowerIds_shouldReturnIdsWithoutLoadingProfiles() {
+    // given
+    requester = createUserFollowedBy(requesterId, targetId);
+    when(userRepository.findById(requesterId)).thenReturn(Optional.of(requester));
+
+    // when
+    Set<UUID> ids = socialService.getFriendAndFollowerIds(requesterId.id());
+
+    // then
+    assertThat(ids).containsExactly(targetId.id());
+    verify(userRepository, never()).findAllByIds(any());
+  }
+
+  @Test
+  @DisplayName("getFriendAndFollowedIds should return ids of followed users")
+  void getFriendAndFollowedIds_shouldReturnIdsOfFollowedUsers() {
+    // given
+    requester = createUserFollowing(requesterId, targetId);
+    when(userRepository.findById(requesterId)).thenReturn(Optional.of(requester));
+
+    // when
+    Set<UUID> ids = socialService.getFriendAndFollowedIds(requesterId.id());
+
+    // then
+    assertThat(ids).containsExactly(targetId.id());
+  }
 }